@@ -0,0 +1,38 @@
+-- Interleaves the identity sequences of one shard so ids are unique across all shards: shard n
+-- hands out ids congruent to n modulo 64, starting at first_id. Rows keep their ids when a user
+-- is moved between shards, so every shard, shard 0 included, must be prepared with the same
+-- first_id before the first move. Pick first_id above the largest id on any shard; older rows
+-- keep their ids, which no shard hands out again. The stride leaves room for 64 shards.
+--
+-- Run once per shard, after its schema exists (e.g. created by starting the app with ddl-auto):
+--
+--   psql -h <host> -d taskmanager_db -v shard=1 -v first_id=1000000 -f scripts/prepare-shard.sql
+SELECT set_config('sharding.index', :'shard', false),
+       set_config('sharding.first_id', :'first_id', false);
+
+DO $$
+DECLARE
+    stride CONSTANT bigint := 64;
+    shard bigint := current_setting('sharding.index')::bigint;
+    first_id bigint := current_setting('sharding.first_id')::bigint;
+    col record;
+    next_id bigint;
+BEGIN
+    IF shard < 0 OR shard >= stride THEN
+        RAISE EXCEPTION 'shard must be between 0 and %', stride - 1;
+    END IF;
+    FOR col IN
+        SELECT table_name, column_name
+        FROM information_schema.columns
+        WHERE table_schema = current_schema() AND is_identity = 'YES'
+    LOOP
+        EXECUTE format('SELECT greatest(coalesce(max(%I), 0) + 1, %s) FROM %I', col.column_name, first_id, col.table_name)
+            INTO next_id;
+        -- Smallest id from there on that belongs to this shard
+        next_id := next_id + ((shard - next_id) % stride + stride) % stride;
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN %I SET INCREMENT BY %s RESTART WITH %s',
+                       col.table_name, col.column_name, stride, next_id);
+        RAISE NOTICE '%.%: next id %', col.table_name, col.column_name, next_id;
+    END LOOP;
+END
+$$;
@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request: from JVM launch until the app answers an HTTP request.
+#
+#   scripts/startup-benchmark.sh [runs] [java options and -jar ... to launch the app]
+#
+# Examples (from backend/):
+#   mvn package -DskipTests && scripts/startup-benchmark.sh 5 -jar target/project-task-manager-1.0.0.jar
+#   mvn -Pfast-start package -DskipTests && scripts/startup-benchmark.sh 5 \
+#       -XX:SharedArchiveFile=target/app.jsa -Dspring.aot.enabled=true \
+#       -Dspring.profiles.active=fast-start -jar target/project-task-manager-1.0.0.jar
+set -euo pipefail
+
+RUNS="${1:-5}"
+shift || true
+if [ "$#" -eq 0 ]; then
+    set -- -jar target/project-task-manager-1.0.0.jar
+fi
+
+PORT="${PORT:-8080}"
+URL="http://localhost:${PORT}/actuator/health"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-120}"
+
+now_ms() {
+    date +%s%3N
+}
+
+total=0
+for run in $(seq 1 "$RUNS"); do
+    start=$(now_ms)
+    java "$@" --server.port="$PORT" > "startup-run-${run}.log" 2>&1 &
+    pid=$!
+
+    elapsed=""
+    while kill -0 "$pid" 2>/dev/null; do
+        # Any HTTP status counts: the app is accepting requests even if the database is down
+        code=$(curl -s -o /dev/null -w '%{http_code}' "$URL" || true)
+        if [ "$code" != "000" ]; then
+            elapsed=$(( $(now_ms) - start ))
+            break
+        fi
+        if [ $(( $(now_ms) - start )) -gt $(( TIMEOUT_SECONDS * 1000 )) ]; then
+            break
+        fi
+        sleep 0.05
+    done
+
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+
+    if [ -z "$elapsed" ]; then
+        echo "run ${run}: no response, see startup-run-${run}.log" >&2
+        exit 1
+    fi
+    echo "run ${run}: ${elapsed} ms to first request"
+    rm -f "startup-run-${run}.log"
+    total=$(( total + elapsed ))
+done
+
+echo "average: $(( total / RUNS )) ms over ${RUNS} runs"
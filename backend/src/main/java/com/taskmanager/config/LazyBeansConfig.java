@@ -0,0 +1,47 @@
+package com.taskmanager.config;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Fast-start profile: beans that no request depends on at startup (the OpenAPI document and
+ * Swagger UI) are created on first use instead of during context refresh.
+ */
+@Configuration
+@Profile("fast-start")
+public class LazyBeansConfig {
+    
+    @Bean
+    static BeanFactoryPostProcessor lazyNonCriticalBeans(Environment environment) {
+        List<String> packages = List.of(environment.getProperty("fast-start.lazy-packages", String[].class,
+                new String[]{"org.springdoc"}));
+        
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                String source = sourceClassName(definition);
+                if (source != null && packages.stream().anyMatch(source::startsWith)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+    
+    // @Bean methods have no bean class name; use the configuration class that declares them
+    private static String sourceClassName(BeanDefinition definition) {
+        if (definition.getBeanClassName() != null) {
+            return definition.getBeanClassName();
+        }
+        if (definition instanceof AnnotatedBeanDefinition annotated && annotated.getFactoryMethodMetadata() != null) {
+            return annotated.getFactoryMethodMetadata().getDeclaringClassName();
+        }
+        return null;
+    }
+}
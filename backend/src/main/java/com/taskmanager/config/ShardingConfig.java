@@ -0,0 +1,38 @@
+package com.taskmanager.config;
+
+import com.taskmanager.service.ShardDirectory;
+import com.taskmanager.sharding.ShardInterceptor;
+import com.taskmanager.sharding.ShardingProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Owner-based sharding: each user's projects and tasks live on one of several databases,
+ * recorded in the shard directory. The pools are built in WorkloadConfig.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig implements WebMvcConfigurer {
+    
+    private final ShardInterceptor shardInterceptor;
+    
+    public ShardingConfig(ShardDirectory shardDirectory) {
+        this.shardInterceptor = new ShardInterceptor(shardDirectory);
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Authentication works on users and tokens, which stay on shard 0
+        registry.addInterceptor(shardInterceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/auth/**");
+    }
+    
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(shardInterceptor);
+    }
+}
@@ -0,0 +1,45 @@
+package com.taskmanager.config;
+
+import com.taskmanager.entity.User;
+import com.taskmanager.service.TaskToggleCoalescer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Read-your-writes for coalesced toggles: any request of a user other than a toggle first
+ * writes that user's pending toggles. Costs a map lookup when there are none.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ToggleCoalescingConfig implements WebMvcConfigurer {
+    
+    private final TaskToggleCoalescer taskToggleCoalescer;
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new PendingToggleInterceptor())
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/auth/**", "/api/projects/*/tasks/*/toggle");
+    }
+    
+    private class PendingToggleInterceptor implements HandlerInterceptor {
+        
+        @Override
+        public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                 @NonNull Object handler) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof User user) {
+                taskToggleCoalescer.flush(user.getId());
+            }
+            return true;
+        }
+    }
+}
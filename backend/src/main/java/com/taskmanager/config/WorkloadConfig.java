@@ -0,0 +1,95 @@
+package com.taskmanager.config;
+
+import com.taskmanager.sharding.ShardRoutingDataSource;
+import com.taskmanager.sharding.ShardingProperties;
+import com.taskmanager.workload.Bulkhead;
+import com.taskmanager.workload.WorkloadClass;
+import com.taskmanager.workload.WorkloadInterceptor;
+import com.taskmanager.workload.WorkloadProperties;
+import com.taskmanager.workload.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bulkheads between interactive and heavy work: each workload class gets its own connection
+ * pool, statement timeout and request concurrency limit.
+ */
+@Configuration
+@EnableConfigurationProperties(WorkloadProperties.class)
+public class WorkloadConfig implements WebMvcConfigurer {
+    
+    private final Map<WorkloadClass, Bulkhead> bulkheads = new EnumMap<>(WorkloadClass.class);
+    
+    public WorkloadConfig(WorkloadProperties properties, MeterRegistry meterRegistry) {
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            WorkloadProperties.Settings settings = properties.get(workload);
+            bulkheads.put(workload, new Bulkhead(workload, settings.getMaxConcurrent(), settings.getMaxQueued(),
+                    settings.getQueueTimeout(), meterRegistry));
+        }
+    }
+    
+    /**
+     * Workload pools for every shard, routed first by the current thread's shard and then by its
+     * workload class. Shard 0 is spring.datasource; its pools keep their unsharded names.
+     */
+    @Bean
+    public ShardRoutingDataSource dataSource(DataSourceProperties dataSourceProperties, WorkloadProperties properties,
+                                             ShardingProperties shardingProperties, MeterRegistry meterRegistry) {
+        List<WorkloadRoutingDataSource> shards = new ArrayList<>();
+        shards.add(workloadPools("db-", dataSourceProperties::initializeDataSourceBuilder, properties, meterRegistry));
+        for (ShardingProperties.Shard shard : shardingProperties.getShards()) {
+            String prefix = "db-shard" + shards.size() + "-";
+            shards.add(workloadPools(prefix, () -> DataSourceBuilder.create()
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(shard.getUrl())
+                    .username(StringUtils.hasText(shard.getUsername()) ? shard.getUsername() : dataSourceProperties.determineUsername())
+                    .password(StringUtils.hasText(shard.getPassword()) ? shard.getPassword() : dataSourceProperties.determinePassword()),
+                    properties, meterRegistry));
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+    
+    private static WorkloadRoutingDataSource workloadPools(String poolPrefix, Supplier<DataSourceBuilder<?>> builder,
+                                                           WorkloadProperties properties, MeterRegistry meterRegistry) {
+        Map<WorkloadClass, HikariDataSource> pools = new EnumMap<>(WorkloadClass.class);
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            WorkloadProperties.Settings settings = properties.get(workload);
+            HikariDataSource pool = builder.get()
+                    .type(HikariDataSource.class)
+                    .build();
+            pool.setPoolName(poolPrefix + workload.name().toLowerCase());
+            pool.setMaximumPoolSize(settings.getPoolSize());
+            pool.setConnectionTimeout(settings.getConnectionTimeout());
+            if (settings.getStatementTimeout() > 0) {
+                pool.setConnectionInitSql("SET statement_timeout = " + settings.getStatementTimeout());
+            }
+            // Pending-connection and timeout metrics per pool (hikaricp.connections.*{pool=...})
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.put(workload, pool);
+        }
+        WorkloadRoutingDataSource dataSource = new WorkloadRoutingDataSource(pools);
+        // Not a bean of its own, so the container does not initialise it
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new WorkloadInterceptor(bulkheads)).addPathPatterns("/api/**");
+    }
+}
@@ -1,11 +1,21 @@
 package com.taskmanager.controller;
 
 import com.taskmanager.dto.request.ProjectRequest;
+import com.taskmanager.dto.response.ActivityResponse;
 import com.taskmanager.dto.response.ApiResponse;
+import com.taskmanager.dto.response.CursorPageResponse;
+import com.taskmanager.dto.response.ProjectAnalyticsResponse;
+import com.taskmanager.dto.response.ProjectDeletionResponse;
+import com.taskmanager.dto.response.ProjectProgressBatchResponse;
 import com.taskmanager.dto.response.ProjectProgressResponse;
 import com.taskmanager.dto.response.ProjectResponse;
+import com.taskmanager.entity.DeletionStatus;
 import com.taskmanager.entity.User;
+import com.taskmanager.service.ProjectAnalyticsService;
+import com.taskmanager.service.ProjectExportService;
 import com.taskmanager.service.ProjectService;
+import com.taskmanager.workload.Workload;
+import com.taskmanager.workload.WorkloadClass;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,11 +25,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -30,6 +46,8 @@ import java.util.List;
 public class ProjectController {
     
     private final ProjectService projectService;
+    private final ProjectAnalyticsService projectAnalyticsService;
+    private final ProjectExportService projectExportService;
     
     @PostMapping
     @Operation(summary = "Create a new project")
@@ -60,6 +78,7 @@ public class ProjectController {
     }
     
     @GetMapping("/{id}")
+    @Workload(WorkloadClass.HEAVY)
     @Operation(summary = "Get a project by ID")
     public ResponseEntity<ApiResponse<ProjectResponse>> getProjectById(
             @PathVariable Long id,
@@ -80,23 +99,75 @@ public class ProjectController {
     
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a project")
-    public ResponseEntity<ApiResponse<Void>> deleteProject(
+    public ResponseEntity<ApiResponse<ProjectDeletionResponse>> deleteProject(
             @PathVariable Long id,
             @AuthenticationPrincipal User currentUser) {
-        projectService.deleteProject(id, currentUser);
+        ProjectDeletionResponse deletion = projectService.deleteProject(id, currentUser);
+        if (deletion.getStatus() != DeletionStatus.COMPLETED) {
+            // Large project: hidden immediately, tasks removed by a background job
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("Project deletion scheduled", deletion));
+        }
         return ResponseEntity.ok(ApiResponse.success("Project deleted successfully", null));
     }
     
+    @GetMapping("/deletions/{jobId}")
+    @Operation(summary = "Get the progress of an asynchronous project deletion")
+    public ResponseEntity<ApiResponse<ProjectDeletionResponse>> getDeletionStatus(
+            @PathVariable Long jobId,
+            @AuthenticationPrincipal User currentUser) {
+        ProjectDeletionResponse deletion = projectService.getDeletionStatus(jobId, currentUser);
+        return ResponseEntity.ok(ApiResponse.success(deletion));
+    }
+    
+    @GetMapping("/progress")
+    @Operation(summary = "Get progress statistics for several projects in one request")
+    public ResponseEntity<ApiResponse<ProjectProgressBatchResponse>> getProjectProgressBatch(
+            @RequestParam List<Long> ids,
+            @AuthenticationPrincipal User currentUser) {
+        ProjectProgressBatchResponse progress = projectService.getProjectProgressBatch(ids, currentUser);
+        return ResponseEntity.ok(ApiResponse.success(progress));
+    }
+    
     @GetMapping("/{id}/progress")
-    @Operation(summary = "Get project progress statistics")
+    @Operation(summary = "Get project progress statistics, with per-task subtask rollups when hierarchy=true")
     public ResponseEntity<ApiResponse<ProjectProgressResponse>> getProjectProgress(
             @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean hierarchy,
             @AuthenticationPrincipal User currentUser) {
-        ProjectProgressResponse progress = projectService.getProjectProgress(id, currentUser);
+        ProjectProgressResponse progress = hierarchy
+                ? projectService.getHierarchicalProgress(id, currentUser)
+                : projectService.getProjectProgress(id, currentUser);
         return ResponseEntity.ok(ApiResponse.success(progress));
     }
     
+    @GetMapping("/{id}/activity")
+    @Operation(summary = "Get the change history of a project and its tasks, newest first, with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPageResponse<ActivityResponse>>> getProjectActivity(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @AuthenticationPrincipal User currentUser) {
+        CursorPageResponse<ActivityResponse> activity = projectService.getProjectActivity(id, cursor, limit, currentUser);
+        return ResponseEntity.ok(ApiResponse.success(activity));
+    }
+    
+    @GetMapping("/{id}/export")
+    @Workload(WorkloadClass.HEAVY)
+    @Operation(summary = "Export all tasks of a project, including archived ones, as CSV")
+    public ResponseEntity<StreamingResponseBody> exportProjectTasks(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User currentUser) {
+        StreamingResponseBody body = projectExportService.exportTasksCsv(id, currentUser);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"project-" + id + "-tasks.csv\"")
+                .body(body);
+    }
+    
     @GetMapping("/search")
+    @Workload(WorkloadClass.HEAVY)
     @Operation(summary = "Search projects by title")
     public ResponseEntity<ApiResponse<List<ProjectResponse>>> searchProjects(
             @RequestParam String query,
@@ -104,4 +175,35 @@ public class ProjectController {
         List<ProjectResponse> projects = projectService.searchProjects(query, currentUser);
         return ResponseEntity.ok(ApiResponse.success(projects));
     }
+    
+    @GetMapping("/{id}/analytics")
+    @Workload(WorkloadClass.HEAVY)
+    @Operation(summary = "Get daily activity, burndown, cycle time and velocity for a project")
+    public ResponseEntity<ApiResponse<ProjectAnalyticsResponse>> getProjectAnalytics(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal User currentUser) {
+        ProjectAnalyticsResponse analytics = projectAnalyticsService.getAnalytics(id, from, to, currentUser);
+        return ResponseEntity.ok(ApiResponse.success(analytics));
+    }
+    
+    @PostMapping("/{id}/analytics/backfill")
+    @Workload(WorkloadClass.HEAVY)
+    @Operation(summary = "Rebuild analytics rollups for a project from its tasks")
+    public ResponseEntity<ApiResponse<Void>> backfillProjectAnalytics(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User currentUser) {
+        projectAnalyticsService.backfillProject(id, currentUser);
+        return ResponseEntity.ok(ApiResponse.success("Analytics rebuilt successfully", null));
+    }
+    
+    @PostMapping("/analytics/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Workload(WorkloadClass.HEAVY)
+    @Operation(summary = "Rebuild analytics rollups for all projects (admin only)")
+    public ResponseEntity<ApiResponse<Integer>> backfillAllAnalytics() {
+        int projects = projectAnalyticsService.backfillAll();
+        return ResponseEntity.ok(ApiResponse.success("Analytics rebuilt successfully", projects));
+    }
 }
@@ -0,0 +1,43 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.response.ApiResponse;
+import com.taskmanager.dto.response.ShardMigrationResponse;
+import com.taskmanager.service.ShardDirectory;
+import com.taskmanager.service.ShardMigrationService;
+import com.taskmanager.workload.Workload;
+import com.taskmanager.workload.WorkloadClass;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/shards")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Shards", description = "Shard directory and user migration APIs (admin only)")
+@SecurityRequirement(name = "bearerAuth")
+public class ShardController {
+    
+    private final ShardDirectory shardDirectory;
+    private final ShardMigrationService shardMigrationService;
+    
+    @GetMapping("/users/{userId}")
+    @Operation(summary = "Get the shard holding a user's data")
+    public ResponseEntity<ApiResponse<ShardDirectory.Placement>> getUserShard(@PathVariable Long userId) {
+        return ResponseEntity.ok(ApiResponse.success(shardDirectory.lookup(userId)));
+    }
+    
+    @PostMapping("/users/{userId}/migrate")
+    @Workload(WorkloadClass.HEAVY)
+    @Operation(summary = "Move a user and all their data to another shard; repeat to resume a failed move")
+    public ResponseEntity<ApiResponse<ShardMigrationResponse>> migrateUser(
+            @PathVariable Long userId,
+            @RequestParam int targetShard) {
+        ShardMigrationResponse migration = shardMigrationService.migrateUser(userId, targetShard);
+        return ResponseEntity.ok(ApiResponse.success("User moved successfully", migration));
+    }
+}
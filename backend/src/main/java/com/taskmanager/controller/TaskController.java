@@ -1,11 +1,23 @@
 package com.taskmanager.controller;
 
+import com.taskmanager.dto.request.MoveTaskRequest;
+import com.taskmanager.dto.request.TaskParentRequest;
 import com.taskmanager.dto.request.TaskRequest;
+import com.taskmanager.dto.response.ActivityResponse;
 import com.taskmanager.dto.response.ApiResponse;
+import com.taskmanager.dto.response.CursorPageResponse;
+import com.taskmanager.dto.response.TaskOccurrenceResponse;
+import com.taskmanager.dto.response.TaskProgressResponse;
 import com.taskmanager.dto.response.TaskResponse;
 import com.taskmanager.entity.TaskPriority;
 import com.taskmanager.entity.User;
+import com.taskmanager.repository.TaskFilter;
+import com.taskmanager.service.TaskArchivalService;
+import com.taskmanager.service.TaskFilterService;
 import com.taskmanager.service.TaskService;
+import com.taskmanager.service.TaskToggleCoalescer;
+import com.taskmanager.workload.Workload;
+import com.taskmanager.workload.WorkloadClass;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,12 +27,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/projects/{projectId}/tasks")
@@ -30,6 +48,9 @@ import java.util.List;
 public class TaskController {
     
     private final TaskService taskService;
+    private final TaskArchivalService taskArchivalService;
+    private final TaskFilterService taskFilterService;
+    private final TaskToggleCoalescer taskToggleCoalescer;
     
     @PostMapping
     @Operation(summary = "Create a new task in a project")
@@ -44,21 +65,44 @@ public class TaskController {
     }
     
     @GetMapping
-    @Operation(summary = "Get all tasks for a project")
-    public ResponseEntity<ApiResponse<List<TaskResponse>>> getAllTasks(
+    @Operation(summary = "Get all tasks for a project; view=summary or fields=a,b,c return lean projections")
+    public ResponseEntity<ApiResponse<List<?>>> getAllTasks(
             @PathVariable Long projectId,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
             @AuthenticationPrincipal User currentUser) {
-        List<TaskResponse> tasks = taskService.getAllTasksForProject(projectId, currentUser);
+        List<?> tasks = TaskService.isFullView(view, fields)
+                ? taskService.getAllTasksForProject(projectId, currentUser)
+                : taskService.getTaskProjections(projectId, TaskFilter.all(), view, fields, currentUser);
         return ResponseEntity.ok(ApiResponse.success(tasks));
     }
     
     @GetMapping("/paginated")
     @Operation(summary = "Get all tasks with pagination")
-    public ResponseEntity<ApiResponse<Page<TaskResponse>>> getTasksPaginated(
+    public ResponseEntity<ApiResponse<Page<?>>> getTasksPaginated(
             @PathVariable Long projectId,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
             @AuthenticationPrincipal User currentUser,
-            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        Page<TaskResponse> tasks = taskService.getTasksPaginated(projectId, currentUser, pageable);
+            @PageableDefault(size = 10)
+            @SortDefault.SortDefaults({
+                    @SortDefault(sort = "rank", direction = Sort.Direction.ASC),
+                    @SortDefault(sort = "createdAt", direction = Sort.Direction.DESC)
+            }) Pageable pageable) {
+        Page<?> tasks = TaskService.isFullView(view, fields)
+                ? taskService.getTasksPaginated(projectId, currentUser, pageable)
+                : taskService.getTaskProjections(projectId, TaskFilter.all(), view, fields, currentUser, pageable);
+        return ResponseEntity.ok(ApiResponse.success(tasks));
+    }
+    
+    @GetMapping("/archived")
+    @Workload(WorkloadClass.HEAVY)
+    @Operation(summary = "Get archived (long completed) tasks with pagination")
+    public ResponseEntity<ApiResponse<Page<TaskResponse>>> getArchivedTasks(
+            @PathVariable Long projectId,
+            @AuthenticationPrincipal User currentUser,
+            @PageableDefault(size = 20, sort = "completedAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<TaskResponse> tasks = taskArchivalService.getArchivedTasks(projectId, currentUser, pageable);
         return ResponseEntity.ok(ApiResponse.success(tasks));
     }
     
@@ -83,13 +127,67 @@ public class TaskController {
         return ResponseEntity.ok(ApiResponse.success("Task updated successfully", task));
     }
     
+    @PatchMapping("/{taskId}/position")
+    @Operation(summary = "Move a task between two other tasks")
+    public ResponseEntity<ApiResponse<TaskResponse>> moveTask(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @RequestBody MoveTaskRequest request,
+            @AuthenticationPrincipal User currentUser) {
+        TaskResponse task = taskService.moveTask(projectId, taskId, request, currentUser);
+        return ResponseEntity.ok(ApiResponse.success("Task moved", task));
+    }
+    
+    @PatchMapping("/{taskId}/parent")
+    @Operation(summary = "Move a task with its subtasks under another task or to the top level")
+    public ResponseEntity<ApiResponse<TaskResponse>> changeParent(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @RequestBody TaskParentRequest request,
+            @AuthenticationPrincipal User currentUser) {
+        TaskResponse task = taskService.changeParent(projectId, taskId, request, currentUser);
+        return ResponseEntity.ok(ApiResponse.success("Task moved", task));
+    }
+    
+    @GetMapping("/{taskId}/subtree")
+    @Operation(summary = "Get a task with all its subtasks")
+    public ResponseEntity<ApiResponse<List<TaskResponse>>> getSubtree(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @AuthenticationPrincipal User currentUser) {
+        List<TaskResponse> tasks = taskService.getSubtree(projectId, taskId, currentUser);
+        return ResponseEntity.ok(ApiResponse.success(tasks));
+    }
+    
+    @GetMapping("/{taskId}/progress")
+    @Operation(summary = "Get task progress including all subtasks")
+    public ResponseEntity<ApiResponse<TaskProgressResponse>> getTaskProgress(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @AuthenticationPrincipal User currentUser) {
+        TaskProgressResponse progress = taskService.getTaskProgress(projectId, taskId, currentUser);
+        return ResponseEntity.ok(ApiResponse.success(progress));
+    }
+    
+    @GetMapping("/{taskId}/activity")
+    @Operation(summary = "Get the change history of a task, newest first, with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPageResponse<ActivityResponse>>> getTaskActivity(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @AuthenticationPrincipal User currentUser) {
+        CursorPageResponse<ActivityResponse> activity = taskService.getTaskActivity(projectId, taskId, cursor, limit, currentUser);
+        return ResponseEntity.ok(ApiResponse.success(activity));
+    }
+    
     @PatchMapping("/{taskId}/toggle")
     @Operation(summary = "Toggle task completion status")
     public ResponseEntity<ApiResponse<TaskResponse>> toggleTaskCompletion(
             @PathVariable Long projectId,
             @PathVariable Long taskId,
             @AuthenticationPrincipal User currentUser) {
-        TaskResponse task = taskService.toggleTaskCompletion(projectId, taskId, currentUser);
+        TaskResponse task = taskToggleCoalescer.toggle(projectId, taskId, currentUser);
         return ResponseEntity.ok(ApiResponse.success("Task status toggled", task));
     }
     
@@ -113,37 +211,92 @@ public class TaskController {
         return ResponseEntity.ok(ApiResponse.success("Task deleted successfully", null));
     }
     
+    @GetMapping("/agenda")
+    @Operation(summary = "Get tasks due between two dates, including upcoming occurrences of recurring tasks")
+    public ResponseEntity<ApiResponse<List<TaskOccurrenceResponse>>> getAgenda(
+            @PathVariable Long projectId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal User currentUser) {
+        List<TaskOccurrenceResponse> agenda = taskService.getAgenda(projectId, from, to, currentUser);
+        return ResponseEntity.ok(ApiResponse.success(agenda));
+    }
+    
+    @GetMapping("/filter")
+    @Operation(summary = "Filter tasks by labels, priority and status, e.g. q=label:bug AND NOT completed; newest first")
+    public ResponseEntity<ApiResponse<Page<TaskResponse>>> filterTasks(
+            @PathVariable Long projectId,
+            @RequestParam("q") String query,
+            @AuthenticationPrincipal User currentUser,
+            @PageableDefault(size = 50) Pageable pageable) {
+        Page<TaskResponse> tasks = taskFilterService.filter(projectId, query, currentUser, pageable);
+        return ResponseEntity.ok(ApiResponse.success(tasks));
+    }
+    
+    @GetMapping("/query")
+    @Operation(summary = "Query tasks by any combination of completion, priorities, due dates and text, "
+            + "with keyset pagination; replaces the status, priority, overdue and search endpoints")
+    public ResponseEntity<ApiResponse<CursorPageResponse<TaskResponse>>> queryTasks(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) Set<TaskPriority> priority,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(defaultValue = "false") boolean overdue,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "createdAt,desc") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @AuthenticationPrincipal User currentUser) {
+        TaskFilter filter = new TaskFilter(completed, priority, dueFrom, dueTo, overdue ? LocalDate.now() : null, q);
+        CursorPageResponse<TaskResponse> tasks = taskService.queryTasks(projectId, filter, sort, cursor, limit, currentUser);
+        return ResponseEntity.ok(ApiResponse.success(tasks));
+    }
+    
     @GetMapping("/status/{completed}")
-    @Operation(summary = "Get tasks by completion status")
-    public ResponseEntity<ApiResponse<List<TaskResponse>>> getTasksByStatus(
+    @Operation(summary = "Get tasks by completion status", deprecated = true, description = "Use GET /query?completed=")
+    public ResponseEntity<ApiResponse<List<?>>> getTasksByStatus(
             @PathVariable Long projectId,
             @PathVariable boolean completed,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
             @AuthenticationPrincipal User currentUser) {
-        List<TaskResponse> tasks = taskService.getTasksByStatus(projectId, completed, currentUser);
+        List<?> tasks = TaskService.isFullView(view, fields)
+                ? taskService.getTasksByStatus(projectId, completed, currentUser)
+                : taskService.getTaskProjections(projectId, TaskFilter.byCompleted(completed), view, fields, currentUser);
         return ResponseEntity.ok(ApiResponse.success(tasks));
     }
     
     @GetMapping("/priority/{priority}")
-    @Operation(summary = "Get tasks by priority")
-    public ResponseEntity<ApiResponse<List<TaskResponse>>> getTasksByPriority(
+    @Operation(summary = "Get tasks by priority", deprecated = true, description = "Use GET /query?priority=")
+    public ResponseEntity<ApiResponse<List<?>>> getTasksByPriority(
             @PathVariable Long projectId,
             @PathVariable TaskPriority priority,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
             @AuthenticationPrincipal User currentUser) {
-        List<TaskResponse> tasks = taskService.getTasksByPriority(projectId, priority, currentUser);
+        List<?> tasks = TaskService.isFullView(view, fields)
+                ? taskService.getTasksByPriority(projectId, priority, currentUser)
+                : taskService.getTaskProjections(projectId, TaskFilter.byPriority(priority), view, fields, currentUser);
         return ResponseEntity.ok(ApiResponse.success(tasks));
     }
     
     @GetMapping("/overdue")
-    @Operation(summary = "Get overdue tasks")
-    public ResponseEntity<ApiResponse<List<TaskResponse>>> getOverdueTasks(
+    @Operation(summary = "Get overdue tasks", deprecated = true, description = "Use GET /query?overdue=true")
+    public ResponseEntity<ApiResponse<List<?>>> getOverdueTasks(
             @PathVariable Long projectId,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String fields,
             @AuthenticationPrincipal User currentUser) {
-        List<TaskResponse> tasks = taskService.getOverdueTasks(projectId, currentUser);
+        List<?> tasks = TaskService.isFullView(view, fields)
+                ? taskService.getOverdueTasks(projectId, currentUser)
+                : taskService.getTaskProjections(projectId, TaskFilter.overdueOn(LocalDate.now()), view, fields, currentUser);
         return ResponseEntity.ok(ApiResponse.success(tasks));
     }
     
     @GetMapping("/search")
-    @Operation(summary = "Search tasks")
+    @Workload(WorkloadClass.HEAVY)
+    @Operation(summary = "Search tasks", deprecated = true, description = "Use GET /query?q=")
     public ResponseEntity<ApiResponse<List<TaskResponse>>> searchTasks(
             @PathVariable Long projectId,
             @RequestParam String query,
@@ -151,4 +304,13 @@ public class TaskController {
         List<TaskResponse> tasks = taskService.searchTasks(projectId, query, currentUser);
         return ResponseEntity.ok(ApiResponse.success(tasks));
     }
+    
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream task changes for a project (Server-Sent Events)")
+    public SseEmitter streamTaskEvents(
+            @PathVariable Long projectId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal User currentUser) {
+        return taskService.subscribeToTaskEvents(projectId, currentUser, lastEventId);
+    }
 }
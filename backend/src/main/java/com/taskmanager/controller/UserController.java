@@ -0,0 +1,58 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.response.ApiResponse;
+import com.taskmanager.dto.response.AutocompleteSuggestion;
+import com.taskmanager.dto.response.WorkspaceSummaryResponse;
+import com.taskmanager.entity.User;
+import com.taskmanager.service.AutocompleteService;
+import com.taskmanager.service.TaskEventStreamService;
+import com.taskmanager.service.WorkspaceSummaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/me")
+@RequiredArgsConstructor
+@Tag(name = "Current User", description = "APIs scoped to the authenticated user")
+@SecurityRequirement(name = "bearerAuth")
+public class UserController {
+    
+    private final TaskEventStreamService taskEventStreamService;
+    private final WorkspaceSummaryService workspaceSummaryService;
+    private final AutocompleteService autocompleteService;
+    
+    @GetMapping("/summary")
+    @Operation(summary = "Get task counts across all of the user's projects")
+    public ResponseEntity<ApiResponse<WorkspaceSummaryResponse>> getSummary(
+            @AuthenticationPrincipal User currentUser) {
+        WorkspaceSummaryResponse summary = workspaceSummaryService.getSummary(currentUser);
+        return ResponseEntity.ok(ApiResponse.success(summary));
+    }
+    
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream task changes across all of the user's projects (Server-Sent Events)")
+    public SseEmitter streamTaskEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal User currentUser) {
+        return taskEventStreamService.subscribeToUser(currentUser.getId(), lastEventId);
+    }
+    
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Suggest projects and tasks whose title words start with the query")
+    public ResponseEntity<ApiResponse<List<AutocompleteSuggestion>>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal User currentUser) {
+        List<AutocompleteSuggestion> suggestions = autocompleteService.suggest(currentUser.getId(), q, limit);
+        return ResponseEntity.ok(ApiResponse.success(suggestions));
+    }
+}
@@ -0,0 +1,56 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.request.WebhookRequest;
+import com.taskmanager.dto.response.ApiResponse;
+import com.taskmanager.dto.response.WebhookResponse;
+import com.taskmanager.entity.User;
+import com.taskmanager.service.WebhookService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/webhooks")
+@RequiredArgsConstructor
+@Tag(name = "Webhooks", description = "Webhook subscription APIs")
+@SecurityRequirement(name = "bearerAuth")
+public class WebhookController {
+    
+    private final WebhookService webhookService;
+    
+    @PostMapping
+    @Operation(summary = "Register a webhook for task and project events")
+    public ResponseEntity<ApiResponse<WebhookResponse>> createWebhook(
+            @Valid @RequestBody WebhookRequest request,
+            @AuthenticationPrincipal User currentUser) {
+        WebhookResponse webhook = webhookService.createWebhook(request, currentUser);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Webhook registered successfully", webhook));
+    }
+    
+    @GetMapping
+    @Operation(summary = "List the authenticated user's webhooks")
+    public ResponseEntity<ApiResponse<List<WebhookResponse>>> getWebhooks(
+            @AuthenticationPrincipal User currentUser) {
+        List<WebhookResponse> webhooks = webhookService.getWebhooks(currentUser);
+        return ResponseEntity.ok(ApiResponse.success(webhooks));
+    }
+    
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a webhook")
+    public ResponseEntity<ApiResponse<Void>> deleteWebhook(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User currentUser) {
+        webhookService.deleteWebhook(id, currentUser);
+        return ResponseEntity.ok(ApiResponse.success("Webhook deleted successfully", null));
+    }
+}
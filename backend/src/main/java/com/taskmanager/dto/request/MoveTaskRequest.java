@@ -0,0 +1,21 @@
+package com.taskmanager.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * New neighbours of a moved task. Either may be omitted: with only one the task goes right
+ * next to it, with neither it goes to the top.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MoveTaskRequest {
+    
+    private Long previousTaskId;
+    
+    private Long nextTaskId;
+}
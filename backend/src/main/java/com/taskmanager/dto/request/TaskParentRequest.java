@@ -0,0 +1,18 @@
+package com.taskmanager.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * New parent of a task; null makes it a top-level task.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskParentRequest {
+    
+    private Long parentId;
+}
@@ -9,6 +9,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.util.Set;
 
 @Data
 @Builder
@@ -26,4 +27,16 @@ public class TaskRequest {
     private LocalDate dueDate;
     
     private TaskPriority priority;
+    
+    // Replaces the task's labels when present; null leaves them unchanged on update
+    @Size(max = 20, message = "A task can have at most 20 labels")
+    private Set<@Size(max = 50, message = "Labels cannot exceed 50 characters") String> labels;
+    
+    // DAILY, WEEKLY or MONTHLY with an optional /interval, or "CRON <day-of-month> <month> <day-of-week>".
+    // Requires a due date; null leaves it unchanged on update, blank removes it
+    @Size(max = 120, message = "Recurrence cannot exceed 120 characters")
+    private String recurrence;
+    
+    // Only read on create; use the parent endpoint to move an existing task
+    private Long parentId;
 }
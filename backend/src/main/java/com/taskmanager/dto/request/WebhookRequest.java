@@ -0,0 +1,21 @@
+package com.taskmanager.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookRequest {
+    
+    @NotBlank(message = "Webhook URL is required")
+    @Size(max = 500, message = "URL cannot exceed 500 characters")
+    @Pattern(regexp = "^https?://.+", message = "URL must start with http:// or https://")
+    private String url;
+}
@@ -0,0 +1,41 @@
+package com.taskmanager.dto.response;
+
+import com.taskmanager.entity.ActivityAction;
+import com.taskmanager.repository.ActivityEntry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityResponse {
+    
+    private Long id;
+    private LocalDateTime occurredAt;
+    private Long actorId;
+    private Long projectId;
+    private Long taskId;
+    private ActivityAction action;
+    private String field;
+    private String oldValue;
+    private String newValue;
+    
+    public static ActivityResponse fromEntry(ActivityEntry entry) {
+        return ActivityResponse.builder()
+                .id(entry.id())
+                .occurredAt(entry.occurredAt())
+                .actorId(entry.actorId())
+                .projectId(entry.projectId())
+                .taskId(entry.taskId())
+                .action(entry.action())
+                .field(entry.field())
+                .oldValue(entry.oldValue())
+                .newValue(entry.newValue())
+                .build();
+    }
+}
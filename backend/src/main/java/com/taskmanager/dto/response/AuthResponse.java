@@ -12,6 +12,8 @@ import lombok.NoArgsConstructor;
 public class AuthResponse {
     
     private String token;
+    private String refreshToken;
+    private long expiresIn;
     private String type;
     private Long userId;
     private String email;
@@ -31,4 +33,12 @@ public class AuthResponse {
                 .fullName(firstName + " " + lastName)
                 .build();
     }
+    
+    public static AuthResponse of(String token, String refreshToken, long expiresIn, Long userId,
+                                  String email, String firstName, String lastName) {
+        AuthResponse response = of(token, userId, email, firstName, lastName);
+        response.setRefreshToken(refreshToken);
+        response.setExpiresIn(expiresIn);
+        return response;
+    }
 }
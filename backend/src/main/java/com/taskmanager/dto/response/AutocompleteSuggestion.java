@@ -0,0 +1,23 @@
+package com.taskmanager.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteSuggestion {
+    
+    private Type type;
+    private Long id;
+    private Long projectId;
+    private String title;
+    
+    public enum Type {
+        PROJECT,
+        TASK
+    }
+}
@@ -0,0 +1,50 @@
+package com.taskmanager.dto.response;
+
+import com.taskmanager.entity.TaskPriority;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectAnalyticsResponse {
+    
+    private Long projectId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<DailyPoint> daily;
+    private CycleTime cycleTime;
+    private Map<TaskPriority, Long> completedByPriority;
+    private double averageCompletedPerWeek;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DailyPoint {
+        private LocalDate date;
+        private int created;
+        private int completed;
+        private int reopened;
+        // Open tasks at the end of the day (burndown)
+        private long remaining;
+    }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CycleTime {
+        private long samples;
+        private Double p50Hours;
+        private Double p75Hours;
+        private Double p90Hours;
+    }
+}
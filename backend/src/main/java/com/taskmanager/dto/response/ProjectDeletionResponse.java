@@ -0,0 +1,53 @@
+package com.taskmanager.dto.response;
+
+import com.taskmanager.entity.DeletionStatus;
+import com.taskmanager.entity.ProjectDeletionJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectDeletionResponse {
+    
+    private Long jobId;
+    private Long projectId;
+    private DeletionStatus status;
+    private long totalTasks;
+    private long deletedTasks;
+    private double progressPercentage;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+    
+    public static ProjectDeletionResponse fromEntity(ProjectDeletionJob job) {
+        double percentage = job.getTotalTasks() == 0
+                ? (job.getStatus() == DeletionStatus.COMPLETED ? 100.0 : 0.0)
+                : Math.min(100.0, (double) job.getDeletedTasks() / job.getTotalTasks() * 100);
+        return ProjectDeletionResponse.builder()
+                .jobId(job.getId())
+                .projectId(job.getProjectId())
+                .status(job.getStatus())
+                .totalTasks(job.getTotalTasks())
+                .deletedTasks(job.getDeletedTasks())
+                .progressPercentage(Math.round(percentage * 100.0) / 100.0)
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+    
+    public static ProjectDeletionResponse completed(Long projectId, long deletedTasks) {
+        return ProjectDeletionResponse.builder()
+                .projectId(projectId)
+                .status(DeletionStatus.COMPLETED)
+                .totalTasks(deletedTasks)
+                .deletedTasks(deletedTasks)
+                .progressPercentage(100.0)
+                .finishedAt(LocalDateTime.now())
+                .build();
+    }
+}
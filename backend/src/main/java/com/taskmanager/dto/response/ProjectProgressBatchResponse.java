@@ -0,0 +1,19 @@
+package com.taskmanager.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectProgressBatchResponse {
+    
+    private List<ProjectProgressResponse> progress;
+    // Requested ids that do not exist or are not owned by the caller
+    private List<Long> notFound;
+}
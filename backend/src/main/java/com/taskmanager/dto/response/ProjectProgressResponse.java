@@ -1,11 +1,15 @@
 package com.taskmanager.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.taskmanager.entity.Project;
+import com.taskmanager.repository.ProjectTaskCounts;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,35 +24,48 @@ public class ProjectProgressResponse {
     private double progressPercentage;
     private String status;
     
+    // Top-level tasks with their subtask rollups; only set in hierarchy mode
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<TaskProgressResponse> tasks;
+    
     public static ProjectProgressResponse fromEntity(Project project) {
-        int total = project.getTotalTasks();
-        long completed = project.getCompletedTasks();
+        return of(project.getId(), project.getTitle(), project.getTotalTasks(), project.getCompletedTasks());
+    }
+    
+    public static ProjectProgressResponse fromCounts(ProjectTaskCounts counts) {
+        return of(counts.getProjectId(), counts.getTitle(),
+                counts.getTotalTasks() + counts.getArchivedTasks(),
+                counts.getCompletedTasks() + counts.getArchivedTasks());
+    }
+    
+    public static ProjectProgressResponse of(Long projectId, String projectTitle, long total, long completed) {
         long pending = total - completed;
-        double percentage = project.getProgressPercentage();
+        double percentage = total == 0 ? 0.0 : (double) completed / total * 100;
         
-        String status;
+        return ProjectProgressResponse.builder()
+                .projectId(projectId)
+                .projectTitle(projectTitle)
+                .totalTasks((int) total)
+                .completedTasks(completed)
+                .pendingTasks(pending)
+                .progressPercentage(Math.round(percentage * 100.0) / 100.0)
+                .status(classify(total, percentage))
+                .build();
+    }
+    
+    private static String classify(long total, double percentage) {
         if (total == 0) {
-            status = "NO_TASKS";
+            return "NO_TASKS";
         } else if (percentage == 100) {
-            status = "COMPLETED";
+            return "COMPLETED";
         } else if (percentage >= 75) {
-            status = "ALMOST_DONE";
+            return "ALMOST_DONE";
         } else if (percentage >= 50) {
-            status = "IN_PROGRESS";
+            return "IN_PROGRESS";
         } else if (percentage > 0) {
-            status = "STARTED";
+            return "STARTED";
         } else {
-            status = "NOT_STARTED";
+            return "NOT_STARTED";
         }
-        
-        return ProjectProgressResponse.builder()
-                .projectId(project.getId())
-                .projectTitle(project.getTitle())
-                .totalTasks(total)
-                .completedTasks(completed)
-                .pendingTasks(pending)
-                .progressPercentage(Math.round(percentage * 100.0) / 100.0)
-                .status(status)
-                .build();
     }
 }
@@ -0,0 +1,27 @@
+package com.taskmanager.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Outcome of moving a user between shards. Cleaning up after an unfinished move copies nothing
+ * and only reports the rows deleted from the other shard.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardMigrationResponse {
+    
+    private Long userId;
+    private int sourceShard;
+    private int targetShard;
+    // Table name -> rows copied, in copy order
+    private Map<String, Integer> copiedRows;
+    private int deletedRows;
+    private long durationMillis;
+}
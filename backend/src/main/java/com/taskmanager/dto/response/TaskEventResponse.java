@@ -0,0 +1,35 @@
+package com.taskmanager.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.taskmanager.event.TaskEvent;
+import com.taskmanager.event.TaskEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskEventResponse {
+    
+    private TaskEventType type;
+    private Long taskId;
+    private Long projectId;
+    private TaskResponse task;
+    private LocalDateTime occurredAt;
+    
+    public static TaskEventResponse fromEvent(TaskEvent event) {
+        return TaskEventResponse.builder()
+                .type(event.getType())
+                .taskId(event.getTaskId())
+                .projectId(event.getProjectId())
+                .task(event.getTask())
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+}
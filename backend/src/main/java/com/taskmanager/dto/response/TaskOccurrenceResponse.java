@@ -0,0 +1,53 @@
+package com.taskmanager.dto.response;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskPriority;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * A dated entry of the task agenda. Virtual entries are future occurrences of a recurring
+ * task that have not been created yet; taskId then refers to the series' open instance.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskOccurrenceResponse {
+    
+    private Long taskId;
+    private String title;
+    private TaskPriority priority;
+    private LocalDate date;
+    private boolean completed;
+    private String recurrence;
+    private boolean virtual;
+    
+    public static TaskOccurrenceResponse fromEntity(Task task) {
+        return TaskOccurrenceResponse.builder()
+                .taskId(task.getId())
+                .title(task.getTitle())
+                .priority(task.getPriority())
+                .date(task.getDueDate())
+                .completed(task.isCompleted())
+                .recurrence(task.getRecurrence())
+                .virtual(false)
+                .build();
+    }
+    
+    public static TaskOccurrenceResponse virtualOccurrence(Task task, LocalDate date) {
+        return TaskOccurrenceResponse.builder()
+                .taskId(task.getId())
+                .title(task.getTitle())
+                .priority(task.getPriority())
+                .date(date)
+                .completed(false)
+                .recurrence(task.getRecurrence())
+                .virtual(true)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.taskmanager.dto.response;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.repository.TaskRollup;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a task including all of its subtasks, at any depth.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskProgressResponse {
+    
+    private Long taskId;
+    private String title;
+    private int depth;
+    private int subtaskCount;
+    private int totalTasks;
+    private int completedTasks;
+    private double progressPercentage;
+    
+    public static TaskProgressResponse fromEntity(Task task) {
+        return of(task.getId(), task.getTitle(), task.getPath(), task.isCompleted(),
+                task.getDescendantCount(), task.getCompletedDescendantCount());
+    }
+    
+    public static TaskProgressResponse fromRollup(TaskRollup rollup) {
+        return of(rollup.getTaskId(), rollup.getTitle(), rollup.getPath(), Boolean.TRUE.equals(rollup.getCompleted()),
+                rollup.getDescendantCount(), rollup.getCompletedDescendantCount());
+    }
+    
+    private static TaskProgressResponse of(Long taskId, String title, String path, boolean completed,
+                                           int descendants, int completedDescendants) {
+        int total = descendants + 1;
+        int done = completedDescendants + (completed ? 1 : 0);
+        double percentage = (double) done / total * 100;
+        
+        return TaskProgressResponse.builder()
+                .taskId(taskId)
+                .title(title)
+                // "/" is depth 0, "/12/" depth 1, ...
+                .depth((int) path.chars().filter(c -> c == '/').count() - 1)
+                .subtaskCount(descendants)
+                .totalTasks(total)
+                .completedTasks(done)
+                .progressPercentage(Math.round(percentage * 100.0) / 100.0)
+                .build();
+    }
+}
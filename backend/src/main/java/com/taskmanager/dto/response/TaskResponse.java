@@ -1,5 +1,6 @@
 package com.taskmanager.dto.response;
 
+import com.taskmanager.entity.ArchivedTask;
 import com.taskmanager.entity.Task;
 import com.taskmanager.entity.TaskPriority;
 import lombok.AllArgsConstructor;
@@ -9,9 +10,10 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class TaskResponse {
@@ -23,9 +25,13 @@ public class TaskResponse {
     private boolean completed;
     private LocalDateTime completedAt;
     private TaskPriority priority;
+    private List<String> labels;
     private boolean overdue;
+    private String rank;
+    private String recurrence;
     private Long projectId;
     private String projectTitle;
+    private Long parentId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
@@ -38,9 +44,31 @@ public class TaskResponse {
                 .completed(task.isCompleted())
                 .completedAt(task.getCompletedAt())
                 .priority(task.getPriority())
+                .labels(task.getLabels().stream().sorted().toList())
                 .overdue(task.isOverdue())
+                .rank(task.getRank())
+                .recurrence(task.getRecurrence())
                 .projectId(task.getProject().getId())
                 .projectTitle(task.getProject().getTitle())
+                .parentId(task.getParent() != null ? task.getParent().getId() : null)
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .build();
+    }
+    
+    public static TaskResponse fromArchived(ArchivedTask task, String projectTitle) {
+        return TaskResponse.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .dueDate(task.getDueDate())
+                .completed(task.isCompleted())
+                .completedAt(task.getCompletedAt())
+                .priority(task.getPriority())
+                .labels(List.of())
+                .overdue(false)
+                .projectId(task.getProjectId())
+                .projectTitle(projectTitle)
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
                 .build();
@@ -0,0 +1,29 @@
+package com.taskmanager.dto.response;
+
+import com.taskmanager.entity.TaskPriority;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Compact list view of a task, built by constructor projection without loading the entity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSummaryResponse {
+    
+    private Long id;
+    private String title;
+    private boolean completed;
+    private TaskPriority priority;
+    private LocalDate dueDate;
+    private boolean overdue;
+    
+    public TaskSummaryResponse(Long id, String title, boolean completed, TaskPriority priority, LocalDate dueDate) {
+        this(id, title, completed, priority, dueDate,
+                dueDate != null && !completed && LocalDate.now().isAfter(dueDate));
+    }
+}
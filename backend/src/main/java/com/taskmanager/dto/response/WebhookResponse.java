@@ -0,0 +1,34 @@
+package com.taskmanager.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.taskmanager.entity.Webhook;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WebhookResponse {
+    
+    private Long id;
+    private String url;
+    private boolean active;
+    // Only returned once, when the webhook is created
+    private String secret;
+    private LocalDateTime createdAt;
+    
+    public static WebhookResponse fromEntity(Webhook webhook) {
+        return WebhookResponse.builder()
+                .id(webhook.getId())
+                .url(webhook.getUrl())
+                .active(webhook.isActive())
+                .createdAt(webhook.getCreatedAt())
+                .build();
+    }
+}
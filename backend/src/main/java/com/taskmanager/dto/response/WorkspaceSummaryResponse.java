@@ -0,0 +1,39 @@
+package com.taskmanager.dto.response;
+
+import com.taskmanager.entity.TaskPriority;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkspaceSummaryResponse {
+    
+    private long totalTasks;
+    private long openTasks;
+    private long completedTasks;
+    // Completed tasks moved to the archive; included in totalTasks and completedTasks
+    private long archivedTasks;
+    private long overdueTasks;
+    private long dueToday;
+    // Open tasks due from today until the end of the week (Sunday)
+    private long dueThisWeek;
+    private Map<TaskPriority, PriorityCount> byPriority;
+    private LocalDateTime generatedAt;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriorityCount {
+        private long total;
+        private long open;
+        private long overdue;
+    }
+}
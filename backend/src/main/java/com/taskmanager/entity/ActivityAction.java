@@ -0,0 +1,7 @@
+package com.taskmanager.entity;
+
+public enum ActivityAction {
+    CREATED,
+    UPDATED,
+    DELETED
+}
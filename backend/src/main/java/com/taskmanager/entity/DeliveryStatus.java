@@ -0,0 +1,7 @@
+package com.taskmanager.entity;
+
+public enum DeliveryStatus {
+    PENDING,
+    DELIVERED,
+    FAILED
+}
@@ -2,6 +2,7 @@ package com.taskmanager.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -9,6 +10,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "projects")
+@SQLRestriction("deleting = false")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -32,9 +34,19 @@ public class Project {
     
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
-    @OrderBy("createdAt DESC")
+    @OrderBy("rank ASC, createdAt DESC")
     private List<Task> tasks = new ArrayList<>();
     
+    // Completed tasks moved to archived_tasks; kept here so progress does not need the archive
+    @Column(name = "archived_task_count", nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private int archivedTaskCount = 0;
+    
+    // Set while an asynchronous deletion job is removing the project's tasks
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    @Builder.Default
+    private boolean deleting = false;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -54,15 +66,15 @@ public class Project {
     
     // Helper methods for task statistics
     public int getTotalTasks() {
-        return tasks.size();
+        return tasks.size() + archivedTaskCount;
     }
     
     public long getCompletedTasks() {
-        return tasks.stream().filter(Task::isCompleted).count();
+        return tasks.stream().filter(Task::isCompleted).count() + archivedTaskCount;
     }
     
     public double getProgressPercentage() {
-        if (tasks.isEmpty()) {
+        if (getTotalTasks() == 0) {
             return 0.0;
         }
         return (double) getCompletedTasks() / getTotalTasks() * 100;
@@ -0,0 +1,91 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Per-project, per-day rollup of task activity, maintained incrementally on task writes.
+ * Cycle times are kept as a fixed histogram of eight buckets from under 1h to over 30 days.
+ */
+@Entity
+@Table(name = "project_daily_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_project_daily_stats_project_day", columnNames = {"project_id", "day"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectDailyStats {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Plain column rather than a relation: rollups must not load or lock the project
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+    
+    @Column(nullable = false)
+    private LocalDate day;
+    
+    @Column(name = "created_count", nullable = false)
+    private int createdCount;
+    
+    @Column(name = "completed_count", nullable = false)
+    private int completedCount;
+    
+    @Column(name = "reopened_count", nullable = false)
+    private int reopenedCount;
+    
+    @Column(name = "deleted_open_count", nullable = false)
+    private int deletedOpenCount;
+    
+    @Column(name = "completed_low", nullable = false)
+    private int completedLow;
+    
+    @Column(name = "completed_medium", nullable = false)
+    private int completedMedium;
+    
+    @Column(name = "completed_high", nullable = false)
+    private int completedHigh;
+    
+    @Column(name = "completed_urgent", nullable = false)
+    private int completedUrgent;
+    
+    @Column(name = "cycle_under_1h", nullable = false)
+    private int cycleUnder1h;
+    
+    @Column(name = "cycle_under_4h", nullable = false)
+    private int cycleUnder4h;
+    
+    @Column(name = "cycle_under_1d", nullable = false)
+    private int cycleUnder1d;
+    
+    @Column(name = "cycle_under_3d", nullable = false)
+    private int cycleUnder3d;
+    
+    @Column(name = "cycle_under_7d", nullable = false)
+    private int cycleUnder7d;
+    
+    @Column(name = "cycle_under_14d", nullable = false)
+    private int cycleUnder14d;
+    
+    @Column(name = "cycle_under_30d", nullable = false)
+    private int cycleUnder30d;
+    
+    @Column(name = "cycle_over_30d", nullable = false)
+    private int cycleOver30d;
+    
+    // Net change in open tasks on this day, used for burndown
+    public int getOpenDelta() {
+        return createdCount - completedCount + reopenedCount - deletedOpenCount;
+    }
+    
+    public int[] getCycleHistogram() {
+        return new int[] {cycleUnder1h, cycleUnder4h, cycleUnder1d, cycleUnder3d,
+                cycleUnder7d, cycleUnder14d, cycleUnder30d, cycleOver30d};
+    }
+}
@@ -2,12 +2,27 @@ package com.taskmanager.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_project_rank", columnList = "project_id, rank"),
+        @Index(name = "idx_tasks_project_path", columnList = "project_id, path"),
+        @Index(name = "idx_tasks_project_created", columnList = "project_id, created_at"),
+        @Index(name = "idx_tasks_project_due", columnList = "project_id, due_date")
+})
+// Only changed columns are written, so an update never overwrites rollup counters bumped concurrently
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,6 +30,9 @@ import java.time.LocalDateTime;
 @Builder
 public class Task {
     
+    public static final String ROOT_PATH = "/";
+    public static final int MAX_PATH_LENGTH = 2048;
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -40,10 +58,49 @@ public class Task {
     @Builder.Default
     private TaskPriority priority = TaskPriority.MEDIUM;
     
+    // Fractional order key (see RankKeys); byte-wise collation so the database sorts like String.compareTo
+    @Column(columnDefinition = "varchar(255) collate \"C\"")
+    private String rank;
+    
+    @ElementCollection
+    // Cascades in the database so bulk task deletes take the labels along; Hibernate rejects @OnDelete here
+    @CollectionTable(name = "task_labels", joinColumns = @JoinColumn(name = "task_id"),
+            foreignKey = @ForeignKey(name = "fk_task_labels_task",
+                    foreignKeyDefinition = "FOREIGN KEY (task_id) REFERENCES tasks (id) ON DELETE CASCADE"),
+            indexes = @Index(name = "idx_task_labels_label", columnList = "label"))
+    @Column(name = "label", nullable = false, length = 50)
+    // Lists map many tasks at once; load their labels in batches instead of one query each
+    @BatchSize(size = 100)
+    @Builder.Default
+    private Set<String> labels = new HashSet<>();
+    
+    // Recurrence rule (see RecurrenceRule); only the open instance of a series carries it
+    @Column(length = 120)
+    private String recurrence;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
     
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Task parent;
+    
+    // Ancestor ids from the top, e.g. "/12/45/" for a subtask of 45 under 12; "/" for top-level tasks
+    @Column(nullable = false, columnDefinition = "varchar(2048) collate \"C\" default '/'")
+    @Builder.Default
+    private String path = ROOT_PATH;
+    
+    // Rollups over all descendants, maintained incrementally by TaskHierarchyService
+    @Column(name = "descendant_count", nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private int descendantCount = 0;
+    
+    @Column(name = "completed_descendant_count", nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private int completedDescendantCount = 0;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -71,6 +128,25 @@ public class Task {
         this.completedAt = null;
     }
     
+    // Path prefix shared by all descendants of this task
+    public String getChildPath() {
+        return path + id + "/";
+    }
+    
+    public List<Long> getAncestorIds() {
+        return idsInPath(path);
+    }
+    
+    public static List<Long> idsInPath(String path) {
+        List<Long> ids = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                ids.add(Long.valueOf(segment));
+            }
+        }
+        return ids;
+    }
+    
     public boolean isOverdue() {
         return dueDate != null && !completed && LocalDate.now().isAfter(dueDate);
     }
@@ -0,0 +1,37 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * A pending due-date reminder. Rows are deleted once delivered, so the table only holds
+ * reminders that are still to come.
+ */
+@Entity
+@Table(name = "task_reminders", indexes = {
+        @Index(name = "idx_task_reminders_fire_at", columnList = "fire_at"),
+        @Index(name = "idx_task_reminders_task", columnList = "task_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskReminder {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Task task;
+    
+    @Column(name = "fire_at", nullable = false)
+    private LocalDateTime fireAt;
+}
@@ -0,0 +1,39 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Shard directory entry: the shard holding a user's projects and tasks. Kept on shard 0 only.
+ */
+@Entity
+@Table(name = "user_shards")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserShard {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(nullable = false)
+    private int shard;
+    
+    // Other shard of an unfinished move: the target while rows are copied, then the source while they are deleted
+    @Column(name = "migration_shard")
+    private Integer migrationShard;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
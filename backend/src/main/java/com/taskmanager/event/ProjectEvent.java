@@ -0,0 +1,40 @@
+package com.taskmanager.event;
+
+import com.taskmanager.dto.response.ProjectResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class ProjectEvent {
+    
+    private final ProjectEventType type;
+    private final Long projectId;
+    private final Long ownerId;
+    // Snapshot taken inside the transaction; null for deletions
+    private final ProjectResponse project;
+    private final LocalDateTime occurredAt;
+    
+    public static ProjectEvent of(ProjectEventType type, ProjectResponse project, Long ownerId) {
+        return ProjectEvent.builder()
+                .type(type)
+                .projectId(project.getId())
+                .ownerId(ownerId)
+                .project(project)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+    
+    public static ProjectEvent deleted(Long projectId, Long ownerId) {
+        return ProjectEvent.builder()
+                .type(ProjectEventType.DELETED)
+                .projectId(projectId)
+                .ownerId(ownerId)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,7 @@
+package com.taskmanager.event;
+
+public enum ProjectEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
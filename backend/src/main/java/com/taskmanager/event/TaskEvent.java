@@ -0,0 +1,44 @@
+package com.taskmanager.event;
+
+import com.taskmanager.dto.response.TaskResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class TaskEvent {
+    
+    private final TaskEventType type;
+    private final Long taskId;
+    private final Long projectId;
+    private final Long ownerId;
+    // Snapshot taken inside the transaction; for deletions, the state before removal
+    private final TaskResponse task;
+    // Completion state before the change, so listeners can tell real transitions apart
+    private final boolean completedBefore;
+    private final LocalDateTime occurredAt;
+    
+    public static TaskEvent of(TaskEventType type, TaskResponse task, Long ownerId) {
+        return of(type, task, task.isCompleted(), ownerId);
+    }
+    
+    public static TaskEvent of(TaskEventType type, TaskResponse task, boolean completedBefore, Long ownerId) {
+        return TaskEvent.builder()
+                .type(type)
+                .taskId(task.getId())
+                .projectId(task.getProjectId())
+                .ownerId(ownerId)
+                .task(task)
+                .completedBefore(completedBefore)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+    
+    public static TaskEvent deleted(TaskResponse task, Long ownerId) {
+        return of(TaskEventType.DELETED, task, task.isCompleted(), ownerId);
+    }
+}
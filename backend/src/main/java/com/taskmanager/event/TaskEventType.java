@@ -0,0 +1,8 @@
+package com.taskmanager.event;
+
+public enum TaskEventType {
+    CREATED,
+    UPDATED,
+    TOGGLED,
+    DELETED
+}
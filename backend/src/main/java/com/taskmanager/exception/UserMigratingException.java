@@ -0,0 +1,17 @@
+package com.taskmanager.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a request arrives while the user's data is being moved to another shard.
+ */
+@Getter
+public class UserMigratingException extends RuntimeException {
+    
+    private final Long userId;
+    
+    public UserMigratingException(Long userId) {
+        super("Your workspace is being moved, please retry shortly");
+        this.userId = userId;
+    }
+}
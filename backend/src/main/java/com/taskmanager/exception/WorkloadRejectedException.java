@@ -0,0 +1,18 @@
+package com.taskmanager.exception;
+
+import com.taskmanager.workload.WorkloadClass;
+import lombok.Getter;
+
+/**
+ * Thrown when a workload class is saturated and its queue is full or the wait timed out.
+ */
+@Getter
+public class WorkloadRejectedException extends RuntimeException {
+    
+    private final WorkloadClass workload;
+    
+    public WorkloadRejectedException(WorkloadClass workload) {
+        super("Server is busy with " + workload.name().toLowerCase() + " requests, please retry shortly");
+        this.workload = workload;
+    }
+}
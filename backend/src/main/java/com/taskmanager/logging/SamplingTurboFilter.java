@@ -0,0 +1,63 @@
+package com.taskmanager.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through one in {@code rate} events, counted per logger, at or below {@code level} from
+ * the configured logger prefixes. Runs before the message is formatted or queued, so suppressed
+ * events cost a counter increment. Events above the level (WARN and ERROR by default) are never sampled.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+    
+    private final List<String> loggers = new ArrayList<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private int rate = 100;
+    private Level level = Level.INFO;
+    
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level eventLevel, String format, Object[] params,
+                              Throwable t) {
+        // format is null for isXxxEnabled() checks; those must not consume samples
+        if (!isStarted() || format == null || eventLevel == null || !level.isGreaterOrEqual(eventLevel)
+                || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        // Events below the logger's level are dropped anyway and must not be counted
+        if (!eventLevel.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        AtomicLong counter = counters.computeIfAbsent(logger.getName(), name -> new AtomicLong());
+        return counter.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+    
+    private boolean matches(String name) {
+        for (String prefix : loggers) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public void addLogger(String logger) {
+        loggers.add(logger.trim());
+    }
+    
+    public void setRate(int rate) {
+        this.rate = Math.max(1, rate);
+    }
+    
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.INFO);
+    }
+}
@@ -0,0 +1,37 @@
+package com.taskmanager.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position after the last entry of an activity page, newest first. Encoded as an opaque
+ * URL-safe string.
+ */
+public record ActivityCursor(LocalDateTime occurredAt, Long id) {
+    
+    public static ActivityCursor after(ActivityEntry entry) {
+        return new ActivityCursor(entry.occurredAt(), entry.id());
+    }
+    
+    public String encode() {
+        String raw = occurredAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Throws IllegalArgumentException for anything that was not produced by encode().
+     */
+    public static ActivityCursor decode(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\\|", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        try {
+            return new ActivityCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.ActivityAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the activity log. taskId is null for changes to the project itself; field and the
+ * values are set for updates, the title for creations and deletions.
+ */
+public record ActivityEntry(Long id, LocalDateTime occurredAt, Long actorId, Long projectId, Long taskId,
+                            ActivityAction action, String field, String oldValue, String newValue) {
+}
@@ -0,0 +1,141 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.ActivityAction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plain JDBC access to the activity log. The table is range-partitioned by month, which
+ * Hibernate cannot create, and is only ever appended to in batches, which JDBC batching with
+ * sequence-generated ids does without a round trip per row.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ActivityLogRepository {
+    
+    private static final String TABLE = "activity_log";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    
+    // The partition key has to be part of the primary key
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS activity_log (" +
+            "id bigint NOT NULL DEFAULT nextval('activity_log_id_seq'), " +
+            "occurred_at timestamp(6) NOT NULL, " +
+            "actor_id bigint NOT NULL, " +
+            "project_id bigint NOT NULL, " +
+            "task_id bigint, " +
+            "action varchar(20) NOT NULL, " +
+            "field varchar(50), " +
+            "old_value text, " +
+            "new_value text, " +
+            "PRIMARY KEY (occurred_at, id)) PARTITION BY RANGE (occurred_at)";
+    
+    private static final String INSERT = "INSERT INTO activity_log (occurred_at, actor_id, project_id, task_id, action, " +
+            "field, old_value, new_value) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String SELECT = "SELECT id, occurred_at, actor_id, project_id, task_id, action, field, " +
+            "old_value, new_value FROM activity_log WHERE project_id = ?";
+    
+    private static final String PARTITIONS = "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'activity_log'::regclass";
+    
+    private static final RowMapper<ActivityEntry> ROW_MAPPER = (rs, rowNum) -> new ActivityEntry(
+            rs.getLong("id"),
+            rs.getTimestamp("occurred_at").toLocalDateTime(),
+            rs.getLong("actor_id"),
+            rs.getLong("project_id"),
+            rs.getObject("task_id", Long.class),
+            ActivityAction.valueOf(rs.getString("action")),
+            rs.getString("field"),
+            rs.getString("old_value"),
+            rs.getString("new_value"));
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public void createTable() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS activity_log_id_seq");
+        jdbcTemplate.execute(CREATE_TABLE);
+        // Created on every partition; both serve the newest-first pages
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_activity_log_project ON activity_log (project_id, occurred_at DESC, id DESC)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_activity_log_task ON activity_log (task_id, occurred_at DESC, id DESC)");
+    }
+    
+    public void createPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF activity_log " +
+                "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+    
+    // Months of the existing partitions
+    public List<YearMonth> findPartitions() {
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : jdbcTemplate.queryForList(PARTITIONS, String.class)) {
+            parsePartitionName(name).ifPresent(months::add);
+        }
+        return months;
+    }
+    
+    // Dropping a whole month is how entries expire; no row-by-row delete
+    public void dropPartition(YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(month));
+    }
+    
+    public void insertBatch(List<ActivityEntry> entries) {
+        jdbcTemplate.batchUpdate(INSERT, entries, entries.size(), (ps, entry) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(entry.occurredAt()));
+            ps.setLong(2, entry.actorId());
+            ps.setLong(3, entry.projectId());
+            ps.setObject(4, entry.taskId(), Types.BIGINT);
+            ps.setString(5, entry.action().name());
+            ps.setString(6, entry.field());
+            ps.setString(7, entry.oldValue());
+            ps.setString(8, entry.newValue());
+        });
+    }
+    
+    /**
+     * Entries of a project, or of one of its tasks when taskId is set, newest first and after
+     * the cursor if one is given.
+     */
+    public List<ActivityEntry> findPage(Long projectId, Long taskId, ActivityCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> args = new ArrayList<>();
+        args.add(projectId);
+        if (taskId != null) {
+            sql.append(" AND task_id = ?");
+            args.add(taskId);
+        }
+        if (after != null) {
+            sql.append(" AND (occurred_at, id) < (?, ?)");
+            args.add(Timestamp.valueOf(after.occurredAt()));
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY occurred_at DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+    
+    static String partitionName(YearMonth month) {
+        return TABLE + "_" + month.format(PARTITION_SUFFIX);
+    }
+    
+    static Optional<YearMonth> parsePartitionName(String name) {
+        if (!name.startsWith(TABLE + "_")) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(name.substring(TABLE.length() + 1), PARTITION_SUFFIX));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
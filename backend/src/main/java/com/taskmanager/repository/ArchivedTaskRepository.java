@@ -0,0 +1,53 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.ArchivedTask;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+    
+    Page<ArchivedTask> findByProjectId(Long projectId, Pageable pageable);
+    
+    List<ArchivedTask> findTop500ByProjectIdAndIdGreaterThanOrderByIdAsc(Long projectId, Long afterId);
+    
+    long countByProjectId(Long projectId);
+    
+    /**
+     * Moves one batch of tasks completed before the cutoff into archived_tasks and bumps the
+     * per-project archived counters, all in a single statement. Returns the number of tasks moved.
+     * Tasks that are part of a subtask hierarchy stay, so paths and rollups remain intact.
+     */
+    @Query(value = "WITH moved AS (" +
+                   "  DELETE FROM tasks WHERE id IN (" +
+                   "    SELECT id FROM tasks WHERE completed = true AND completed_at < :cutoff " +
+                   "    AND parent_id IS NULL AND descendant_count = 0 " +
+                   "    ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+                   "  RETURNING id, title, description, due_date, completed, completed_at, priority, " +
+                   "            project_id, created_at, updated_at), " +
+                   "archived AS (" +
+                   "  INSERT INTO archived_tasks (id, title, description, due_date, completed, completed_at, " +
+                   "                              priority, project_id, created_at, updated_at, archived_at) " +
+                   "  SELECT id, title, description, due_date, completed, completed_at, priority, " +
+                   "         project_id, created_at, updated_at, now() FROM moved " +
+                   "  RETURNING project_id), " +
+                   "counted AS (" +
+                   "  UPDATE projects p SET archived_task_count = p.archived_task_count + a.cnt " +
+                   "  FROM (SELECT project_id, COUNT(*) AS cnt FROM archived GROUP BY project_id) a " +
+                   "  WHERE p.id = a.project_id RETURNING a.cnt) " +
+                   "SELECT CAST(COALESCE(SUM(cnt), 0) AS BIGINT) FROM counted",
+           nativeQuery = true)
+    long archiveCompletedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+    
+    @Modifying
+    @Query("DELETE FROM ArchivedTask a WHERE a.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,27 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    // SKIP LOCKED lets several instances drain the outbox without handing out the same rows
+    @Query(value = "SELECT * FROM outbox_events WHERE processed_at IS NULL ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> claimUnprocessed(@Param("limit") int limit);
+    
+    long countByProcessedAtIsNull();
+    
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.processedAt < :before " +
+           "AND NOT EXISTS (SELECT d FROM WebhookDelivery d WHERE d.event = e)")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,121 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.ProjectDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ProjectDailyStatsRepository extends JpaRepository<ProjectDailyStats, Long> {
+    
+    List<ProjectDailyStats> findByProjectIdAndDayBetweenOrderByDayAsc(Long projectId, LocalDate from, LocalDate to);
+    
+    @Query("SELECT COALESCE(SUM(s.createdCount - s.completedCount + s.reopenedCount - s.deletedOpenCount), 0) " +
+           "FROM ProjectDailyStats s WHERE s.projectId = :projectId AND s.day < :day")
+    long sumOpenDeltaBefore(@Param("projectId") Long projectId, @Param("day") LocalDate day);
+    
+    // Single-statement increment; concurrent writers on the same day never lose updates
+    @Modifying
+    @Query(value = "INSERT INTO project_daily_stats (project_id, day, created_count, completed_count, reopened_count, " +
+                   "deleted_open_count, completed_low, completed_medium, completed_high, completed_urgent, " +
+                   "cycle_under_1h, cycle_under_4h, cycle_under_1d, cycle_under_3d, cycle_under_7d, " +
+                   "cycle_under_14d, cycle_under_30d, cycle_over_30d) " +
+                   "VALUES (:projectId, :day, :created, :completed, :reopened, :deletedOpen, " +
+                   "CASE WHEN :priority = 'LOW' THEN :completed ELSE 0 END, " +
+                   "CASE WHEN :priority = 'MEDIUM' THEN :completed ELSE 0 END, " +
+                   "CASE WHEN :priority = 'HIGH' THEN :completed ELSE 0 END, " +
+                   "CASE WHEN :priority = 'URGENT' THEN :completed ELSE 0 END, " +
+                   "CASE WHEN :bucket = 0 THEN 1 ELSE 0 END, CASE WHEN :bucket = 1 THEN 1 ELSE 0 END, " +
+                   "CASE WHEN :bucket = 2 THEN 1 ELSE 0 END, CASE WHEN :bucket = 3 THEN 1 ELSE 0 END, " +
+                   "CASE WHEN :bucket = 4 THEN 1 ELSE 0 END, CASE WHEN :bucket = 5 THEN 1 ELSE 0 END, " +
+                   "CASE WHEN :bucket = 6 THEN 1 ELSE 0 END, CASE WHEN :bucket = 7 THEN 1 ELSE 0 END) " +
+                   "ON CONFLICT (project_id, day) DO UPDATE SET " +
+                   "created_count = project_daily_stats.created_count + EXCLUDED.created_count, " +
+                   "completed_count = project_daily_stats.completed_count + EXCLUDED.completed_count, " +
+                   "reopened_count = project_daily_stats.reopened_count + EXCLUDED.reopened_count, " +
+                   "deleted_open_count = project_daily_stats.deleted_open_count + EXCLUDED.deleted_open_count, " +
+                   "completed_low = project_daily_stats.completed_low + EXCLUDED.completed_low, " +
+                   "completed_medium = project_daily_stats.completed_medium + EXCLUDED.completed_medium, " +
+                   "completed_high = project_daily_stats.completed_high + EXCLUDED.completed_high, " +
+                   "completed_urgent = project_daily_stats.completed_urgent + EXCLUDED.completed_urgent, " +
+                   "cycle_under_1h = project_daily_stats.cycle_under_1h + EXCLUDED.cycle_under_1h, " +
+                   "cycle_under_4h = project_daily_stats.cycle_under_4h + EXCLUDED.cycle_under_4h, " +
+                   "cycle_under_1d = project_daily_stats.cycle_under_1d + EXCLUDED.cycle_under_1d, " +
+                   "cycle_under_3d = project_daily_stats.cycle_under_3d + EXCLUDED.cycle_under_3d, " +
+                   "cycle_under_7d = project_daily_stats.cycle_under_7d + EXCLUDED.cycle_under_7d, " +
+                   "cycle_under_14d = project_daily_stats.cycle_under_14d + EXCLUDED.cycle_under_14d, " +
+                   "cycle_under_30d = project_daily_stats.cycle_under_30d + EXCLUDED.cycle_under_30d, " +
+                   "cycle_over_30d = project_daily_stats.cycle_over_30d + EXCLUDED.cycle_over_30d",
+           nativeQuery = true)
+    void increment(@Param("projectId") Long projectId,
+                   @Param("day") LocalDate day,
+                   @Param("created") int created,
+                   @Param("completed") int completed,
+                   @Param("reopened") int reopened,
+                   @Param("deletedOpen") int deletedOpen,
+                   @Param("priority") String priority,
+                   @Param("bucket") int bucket);
+    
+    @Modifying
+    @Query(value = "INSERT INTO project_daily_stats (project_id, day, created_count, completed_count, reopened_count, " +
+                   "deleted_open_count, completed_low, completed_medium, completed_high, completed_urgent, " +
+                   "cycle_under_1h, cycle_under_4h, cycle_under_1d, cycle_under_3d, cycle_under_7d, " +
+                   "cycle_under_14d, cycle_under_30d, cycle_over_30d) " +
+                   "SELECT project_id, CAST(created_at AS DATE), COUNT(*), 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 " +
+                   "FROM (SELECT project_id, created_at FROM tasks WHERE project_id = :projectId " +
+                   "UNION ALL SELECT project_id, created_at FROM archived_tasks WHERE project_id = :projectId) t " +
+                   "GROUP BY project_id, CAST(created_at AS DATE)",
+           nativeQuery = true)
+    int backfillCreated(@Param("projectId") Long projectId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO project_daily_stats (project_id, day, created_count, completed_count, reopened_count, " +
+                   "deleted_open_count, completed_low, completed_medium, completed_high, completed_urgent, " +
+                   "cycle_under_1h, cycle_under_4h, cycle_under_1d, cycle_under_3d, cycle_under_7d, " +
+                   "cycle_under_14d, cycle_under_30d, cycle_over_30d) " +
+                   "SELECT project_id, day, 0, COUNT(*), 0, 0, " +
+                   "SUM(CASE WHEN priority = 'LOW' THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN priority = 'MEDIUM' THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN priority = 'HIGH' THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN priority = 'URGENT' THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN secs < 3600 THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN secs >= 3600 AND secs < 14400 THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN secs >= 14400 AND secs < 86400 THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN secs >= 86400 AND secs < 259200 THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN secs >= 259200 AND secs < 604800 THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN secs >= 604800 AND secs < 1209600 THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN secs >= 1209600 AND secs < 2592000 THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN secs >= 2592000 THEN 1 ELSE 0 END) " +
+                   "FROM (SELECT project_id, priority, CAST(completed_at AS DATE) AS day, " +
+                   "EXTRACT(EPOCH FROM (completed_at - created_at)) AS secs FROM (" +
+                   "SELECT project_id, priority, created_at, completed_at FROM tasks " +
+                   "WHERE project_id = :projectId AND completed = true AND completed_at IS NOT NULL " +
+                   "UNION ALL SELECT project_id, priority, created_at, completed_at FROM archived_tasks " +
+                   "WHERE project_id = :projectId AND completed_at IS NOT NULL) t) c " +
+                   "GROUP BY project_id, day " +
+                   "ON CONFLICT (project_id, day) DO UPDATE SET " +
+                   "completed_count = EXCLUDED.completed_count, " +
+                   "completed_low = EXCLUDED.completed_low, " +
+                   "completed_medium = EXCLUDED.completed_medium, " +
+                   "completed_high = EXCLUDED.completed_high, " +
+                   "completed_urgent = EXCLUDED.completed_urgent, " +
+                   "cycle_under_1h = EXCLUDED.cycle_under_1h, " +
+                   "cycle_under_4h = EXCLUDED.cycle_under_4h, " +
+                   "cycle_under_1d = EXCLUDED.cycle_under_1d, " +
+                   "cycle_under_3d = EXCLUDED.cycle_under_3d, " +
+                   "cycle_under_7d = EXCLUDED.cycle_under_7d, " +
+                   "cycle_under_14d = EXCLUDED.cycle_under_14d, " +
+                   "cycle_under_30d = EXCLUDED.cycle_under_30d, " +
+                   "cycle_over_30d = EXCLUDED.cycle_over_30d",
+           nativeQuery = true)
+    int backfillCompleted(@Param("projectId") Long projectId);
+    
+    @Modifying
+    @Query("DELETE FROM ProjectDailyStats s WHERE s.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
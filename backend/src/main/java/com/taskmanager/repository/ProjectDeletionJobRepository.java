@@ -0,0 +1,23 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.ProjectDeletionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ProjectDeletionJobRepository extends JpaRepository<ProjectDeletionJob, Long> {
+    
+    Optional<ProjectDeletionJob> findByIdAndOwnerId(Long id, Long ownerId);
+    
+    // Pending jobs, or running ones whose worker stopped reporting progress
+    @Query(value = "SELECT * FROM project_deletion_jobs WHERE status = 'PENDING' " +
+                   "OR (status = 'RUNNING' AND updated_at < :staleBefore) " +
+                   "ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<ProjectDeletionJob> claimNext(@Param("staleBefore") LocalDateTime staleBefore);
+}
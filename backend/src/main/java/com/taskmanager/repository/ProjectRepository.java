@@ -5,10 +5,12 @@ import com.taskmanager.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,4 +32,32 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     List<Project> searchByTitle(@Param("owner") User owner, @Param("search") String search);
     
     long countByOwner(User owner);
+    
+    @Query("SELECT p.id AS id, p.id AS projectId, p.title AS title FROM Project p WHERE p.owner.id = :ownerId")
+    List<TitleView> findTitlesByOwnerId(@Param("ownerId") Long ownerId);
+    
+    @Query("SELECT COALESCE(SUM(p.archivedTaskCount), 0) FROM Project p WHERE p.owner.id = :ownerId")
+    long sumArchivedTaskCountByOwnerId(@Param("ownerId") Long ownerId);
+    
+    @Query("SELECT p.id AS projectId, p.title AS title, COUNT(t) AS totalTasks, " +
+           "COALESCE(SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END), 0) AS completedTasks, " +
+           "p.archivedTaskCount AS archivedTasks " +
+           "FROM Project p LEFT JOIN p.tasks t " +
+           "WHERE p.owner = :owner AND p.id IN :ids " +
+           "GROUP BY p.id, p.title, p.archivedTaskCount")
+    List<ProjectTaskCounts> findTaskCountsByOwnerAndIds(@Param("owner") User owner,
+                                                        @Param("ids") Collection<Long> ids);
+    
+    // Serialises rank and hierarchy changes within a project; unlike FOR UPDATE it does not block task inserts
+    @Query(value = "SELECT id FROM projects WHERE id = :id AND deleting = false FOR NO KEY UPDATE", nativeQuery = true)
+    Optional<Long> lockTaskTree(@Param("id") Long id);
+    
+    // Native so the statements reach projects already hidden by the deleting flag
+    @Modifying
+    @Query(value = "UPDATE projects SET deleting = true WHERE id = :id", nativeQuery = true)
+    int markDeleting(@Param("id") Long id);
+    
+    @Modifying
+    @Query(value = "DELETE FROM projects WHERE id = :id", nativeQuery = true)
+    int deleteProjectById(@Param("id") Long id);
 }
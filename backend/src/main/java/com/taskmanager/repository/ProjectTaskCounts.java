@@ -0,0 +1,17 @@
+package com.taskmanager.repository;
+
+/**
+ * Aggregate task counts of one project, read without loading its tasks.
+ */
+public interface ProjectTaskCounts {
+    
+    Long getProjectId();
+    
+    String getTitle();
+    
+    long getTotalTasks();
+    
+    long getCompletedTasks();
+    
+    int getArchivedTasks();
+}
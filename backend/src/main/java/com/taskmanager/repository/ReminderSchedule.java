@@ -0,0 +1,13 @@
+package com.taskmanager.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Id and firing time of a pending reminder, all the timing wheel needs.
+ */
+public interface ReminderSchedule {
+    
+    Long getId();
+    
+    LocalDateTime getFireAt();
+}
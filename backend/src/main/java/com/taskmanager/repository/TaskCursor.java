@@ -0,0 +1,46 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.Task;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last task of a page: its sort value and id, plus the sort it belongs to
+ * so a cursor cannot be replayed against a different order. Encoded as an opaque URL-safe string.
+ */
+public record TaskCursor(TaskSortField field, Sort.Direction direction, Object value, Long id) {
+    
+    private static final String SEPARATOR = "|";
+    // Distinguishes a null sort value from an empty title
+    private static final String NULL = "~";
+    
+    public static TaskCursor after(Task task, TaskSortField field, Sort.Direction direction) {
+        return new TaskCursor(field, direction, field.valueOf(task), task.getId());
+    }
+    
+    public String encode() {
+        String raw = field.name() + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR
+                + (value == null ? NULL : "=" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Throws IllegalArgumentException for anything that was not produced by encode().
+     */
+    public static TaskCursor decode(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\\|", 4);
+        if (parts.length != 4 || !(parts[3].equals(NULL) || parts[3].startsWith("="))) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        try {
+            TaskSortField field = TaskSortField.valueOf(parts[0]);
+            Object value = parts[3].equals(NULL) ? null : field.parse(parts[3].substring(1));
+            return new TaskCursor(field, Sort.Direction.valueOf(parts[1]), value, Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.taskmanager.repository;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Task attributes that can be requested through the fields= parameter, named as in TaskResponse.
+ */
+public enum TaskField {
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    DUE_DATE("dueDate"),
+    COMPLETED("completed"),
+    COMPLETED_AT("completedAt"),
+    PRIORITY("priority"),
+    // Derived from completed and dueDate
+    OVERDUE("overdue"),
+    RANK("rank"),
+    PROJECT_ID("projectId"),
+    PROJECT_TITLE("projectTitle"),
+    PARENT_ID("parentId"),
+    RECURRENCE("recurrence"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt");
+    
+    // Plain columns of the task; derived and joined fields cannot be sorted by
+    private static final Set<TaskField> SORTABLE = EnumSet.of(
+            ID, TITLE, DUE_DATE, COMPLETED, COMPLETED_AT, PRIORITY, RANK, CREATED_AT, UPDATED_AT);
+    
+    private final String paramName;
+    
+    TaskField(String paramName) {
+        this.paramName = paramName;
+    }
+    
+    public String getParamName() {
+        return paramName;
+    }
+    
+    public boolean isSortable() {
+        return SORTABLE.contains(this);
+    }
+    
+    public static Optional<TaskField> fromParamName(String name) {
+        return Arrays.stream(values())
+                .filter(field -> field.paramName.equals(name))
+                .findFirst();
+    }
+}
@@ -0,0 +1,30 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.TaskPriority;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Optional restrictions for task list queries; null components are not applied. Priorities
+ * match any of the set, the due date range is inclusive, and text matches title or description.
+ */
+public record TaskFilter(Boolean completed, Set<TaskPriority> priorities, LocalDate dueFrom, LocalDate dueTo,
+                         LocalDate overdueOn, String text) {
+    
+    public static TaskFilter all() {
+        return new TaskFilter(null, null, null, null, null, null);
+    }
+    
+    public static TaskFilter byCompleted(boolean completed) {
+        return new TaskFilter(completed, null, null, null, null, null);
+    }
+    
+    public static TaskFilter byPriority(TaskPriority priority) {
+        return new TaskFilter(null, Set.of(priority), null, null, null, null);
+    }
+    
+    public static TaskFilter overdueOn(LocalDate date) {
+        return new TaskFilter(null, null, null, null, date, null);
+    }
+}
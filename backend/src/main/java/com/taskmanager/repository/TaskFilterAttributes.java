@@ -0,0 +1,19 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.TaskPriority;
+
+import java.time.LocalDate;
+
+/**
+ * The attributes of a task that the filter index is built from.
+ */
+public interface TaskFilterAttributes {
+    
+    Long getTaskId();
+    
+    TaskPriority getPriority();
+    
+    Boolean getCompleted();
+    
+    LocalDate getDueDate();
+}
@@ -0,0 +1,11 @@
+package com.taskmanager.repository;
+
+/**
+ * One label of one task.
+ */
+public interface TaskLabelView {
+    
+    Long getTaskId();
+    
+    String getLabel();
+}
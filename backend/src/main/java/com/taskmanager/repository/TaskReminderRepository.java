@@ -0,0 +1,37 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.TaskReminder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskReminderRepository extends JpaRepository<TaskReminder, Long> {
+    
+    List<TaskReminder> findByTaskId(Long taskId);
+    
+    @Query("SELECT r.id FROM TaskReminder r WHERE r.task.id = :taskId")
+    List<Long> findIdsByTaskId(@Param("taskId") Long taskId);
+    
+    // Range scan over fire_at; pages are keyed by id so a large window is read in bounded chunks
+    @Query("SELECT r.id AS id, r.fireAt AS fireAt FROM TaskReminder r " +
+           "WHERE r.fireAt >= :from AND r.fireAt < :until AND r.id > :afterId ORDER BY r.id")
+    List<ReminderSchedule> findScheduleBetween(@Param("from") LocalDateTime from,
+                                               @Param("until") LocalDateTime until,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+    
+    @Query("SELECT r FROM TaskReminder r JOIN FETCH r.task t JOIN FETCH t.project p JOIN FETCH p.owner " +
+           "WHERE r.id IN :ids")
+    List<TaskReminder> findWithTaskByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Returns only the rows this call deleted; one removed concurrently by another instance is left out
+    @Query(value = "DELETE FROM task_reminders WHERE id IN (:ids) RETURNING id", nativeQuery = true)
+    List<Long> claimByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -6,23 +6,29 @@ import com.taskmanager.entity.TaskPriority;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
     
-    List<Task> findByProjectOrderByCreatedAtDesc(Project project);
+    List<Task> findByProjectOrderByRankAscCreatedAtDesc(Project project);
     
     Page<Task> findByProject(Project project, Pageable pageable);
     
     Optional<Task> findByIdAndProject(Long id, Project project);
     
+    Optional<Task> findByIdAndProjectId(Long id, Long projectId);
+    
+    List<Task> findTop500ByProjectAndIdGreaterThanOrderByIdAsc(Project project, Long afterId);
+    
     List<Task> findByProjectAndCompleted(Project project, boolean completed);
     
     List<Task> findByProjectAndPriority(Project project, TaskPriority priority);
@@ -38,7 +44,126 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT t FROM Task t WHERE t.project.owner.id = :userId ORDER BY t.dueDate ASC NULLS LAST")
     List<Task> findAllTasksByUserOrderByDueDate(@Param("userId") Long userId);
     
+    @Query("SELECT t.priority AS priority, COUNT(t) AS total, " +
+           "SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END) AS completed, " +
+           "SUM(CASE WHEN t.completed = false AND t.dueDate < :today THEN 1 ELSE 0 END) AS overdue, " +
+           "SUM(CASE WHEN t.completed = false AND t.dueDate = :today THEN 1 ELSE 0 END) AS dueToday, " +
+           "SUM(CASE WHEN t.completed = false AND t.dueDate BETWEEN :today AND :weekEnd THEN 1 ELSE 0 END) AS dueThisWeek " +
+           "FROM Task t JOIN t.project p " +
+           "WHERE p.owner.id = :userId AND p.deleting = false " +
+           "GROUP BY t.priority")
+    List<TaskSummaryCounts> summarizeByUser(@Param("userId") Long userId,
+                                            @Param("today") LocalDate today,
+                                            @Param("weekEnd") LocalDate weekEnd);
+    
+    @Query("SELECT t.id AS id, p.id AS projectId, t.title AS title FROM Task t JOIN t.project p " +
+           "WHERE p.owner.id = :userId AND p.deleting = false")
+    List<TitleView> findTitlesByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT t.id AS taskId, t.priority AS priority, t.completed AS completed, t.dueDate AS dueDate " +
+           "FROM Task t WHERE t.project.id = :projectId")
+    List<TaskFilterAttributes> findFilterAttributesByProjectId(@Param("projectId") Long projectId);
+    
+    // In list order, so building the snapshot only appends
+    @Query("SELECT t.id AS id, t.title AS title, t.completed AS completed, t.priority AS priority, " +
+           "t.dueDate AS dueDate, t.rank AS rank, t.createdAt AS createdAt FROM Task t " +
+           "WHERE t.project.id = :projectId ORDER BY t.rank ASC NULLS LAST, t.createdAt DESC, t.id ASC")
+    List<TaskSnapshotRow> findSnapshotRowsByProjectId(@Param("projectId") Long projectId);
+    
+    @Query("SELECT t.id AS taskId, l AS label FROM Task t JOIN t.labels l WHERE t.project.id = :projectId")
+    List<TaskLabelView> findLabelsByProjectId(@Param("projectId") Long projectId);
+    
+    @Query("SELECT t FROM Task t JOIN FETCH t.project WHERE t.id IN :ids AND t.project.id = :projectId")
+    List<Task> findByIdInAndProjectId(@Param("ids") Collection<Long> ids, @Param("projectId") Long projectId);
+    
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId AND t.dueDate BETWEEN :from AND :to")
+    List<Task> findDueBetween(@Param("projectId") Long projectId,
+                              @Param("from") LocalDate from,
+                              @Param("to") LocalDate to);
+    
+    // Open instances of recurring series whose later occurrences can fall on or before the date
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId AND t.recurrence IS NOT NULL " +
+           "AND t.completed = false AND t.dueDate <= :to")
+    List<Task> findOpenRecurring(@Param("projectId") Long projectId, @Param("to") LocalDate to);
+    
+    // Hands the series on exactly once, even if the same instance is completed twice concurrently
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Task t SET t.recurrence = NULL WHERE t.id = :id AND t.recurrence IS NOT NULL")
+    int clearRecurrence(@Param("id") Long id);
+    
     long countByProjectAndCompleted(Project project, boolean completed);
     
     long countByProject(Project project);
+    
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId")
+    long countByProjectId(@Param("projectId") Long projectId);
+    
+    @Query("SELECT MIN(t.rank) FROM Task t WHERE t.project.id = :projectId")
+    String findFirstRank(@Param("projectId") Long projectId);
+    
+    @Query("SELECT MIN(t.rank) FROM Task t WHERE t.project.id = :projectId AND t.rank > :rank")
+    String findRankAfter(@Param("projectId") Long projectId, @Param("rank") String rank);
+    
+    @Query("SELECT MAX(t.rank) FROM Task t WHERE t.project.id = :projectId AND t.rank < :rank")
+    String findRankBefore(@Param("projectId") Long projectId, @Param("rank") String rank);
+    
+    // The task and all its descendants in one range scan over (project_id, path)
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId " +
+           "AND (t.id = :taskId OR t.path LIKE CONCAT(:childPath, '%')) " +
+           "ORDER BY t.path ASC, t.rank ASC")
+    List<Task> findSubtree(@Param("projectId") Long projectId,
+                           @Param("taskId") Long taskId,
+                           @Param("childPath") String childPath);
+    
+    @Query("SELECT t.id AS taskId, t.title AS title, t.path AS path, t.completed AS completed, " +
+           "t.descendantCount AS descendantCount, t.completedDescendantCount AS completedDescendantCount " +
+           "FROM Task t WHERE t.id = :id")
+    Optional<TaskRollup> findRollupById(@Param("id") Long id);
+    
+    @Query("SELECT t.id AS taskId, t.title AS title, t.path AS path, t.completed AS completed, " +
+           "t.descendantCount AS descendantCount, t.completedDescendantCount AS completedDescendantCount " +
+           "FROM Task t WHERE t.project.id = :projectId AND t.parent IS NULL " +
+           "ORDER BY t.rank ASC, t.createdAt DESC")
+    List<TaskRollup> findTopLevelRollups(@Param("projectId") Long projectId);
+    
+    @Query("SELECT COALESCE(MAX(LENGTH(t.path)), 0) FROM Task t " +
+           "WHERE t.project.id = :projectId AND t.path LIKE CONCAT(:childPath, '%')")
+    int findMaxPathLengthUnder(@Param("projectId") Long projectId, @Param("childPath") String childPath);
+    
+    @Modifying
+    @Query("UPDATE Task t SET t.descendantCount = t.descendantCount + :total, " +
+           "t.completedDescendantCount = t.completedDescendantCount + :completed " +
+           "WHERE t.id IN :ids")
+    int adjustDescendantCounts(@Param("ids") Collection<Long> ids,
+                               @Param("total") int total,
+                               @Param("completed") int completed);
+    
+    // Re-roots the paths of every descendant of a moved task
+    @Modifying
+    @Query("UPDATE Task t SET t.path = CONCAT(:newPrefix, SUBSTRING(t.path, :oldPrefixLength + 1)) " +
+           "WHERE t.project.id = :projectId AND t.path LIKE CONCAT(:oldPrefix, '%')")
+    int movePaths(@Param("projectId") Long projectId,
+                  @Param("oldPrefix") String oldPrefix,
+                  @Param("oldPrefixLength") int oldPrefixLength,
+                  @Param("newPrefix") String newPrefix);
+    
+    /**
+     * Renumbers a project's rank keys evenly in their current order, unranked tasks last by
+     * creation date, as 'V' + zero-padded position + 'V'. Keys are of equal length, so their
+     * order is numeric, and leave room before the first and after the last task.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE tasks t SET rank = 'V' || LPAD(CAST(o.pos AS text), :width, '0') || 'V' " +
+                   "FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY rank ASC NULLS LAST, created_at DESC, id DESC) AS pos " +
+                   "      FROM tasks WHERE project_id = :projectId) o " +
+                   "WHERE t.id = o.id",
+           nativeQuery = true)
+    int rebalanceRanks(@Param("projectId") Long projectId, @Param("width") int width);
+    
+    // Bounded set-based delete; callers loop until fewer than limit rows are removed. Subtasks of a
+    // deleted task go with it through the ON DELETE CASCADE parent key
+    @Modifying
+    @Query(value = "DELETE FROM tasks WHERE id IN (SELECT id FROM tasks WHERE project_id = :projectId LIMIT :limit)",
+           nativeQuery = true)
+    int deleteChunkByProjectId(@Param("projectId") Long projectId, @Param("limit") int limit);
 }
@@ -0,0 +1,33 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.response.TaskSummaryResponse;
+import com.taskmanager.entity.Task;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Task list queries built from dynamic criteria. The projected variants select only the
+ * requested columns and never load Task entities.
+ */
+public interface TaskRepositoryCustom {
+    
+    List<TaskSummaryResponse> findSummaries(Long projectId, TaskFilter filter, Sort sort);
+    
+    Page<TaskSummaryResponse> findSummaries(Long projectId, TaskFilter filter, Pageable pageable);
+    
+    List<Map<String, Object>> findFields(Long projectId, TaskFilter filter, Set<TaskField> fields, Sort sort);
+    
+    Page<Map<String, Object>> findFields(Long projectId, TaskFilter filter, Set<TaskField> fields, Pageable pageable);
+    
+    /**
+     * Up to limit tasks matching the filter in (sort, id) order, starting after the cursor when
+     * one is given. Keyset pagination: the cost of a page does not grow with its depth.
+     */
+    List<Task> findPage(Long projectId, TaskFilter filter, TaskSortField sort, Sort.Direction direction,
+                        TaskCursor after, int limit);
+}
@@ -0,0 +1,216 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.response.TaskSummaryResponse;
+import com.taskmanager.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+class TaskRepositoryImpl implements TaskRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<TaskSummaryResponse> findSummaries(Long projectId, TaskFilter filter, Sort sort) {
+        return summaryQuery(projectId, filter, sort).getResultList();
+    }
+    
+    @Override
+    public Page<TaskSummaryResponse> findSummaries(Long projectId, TaskFilter filter, Pageable pageable) {
+        return page(summaryQuery(projectId, filter, pageable.getSort()), projectId, filter, pageable);
+    }
+    
+    @Override
+    public List<Map<String, Object>> findFields(Long projectId, TaskFilter filter, Set<TaskField> fields, Sort sort) {
+        return toMaps(fieldsQuery(projectId, filter, fields, sort).getResultList(), fields);
+    }
+    
+    @Override
+    public Page<Map<String, Object>> findFields(Long projectId, TaskFilter filter, Set<TaskField> fields,
+                                                Pageable pageable) {
+        return page(fieldsQuery(projectId, filter, fields, pageable.getSort()), projectId, filter, pageable)
+                .map(tuple -> toMap(tuple, fields));
+    }
+    
+    @Override
+    public List<Task> findPage(Long projectId, TaskFilter filter, TaskSortField sort, Sort.Direction direction,
+                               TaskCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Task> query = cb.createQuery(Task.class);
+        Root<Task> task = query.from(Task.class);
+        task.fetch("project");
+        
+        Path<Comparable<Object>> key = task.get(sort.getParamName());
+        Path<Long> id = task.get("id");
+        boolean ascending = direction.isAscending();
+        
+        List<Predicate> predicates = new ArrayList<>(List.of(predicates(cb, task, projectId, filter)));
+        if (after != null) {
+            predicates.add(afterCursor(cb, key, id, ascending, sort.isNullable(), after));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        
+        List<Order> orders = new ArrayList<>();
+        if (sort.isNullable()) {
+            orders.add(cb.asc(cb.selectCase().when(cb.isNull(key), 1).otherwise(0)));
+        }
+        orders.add(ascending ? cb.asc(key) : cb.desc(key));
+        orders.add(ascending ? cb.asc(id) : cb.desc(id));
+        query.orderBy(orders);
+        
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+    
+    // Rows strictly after the cursor in (nulls last, key, id) order
+    @SuppressWarnings("unchecked")
+    private Predicate afterCursor(CriteriaBuilder cb, Expression<Comparable<Object>> key, Path<Long> id,
+                                  boolean ascending, boolean nullable, TaskCursor cursor) {
+        Predicate idAfter = ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+        if (cursor.value() == null) {
+            // Already inside the trailing block of nulls
+            return cb.and(cb.isNull(key), idAfter);
+        }
+        
+        Comparable<Object> value = (Comparable<Object>) cursor.value();
+        Predicate keyAfter = ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+        Predicate after = cb.or(keyAfter, cb.and(cb.equal(key, value), idAfter));
+        return nullable ? cb.or(after, cb.isNull(key)) : after;
+    }
+    
+    private TypedQuery<TaskSummaryResponse> summaryQuery(Long projectId, TaskFilter filter, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskSummaryResponse> query = cb.createQuery(TaskSummaryResponse.class);
+        Root<Task> task = query.from(Task.class);
+        
+        query.select(cb.construct(TaskSummaryResponse.class,
+                task.get("id"), task.get("title"), task.get("completed"), task.get("priority"), task.get("dueDate")));
+        query.where(predicates(cb, task, projectId, filter));
+        query.orderBy(QueryUtils.toOrders(sort, task, cb));
+        return entityManager.createQuery(query);
+    }
+    
+    private TypedQuery<Tuple> fieldsQuery(Long projectId, TaskFilter filter, Set<TaskField> fields, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+        
+        // overdue is computed from the two columns it depends on
+        Set<TaskField> columns = new LinkedHashSet<>(fields);
+        if (columns.remove(TaskField.OVERDUE)) {
+            columns.add(TaskField.COMPLETED);
+            columns.add(TaskField.DUE_DATE);
+        }
+        
+        Join<Object, Object> project = null;
+        List<Selection<?>> selections = new ArrayList<>();
+        for (TaskField field : columns) {
+            switch (field) {
+                case PROJECT_ID -> selections.add(task.get("project").get("id").alias(field.name()));
+                case PARENT_ID -> selections.add(task.get("parent").get("id").alias(field.name()));
+                case PROJECT_TITLE -> {
+                    if (project == null) {
+                        project = task.join("project");
+                    }
+                    selections.add(project.get("title").alias(field.name()));
+                }
+                default -> selections.add(task.get(field.getParamName()).alias(field.name()));
+            }
+        }
+        
+        query.multiselect(selections);
+        query.where(predicates(cb, task, projectId, filter));
+        query.orderBy(QueryUtils.toOrders(sort, task, cb));
+        return entityManager.createQuery(query);
+    }
+    
+    private Predicate[] predicates(CriteriaBuilder cb, Root<Task> task, Long projectId, TaskFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(task.get("project").get("id"), projectId));
+        if (filter.completed() != null) {
+            predicates.add(cb.equal(task.get("completed"), filter.completed()));
+        }
+        if (filter.priorities() != null && !filter.priorities().isEmpty()) {
+            predicates.add(task.get("priority").in(filter.priorities()));
+        }
+        if (filter.dueFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(task.<LocalDate>get("dueDate"), filter.dueFrom()));
+        }
+        if (filter.dueTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(task.<LocalDate>get("dueDate"), filter.dueTo()));
+        }
+        if (filter.overdueOn() != null) {
+            predicates.add(cb.lessThan(task.<LocalDate>get("dueDate"), filter.overdueOn()));
+            predicates.add(cb.isFalse(task.<Boolean>get("completed")));
+        }
+        if (filter.text() != null && !filter.text().isBlank()) {
+            String pattern = "%" + escapeLike(filter.text().trim().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(task.get("title")), pattern, '\\'),
+                    cb.like(cb.lower(task.get("description")), pattern, '\\')));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+    
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+    
+    private <T> Page<T> page(TypedQuery<T> query, Long projectId, TaskFilter filter, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<T> content = query.getResultList();
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> count = cb.createQuery(Long.class);
+        Root<Task> task = count.from(Task.class);
+        count.select(cb.count(task)).where(predicates(cb, task, projectId, filter));
+        long total = pageable.isPaged() ? entityManager.createQuery(count).getSingleResult() : content.size();
+        
+        return new PageImpl<>(content, pageable, total);
+    }
+    
+    private List<Map<String, Object>> toMaps(List<Tuple> tuples, Set<TaskField> fields) {
+        return tuples.stream().map(tuple -> toMap(tuple, fields)).toList();
+    }
+    
+    private Map<String, Object> toMap(Tuple tuple, Set<TaskField> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (TaskField field : fields) {
+            if (field == TaskField.OVERDUE) {
+                LocalDate dueDate = tuple.get(TaskField.DUE_DATE.name(), LocalDate.class);
+                boolean completed = tuple.get(TaskField.COMPLETED.name(), Boolean.class);
+                values.put(field.getParamName(), dueDate != null && !completed && LocalDate.now().isAfter(dueDate));
+            } else {
+                values.put(field.getParamName(), tuple.get(field.name()));
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,19 @@
+package com.taskmanager.repository;
+
+/**
+ * A task's own state together with its descendant rollup counters.
+ */
+public interface TaskRollup {
+    
+    Long getTaskId();
+    
+    String getTitle();
+    
+    String getPath();
+    
+    Boolean getCompleted();
+    
+    int getDescendantCount();
+    
+    int getCompletedDescendantCount();
+}
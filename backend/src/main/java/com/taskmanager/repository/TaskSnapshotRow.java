@@ -0,0 +1,26 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.TaskPriority;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The attributes of a task that the in-memory task snapshot is built from.
+ */
+public interface TaskSnapshotRow {
+    
+    Long getId();
+    
+    String getTitle();
+    
+    Boolean getCompleted();
+    
+    TaskPriority getPriority();
+    
+    LocalDate getDueDate();
+    
+    String getRank();
+    
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,56 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.Task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Attributes task queries can be sorted and cursor-paginated by. Nullable attributes sort their
+ * nulls last in both directions.
+ */
+public enum TaskSortField {
+    CREATED_AT("createdAt", false, Task::getCreatedAt, LocalDateTime::parse),
+    UPDATED_AT("updatedAt", true, Task::getUpdatedAt, LocalDateTime::parse),
+    DUE_DATE("dueDate", true, Task::getDueDate, LocalDate::parse),
+    TITLE("title", false, Task::getTitle, value -> value),
+    RANK("rank", true, Task::getRank, value -> value);
+    
+    private final String paramName;
+    private final boolean nullable;
+    private final Function<Task, Object> getter;
+    private final Function<String, Object> parser;
+    
+    TaskSortField(String paramName, boolean nullable, Function<Task, Object> getter, Function<String, Object> parser) {
+        this.paramName = paramName;
+        this.nullable = nullable;
+        this.getter = getter;
+        this.parser = parser;
+    }
+    
+    public String getParamName() {
+        return paramName;
+    }
+    
+    public boolean isNullable() {
+        return nullable;
+    }
+    
+    Object valueOf(Task task) {
+        return getter.apply(task);
+    }
+    
+    // Inverse of String.valueOf for the attribute's type
+    Object parse(String value) {
+        return parser.apply(value);
+    }
+    
+    public static Optional<TaskSortField> fromParamName(String name) {
+        return Arrays.stream(values())
+                .filter(field -> field.paramName.equals(name))
+                .findFirst();
+    }
+}
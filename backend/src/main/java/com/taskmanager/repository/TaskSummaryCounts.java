@@ -0,0 +1,21 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.TaskPriority;
+
+/**
+ * Task counts of one priority across all of a user's projects.
+ */
+public interface TaskSummaryCounts {
+    
+    TaskPriority getPriority();
+    
+    long getTotal();
+    
+    long getCompleted();
+    
+    long getOverdue();
+    
+    long getDueToday();
+    
+    long getDueThisWeek();
+}
@@ -0,0 +1,13 @@
+package com.taskmanager.repository;
+
+/**
+ * Id and title of a project or task, used to build the autocomplete index.
+ */
+public interface TitleView {
+    
+    Long getId();
+    
+    Long getProjectId();
+    
+    String getTitle();
+}
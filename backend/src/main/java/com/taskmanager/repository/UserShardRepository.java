@@ -0,0 +1,17 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.UserShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserShardRepository extends JpaRepository<UserShard, Long> {
+    
+    // Serialises the steps of a move
+    @Query(value = "SELECT * FROM user_shards WHERE user_id = :userId FOR UPDATE", nativeQuery = true)
+    Optional<UserShard> findForUpdate(@Param("userId") Long userId);
+}
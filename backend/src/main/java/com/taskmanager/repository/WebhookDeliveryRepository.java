@@ -0,0 +1,30 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.Webhook;
+import com.taskmanager.entity.WebhookDelivery;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WebhookDeliveryRepository extends JpaRepository<WebhookDelivery, Long> {
+    
+    @Query(value = "SELECT * FROM webhook_deliveries WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<WebhookDelivery> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    @Modifying
+    @Query("DELETE FROM WebhookDelivery d WHERE d.webhook = :webhook")
+    int deleteByWebhook(@Param("webhook") Webhook webhook);
+    
+    @Modifying
+    @Query("DELETE FROM WebhookDelivery d WHERE d.status <> com.taskmanager.entity.DeliveryStatus.PENDING " +
+           "AND d.nextAttemptAt < :before")
+    int deleteFinishedBefore(@Param("before") LocalDateTime before);
+}
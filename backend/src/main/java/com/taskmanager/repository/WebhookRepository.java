@@ -0,0 +1,23 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.User;
+import com.taskmanager.entity.Webhook;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WebhookRepository extends JpaRepository<Webhook, Long> {
+    
+    List<Webhook> findByOwnerOrderByCreatedAtDesc(User owner);
+    
+    Optional<Webhook> findByIdAndOwner(Long id, User owner);
+    
+    @Query("SELECT w FROM Webhook w WHERE w.owner.id IN :ownerIds AND w.active = true")
+    List<Webhook> findActiveByOwnerIds(@Param("ownerIds") Collection<Long> ownerIds);
+}
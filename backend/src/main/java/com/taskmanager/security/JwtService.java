@@ -12,6 +12,7 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
@@ -27,6 +28,10 @@ public class JwtService {
         return extractClaim(token, Claims::getSubject);
     }
     
+    public String extractTokenId(String token) {
+        return extractClaim(token, Claims::getId);
+    }
+    
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
@@ -44,6 +49,7 @@ public class JwtService {
         return Jwts.builder()
                 .claims(extraClaims)
                 .subject(userDetails.getUsername())
+                .id(UUID.randomUUID().toString())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(getSignInKey(), Jwts.SIG.HS256)
@@ -59,7 +65,11 @@ public class JwtService {
         return extractExpiration(token).before(new Date());
     }
     
-    private Date extractExpiration(String token) {
+    public long getExpiration() {
+        return jwtExpiration;
+    }
+    
+    public Date extractExpiration(String token) {
         return extractClaim(token, Claims::getExpiration);
     }
     
@@ -0,0 +1,96 @@
+package com.taskmanager.security;
+
+import com.taskmanager.repository.RevokedTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+    
+    private final RevokedTokenRepository revokedTokenRepository;
+    
+    @Value("${jwt.revocation.expected-insertions:100000}")
+    private int expectedInsertions;
+    
+    @Value("${jwt.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+    
+    // Null until the first load; lookups go straight to the table until then
+    private volatile BloomFilter filter;
+    
+    // Local revocations not yet seen by a rebuild, so a concurrent swap cannot lose them
+    private final Set<String> pendingLocal = ConcurrentHashMap.newKeySet();
+    
+    // Loaded once the application is ready so context refresh does not wait on the database
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void init() {
+        reloadFilter();
+    }
+    
+    /**
+     * Returns true only when the token id is present in the revocation table.
+     * The database is consulted only when the in-memory filter reports a possible hit.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(jti)) {
+            return false;
+        }
+        return revokedTokenRepository.existsByJti(jti);
+    }
+    
+    @Transactional
+    public void revoke(String jti, LocalDateTime expiresAt) {
+        if (jti == null || revokedTokenRepository.insertIfAbsent(jti, expiresAt) == 0) {
+            return;
+        }
+        pendingLocal.add(jti);
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(jti);
+        }
+        log.info("Access token revoked: {}", jti);
+    }
+    
+    // Picks up revocations made by other instances and drops expired entries from the filter
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:60000}",
+            initialDelayString = "${jwt.revocation.rebuild-interval:60000}")
+    @Transactional
+    public void rebuild() {
+        revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        reloadFilter();
+    }
+    
+    private void reloadFilter() {
+        List<String> active = revokedTokenRepository.findActiveJtis(LocalDateTime.now());
+        
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, active.size() * 2), falsePositiveRate);
+        active.forEach(rebuilt::add);
+        this.filter = rebuilt;
+        // Re-apply after the swap so revocations racing with the rebuild are never dropped
+        pendingLocal.forEach(rebuilt::add);
+        
+        // Anything the table already returned no longer needs to be carried over
+        Set<String> persisted = new HashSet<>(active);
+        pendingLocal.removeIf(persisted::contains);
+        log.debug("Revocation filter rebuilt with {} entries", active.size());
+    }
+}
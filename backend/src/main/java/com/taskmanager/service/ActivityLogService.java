@@ -0,0 +1,342 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.ActivityResponse;
+import com.taskmanager.dto.response.CursorPageResponse;
+import com.taskmanager.dto.response.ProjectResponse;
+import com.taskmanager.dto.response.TaskResponse;
+import com.taskmanager.entity.ActivityAction;
+import com.taskmanager.entity.User;
+import com.taskmanager.exception.BadRequestException;
+import com.taskmanager.repository.ActivityCursor;
+import com.taskmanager.repository.ActivityEntry;
+import com.taskmanager.repository.ActivityLogRepository;
+import com.taskmanager.sharding.ShardContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Field-level history of tasks and projects. TaskService and ProjectService report changes,
+ * which are held in memory once their transaction commits and appended in batches by a
+ * background writer, so recording adds no insert to the request. The writer runs as soon as a
+ * batch is full and every {@code activity.flush-interval} otherwise, which bounds what a crash
+ * can lose; when the buffer is full, entries are dropped rather than slowing writes down.
+ *
+ * The log is partitioned by month on every shard; partitions are created ahead of time and
+ * dropped once older than {@code activity.retention-months}.
+ */
+@Service
+@Slf4j
+public class ActivityLogService {
+    
+    private static final int MAX_PAGE_SIZE = 200;
+    // Consecutive failed writes after which a batch is given up
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+    
+    record FieldChange(String field, String oldValue, String newValue) {
+    }
+    
+    private record Pending(int shard, ActivityEntry entry) {
+    }
+    
+    private final ActivityLogRepository activityLogRepository;
+    private final ShardDirectory shardDirectory;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int retentionMonths;
+    private final int partitionsAhead;
+    
+    private final BlockingQueue<Pending> buffer;
+    private final ExecutorService writer;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    // Guards the two fields below; only one flush writes at a time
+    private final Object flushLock = new Object();
+    private List<Pending> unwritten = List.of();
+    private int failedAttempts;
+    
+    private final Counter written;
+    private final Counter dropped;
+    
+    public ActivityLogService(
+            ActivityLogRepository activityLogRepository,
+            ShardDirectory shardDirectory,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${activity.buffer-capacity:50000}") int bufferCapacity,
+            @Value("${activity.batch-size:500}") int batchSize,
+            @Value("${activity.retention-months:12}") int retentionMonths,
+            @Value("${activity.partitions-ahead:2}") int partitionsAhead) {
+        this.activityLogRepository = activityLogRepository;
+        this.shardDirectory = shardDirectory;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retentionMonths = retentionMonths;
+        this.partitionsAhead = partitionsAhead;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "activity-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        this.written = meterRegistry.counter("activity.entries", "outcome", "written");
+        this.dropped = meterRegistry.counter("activity.entries", "outcome", "dropped");
+        Gauge.builder("activity.buffered", buffer, BlockingQueue::size).register(meterRegistry);
+    }
+    
+    public void taskCreated(User actor, TaskResponse task) {
+        append(List.of(entry(actor, task.getProjectId(), task.getId(), ActivityAction.CREATED, null, null, task.getTitle())));
+    }
+    
+    // before is the task as loaded, taken before any change was made to the entity
+    public void taskUpdated(User actor, TaskResponse before, TaskResponse after) {
+        append(diff(before, after).stream()
+                .map(change -> entry(actor, after.getProjectId(), after.getId(), ActivityAction.UPDATED,
+                        change.field(), change.oldValue(), change.newValue()))
+                .collect(Collectors.toList()));
+    }
+    
+    // Toggles are the hottest write, so they skip the before snapshot and its diff
+    public void taskCompletionChanged(User actor, TaskResponse task, boolean completedBefore) {
+        if (task.isCompleted() != completedBefore) {
+            append(List.of(entry(actor, task.getProjectId(), task.getId(), ActivityAction.UPDATED, "completed",
+                    String.valueOf(completedBefore), String.valueOf(task.isCompleted()))));
+        }
+    }
+    
+    public void taskDeleted(User actor, TaskResponse task) {
+        append(List.of(entry(actor, task.getProjectId(), task.getId(), ActivityAction.DELETED, null, task.getTitle(), null)));
+    }
+    
+    public void projectCreated(User actor, ProjectResponse project) {
+        append(List.of(entry(actor, project.getId(), null, ActivityAction.CREATED, null, null, project.getTitle())));
+    }
+    
+    public void projectUpdated(User actor, ProjectResponse before, ProjectResponse after) {
+        List<FieldChange> changes = new ArrayList<>();
+        compare(changes, "title", before.getTitle(), after.getTitle());
+        compare(changes, "description", before.getDescription(), after.getDescription());
+        append(changes.stream()
+                .map(change -> entry(actor, after.getId(), null, ActivityAction.UPDATED,
+                        change.field(), change.oldValue(), change.newValue()))
+                .collect(Collectors.toList()));
+    }
+    
+    public void projectDeleted(User actor, Long projectId, String title) {
+        append(List.of(entry(actor, projectId, null, ActivityAction.DELETED, null, title, null)));
+    }
+    
+    /**
+     * One page of the log of a project, or of one of its tasks when taskId is set, newest
+     * first. Callers check access to the project. Entries still in the buffer are not listed.
+     */
+    public CursorPageResponse<ActivityResponse> getActivity(Long projectId, Long taskId, String cursor, int limit) {
+        ActivityCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = ActivityCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+        
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // One extra row tells whether another page exists
+        List<ActivityEntry> entries = activityLogRepository.findPage(projectId, taskId, after, boundedLimit + 1);
+        boolean hasMore = entries.size() > boundedLimit;
+        if (hasMore) {
+            entries = entries.subList(0, boundedLimit);
+        }
+        
+        return CursorPageResponse.<ActivityResponse>builder()
+                .items(entries.stream().map(ActivityResponse::fromEntry).collect(Collectors.toList()))
+                .nextCursor(hasMore ? ActivityCursor.after(entries.get(entries.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    // Stays well below sharding.migration.drain, so a moved user's entries are written before the copy
+    @Scheduled(fixedDelayString = "${activity.flush-interval:1000}")
+    public void flushPeriodically() {
+        requestFlush();
+    }
+    
+    /**
+     * Creates the table where missing and keeps the partitions from retention-months back to
+     * partitions-ahead months ahead, on every shard. Copying a moved user's entries relies on
+     * all shards having the same partitions.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${activity.partition-cron:0 10 0 * * *}")
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now();
+        YearMonth oldest = current.minusMonths(retentionMonths);
+        shardDirectory.forEachShard("Activity log partition maintenance", shard -> {
+            activityLogRepository.createTable();
+            for (YearMonth month = oldest; !month.isAfter(current.plusMonths(partitionsAhead)); month = month.plusMonths(1)) {
+                activityLogRepository.createPartition(month);
+            }
+            List<YearMonth> expired = activityLogRepository.findPartitions().stream()
+                    .filter(month -> month.isBefore(oldest))
+                    .collect(Collectors.toList());
+            expired.forEach(activityLogRepository::dropPartition);
+            if (!expired.isEmpty()) {
+                log.info("Dropped activity log partitions {} on shard {}", expired, shard);
+            }
+        });
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Whatever is left is written by the closing thread
+        flush();
+    }
+    
+    /**
+     * Changed fields between two snapshots of a task, in a fixed order.
+     */
+    static List<FieldChange> diff(TaskResponse before, TaskResponse after) {
+        List<FieldChange> changes = new ArrayList<>();
+        compare(changes, "title", before.getTitle(), after.getTitle());
+        compare(changes, "description", before.getDescription(), after.getDescription());
+        compare(changes, "dueDate", before.getDueDate(), after.getDueDate());
+        compare(changes, "priority", before.getPriority(), after.getPriority());
+        compare(changes, "labels", joined(before.getLabels()), joined(after.getLabels()));
+        compare(changes, "recurrence", before.getRecurrence(), after.getRecurrence());
+        compare(changes, "completed", before.isCompleted(), after.isCompleted());
+        compare(changes, "rank", before.getRank(), after.getRank());
+        compare(changes, "parentId", before.getParentId(), after.getParentId());
+        return changes;
+    }
+    
+    void flush() {
+        flushRequested.set(false);
+        synchronized (flushLock) {
+            List<Pending> batch = new ArrayList<>(unwritten);
+            while (true) {
+                buffer.drainTo(batch, Math.max(0, batchSize - batch.size()));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                List<Pending> failed = write(batch);
+                if (!failed.isEmpty()) {
+                    if (++failedAttempts < MAX_WRITE_ATTEMPTS) {
+                        unwritten = failed;
+                        return;
+                    }
+                    log.error("Dropping {} activity entries after {} failed writes", failed.size(), failedAttempts);
+                    dropped.increment(failed.size());
+                }
+                failedAttempts = 0;
+                batch = new ArrayList<>();
+            }
+            unwritten = List.of();
+        }
+    }
+    
+    private List<Pending> write(List<Pending> batch) {
+        Map<Integer, List<ActivityEntry>> byShard = batch.stream().collect(Collectors.groupingBy(
+                Pending::shard, LinkedHashMap::new, Collectors.mapping(Pending::entry, Collectors.toList())));
+        List<Pending> failed = new ArrayList<>();
+        byShard.forEach((shard, entries) -> {
+            try {
+                ShardContext.run(shard, () -> transactionTemplate.executeWithoutResult(
+                        status -> activityLogRepository.insertBatch(entries)));
+                written.increment(entries.size());
+            } catch (RuntimeException e) {
+                log.warn("Writing {} activity entries to shard {} failed", entries.size(), shard, e);
+                entries.forEach(entry -> failed.add(new Pending(shard, entry)));
+            }
+        });
+        return failed;
+    }
+    
+    private void append(List<ActivityEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        int shard = ShardContext.current();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Rolled back changes never happened
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(shard, entries);
+                }
+            });
+        } else {
+            enqueue(shard, entries);
+        }
+    }
+    
+    private void enqueue(int shard, List<ActivityEntry> entries) {
+        for (ActivityEntry entry : entries) {
+            if (!buffer.offer(new Pending(shard, entry))) {
+                dropped.increment();
+            }
+        }
+        if (buffer.size() >= batchSize) {
+            requestFlush();
+        }
+    }
+    
+    // At most one flush is queued at a time; it takes everything buffered by then
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the final flush picks the entries up
+                flushRequested.set(false);
+            }
+        }
+    }
+    
+    private static ActivityEntry entry(User actor, Long projectId, Long taskId, ActivityAction action,
+                                       String field, String oldValue, String newValue) {
+        return new ActivityEntry(null, LocalDateTime.now(), actor.getId(), projectId, taskId, action, field, oldValue, newValue);
+    }
+    
+    private static void compare(List<FieldChange> changes, String field, Object before, Object after) {
+        if (!Objects.equals(before, after)) {
+            changes.add(new FieldChange(field, before != null ? before.toString() : null, after != null ? after.toString() : null));
+        }
+    }
+    
+    private static String joined(List<String> labels) {
+        return labels == null || labels.isEmpty() ? null : String.join(",", labels);
+    }
+}
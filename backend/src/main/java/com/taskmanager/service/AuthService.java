@@ -6,8 +6,12 @@ import com.taskmanager.dto.response.AuthResponse;
 import com.taskmanager.entity.Role;
 import com.taskmanager.entity.User;
 import com.taskmanager.exception.BadRequestException;
+import com.taskmanager.exception.UnauthorizedException;
 import com.taskmanager.repository.UserRepository;
 import com.taskmanager.security.JwtService;
+import com.taskmanager.security.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,6 +20,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.function.Function;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -24,7 +32,10 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
     private final AuthenticationManager authenticationManager;
+    private final ShardDirectory shardDirectory;
     
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -45,20 +56,13 @@ public class AuthService {
                 .build();
         
         User savedUser = userRepository.save(user);
-        log.info("User registered successfully: {}", savedUser.getEmail());
-        
-        // Generate JWT token
-        String token = jwtService.generateToken(savedUser);
+        int shard = shardDirectory.assign(savedUser);
+        log.info("User registered successfully: {} (shard {})", savedUser.getEmail(), shard);
         
-        return AuthResponse.of(
-                token,
-                savedUser.getId(),
-                savedUser.getEmail(),
-                savedUser.getFirstName(),
-                savedUser.getLastName()
-        );
+        return buildAuthResponse(savedUser);
     }
     
+    @Transactional
     public AuthResponse login(LoginRequest request) {
         log.info("Login attempt for user: {}", request.getEmail());
         
@@ -74,12 +78,50 @@ public class AuthService {
         User user = userRepository.findByEmail(request.getEmail().toLowerCase())
                 .orElseThrow(() -> new BadRequestException("User not found"));
         
-        // Generate JWT token
-        String token = jwtService.generateToken(user);
         log.info("User logged in successfully: {}", user.getEmail());
         
+        return buildAuthResponse(user);
+    }
+    
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public AuthResponse refresh(String refreshToken) {
+        // Rotation: the presented token is consumed and a new pair is issued
+        User user = refreshTokenService.rotate(refreshToken);
+        log.debug("Refreshing tokens for user: {}", user.getEmail());
+        
+        return buildAuthResponse(user);
+    }
+    
+    @Transactional
+    public void logout(String accessToken, String refreshToken) {
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        if (accessToken == null) {
+            return;
+        }
+        Claims claims;
+        try {
+            claims = jwtService.extractClaim(accessToken, Function.identity());
+        } catch (JwtException | IllegalArgumentException e) {
+            // Expired or malformed tokens are already unusable
+            log.debug("Skipping access token revocation: {}", e.getMessage());
+            return;
+        }
+        // Outside the catch: a failed write must fail the logout rather than roll it back silently
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        tokenRevocationService.revoke(claims.getId(), expiresAt);
+    }
+    
+    private AuthResponse buildAuthResponse(User user) {
+        // Generate short-lived access token plus a rotating refresh token
+        String token = jwtService.generateToken(user);
+        String refreshToken = refreshTokenService.issue(user);
+        
         return AuthResponse.of(
                 token,
+                refreshToken,
+                jwtService.getExpiration() / 1000,
                 user.getId(),
                 user.getEmail(),
                 user.getFirstName(),
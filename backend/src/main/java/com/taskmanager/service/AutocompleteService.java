@@ -0,0 +1,112 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.AutocompleteSuggestion;
+import com.taskmanager.dto.response.AutocompleteSuggestion.Type;
+import com.taskmanager.dto.response.ProjectResponse;
+import com.taskmanager.dto.response.TaskResponse;
+import com.taskmanager.event.ProjectEvent;
+import com.taskmanager.event.ProjectEventType;
+import com.taskmanager.event.TaskEvent;
+import com.taskmanager.event.TaskEventType;
+import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TitleView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Title autocomplete served from per-user in-memory indexes. An index is loaded on first
+ * use, kept current from committed project and task events, and dropped when idle.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AutocompleteService {
+    
+    private static final int MAX_LIMIT = 50;
+    
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    
+    private final VersionedCache<Long, TitleIndex> indexes = new VersionedCache<>("autocomplete index of user ID");
+    
+    @Value("${autocomplete.idle-timeout:900000}")
+    private long idleTimeout;
+    
+    @Transactional(readOnly = true)
+    public List<AutocompleteSuggestion> suggest(Long userId, String query, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        if (TitleIndex.normalize(query).isEmpty()) {
+            return List.of();
+        }
+        
+        return indexes.getOrLoad(userId, this::load).search(query, boundedLimit);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskEvent(TaskEvent event) {
+        if (event.getType() == TaskEventType.TOGGLED) {
+            return;
+        }
+        TitleIndex index = indexes.changed(event.getOwnerId());
+        if (index == null) {
+            return;
+        }
+        if (event.getType() == TaskEventType.DELETED) {
+            index.remove(Type.TASK, event.getTaskId());
+        } else {
+            TaskResponse task = event.getTask();
+            index.put(suggestion(Type.TASK, task.getId(), task.getProjectId(), task.getTitle()));
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProjectEvent(ProjectEvent event) {
+        TitleIndex index = indexes.changed(event.getOwnerId());
+        if (index == null) {
+            return;
+        }
+        if (event.getType() == ProjectEventType.DELETED) {
+            index.removeProject(event.getProjectId());
+        } else {
+            ProjectResponse project = event.getProject();
+            index.put(suggestion(Type.PROJECT, project.getId(), project.getId(), project.getTitle()));
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${autocomplete.eviction-interval:60000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeout;
+        indexes.removeIf(index -> index.isIdleSince(cutoff));
+    }
+    
+    private TitleIndex load(Long userId) {
+        TitleIndex index = new TitleIndex();
+        
+        for (TitleView project : projectRepository.findTitlesByOwnerId(userId)) {
+            index.put(suggestion(Type.PROJECT, project.getId(), project.getProjectId(), project.getTitle()));
+        }
+        for (TitleView task : taskRepository.findTitlesByUserId(userId)) {
+            index.put(suggestion(Type.TASK, task.getId(), task.getProjectId(), task.getTitle()));
+        }
+        log.debug("Loaded autocomplete index with {} entries for user ID: {}", index.size(), userId);
+        return index;
+    }
+    
+    private static AutocompleteSuggestion suggestion(Type type, Long id, Long projectId, String title) {
+        return AutocompleteSuggestion.builder()
+                .type(type)
+                .id(id)
+                .projectId(projectId)
+                .title(title)
+                .build();
+    }
+}
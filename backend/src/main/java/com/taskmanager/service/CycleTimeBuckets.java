@@ -0,0 +1,57 @@
+package com.taskmanager.service;
+
+/**
+ * Fixed cycle-time histogram layout shared by the rollup table and percentile estimation.
+ */
+public final class CycleTimeBuckets {
+    
+    // Upper bounds in hours; the last bucket is open-ended
+    static final double[] UPPER_BOUNDS_HOURS = {1, 4, 24, 72, 168, 336, 720};
+    
+    public static final int COUNT = UPPER_BOUNDS_HOURS.length + 1;
+    
+    private CycleTimeBuckets() {
+    }
+    
+    public static int bucketFor(double hours) {
+        for (int i = 0; i < UPPER_BOUNDS_HOURS.length; i++) {
+            if (hours < UPPER_BOUNDS_HOURS[i]) {
+                return i;
+            }
+        }
+        return UPPER_BOUNDS_HOURS.length;
+    }
+    
+    /**
+     * Estimates a percentile (0-100) by linear interpolation inside the matching bucket.
+     * Values in the open-ended bucket are reported at its lower bound.
+     */
+    public static Double percentile(long[] histogram, double percentile) {
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        if (total == 0) {
+            return null;
+        }
+        
+        double rank = percentile / 100.0 * total;
+        long cumulative = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            if (histogram[i] == 0) {
+                continue;
+            }
+            if (cumulative + histogram[i] >= rank) {
+                double lower = i == 0 ? 0 : UPPER_BOUNDS_HOURS[i - 1];
+                if (i == UPPER_BOUNDS_HOURS.length) {
+                    return lower;
+                }
+                double upper = UPPER_BOUNDS_HOURS[i];
+                double fraction = (rank - cumulative) / histogram[i];
+                return Math.round((lower + fraction * (upper - lower)) * 100.0) / 100.0;
+            }
+            cumulative += histogram[i];
+        }
+        return UPPER_BOUNDS_HOURS[UPPER_BOUNDS_HOURS.length - 1];
+    }
+}
@@ -0,0 +1,53 @@
+package com.taskmanager.service;
+
+/**
+ * Minimal per-endpoint circuit breaker: opens after a run of consecutive failures,
+ * lets a single trial call through once the cool-down has elapsed.
+ */
+class EndpointCircuitBreaker {
+    
+    private final int failureThreshold;
+    private final long openMillis;
+    
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean trialInFlight;
+    
+    EndpointCircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+    
+    synchronized boolean tryAcquire(long now) {
+        if (consecutiveFailures < failureThreshold) {
+            return true;
+        }
+        if (now < openUntil || trialInFlight) {
+            return false;
+        }
+        // Half-open: one trial decides whether the circuit closes again
+        trialInFlight = true;
+        return true;
+    }
+    
+    synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+    
+    synchronized void recordFailure(long now) {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (consecutiveFailures >= failureThreshold) {
+            openUntil = now + openMillis;
+        }
+    }
+    
+    synchronized long getOpenUntil() {
+        return openUntil;
+    }
+    
+    synchronized boolean isOpen(long now) {
+        return consecutiveFailures >= failureThreshold && now < openUntil;
+    }
+}
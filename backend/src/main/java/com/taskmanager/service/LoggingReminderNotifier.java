@@ -0,0 +1,22 @@
+package com.taskmanager.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes reminders to the log instead of sending them; the default until a real channel is
+ * configured with reminders.notifier.
+ */
+@Component
+@ConditionalOnProperty(name = "reminders.notifier", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LoggingReminderNotifier implements ReminderNotifier {
+    
+    @Override
+    public void send(ReminderNotification notification) {
+        log.info("Reminder for {}: task '{}' (ID: {}) in project '{}' is due {} ({} ahead)",
+                notification.recipientEmail(), notification.taskTitle(), notification.taskId(),
+                notification.projectTitle(), notification.dueDate(), notification.leadTime());
+    }
+}
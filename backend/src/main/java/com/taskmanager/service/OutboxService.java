@@ -0,0 +1,76 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.event.ProjectEvent;
+import com.taskmanager.event.TaskEvent;
+import com.taskmanager.entity.OutboxEvent;
+import com.taskmanager.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes domain events to the outbox inside the transaction that produced them,
+ * so an event exists if and only if the change was committed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTaskEvent(TaskEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("taskId", event.getTaskId());
+        payload.put("projectId", event.getProjectId());
+        if (event.getTask() != null) {
+            payload.put("task", event.getTask());
+        }
+        append("task." + event.getType().name().toLowerCase(), event.getTaskId(), event.getOwnerId(),
+                event.getOccurredAt(), payload);
+    }
+    
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onProjectEvent(ProjectEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("projectId", event.getProjectId());
+        if (event.getProject() != null) {
+            payload.put("project", event.getProject());
+        }
+        append("project." + event.getType().name().toLowerCase(), event.getProjectId(), event.getOwnerId(),
+                event.getOccurredAt(), payload);
+    }
+    
+    private void append(String eventType, Long aggregateId, Long ownerId, LocalDateTime occurredAt,
+                        Map<String, Object> data) {
+        Map<String, Object> envelope = new LinkedHashMap<>();
+        envelope.put("type", eventType);
+        envelope.put("occurredAt", occurredAt);
+        envelope.put("data", data);
+        
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .eventType(eventType)
+                    .aggregateId(aggregateId)
+                    .ownerId(ownerId)
+                    .payload(objectMapper.writeValueAsString(envelope))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox event " + eventType, e);
+        }
+        log.debug("Outbox event recorded: {} for aggregate ID: {}", eventType, aggregateId);
+    }
+}
@@ -0,0 +1,203 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.ProjectAnalyticsResponse;
+import com.taskmanager.dto.response.TaskResponse;
+import com.taskmanager.entity.Project;
+import com.taskmanager.entity.ProjectDailyStats;
+import com.taskmanager.entity.TaskPriority;
+import com.taskmanager.entity.User;
+import com.taskmanager.event.ProjectEvent;
+import com.taskmanager.event.ProjectEventType;
+import com.taskmanager.event.TaskEvent;
+import com.taskmanager.exception.BadRequestException;
+import com.taskmanager.repository.ProjectDailyStatsRepository;
+import com.taskmanager.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectAnalyticsService {
+    
+    private static final int MAX_RANGE_DAYS = 731;
+    private static final int DEFAULT_RANGE_DAYS = 30;
+    private static final String NO_PRIORITY = "NONE";
+    
+    private final ProjectDailyStatsRepository statsRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectService projectService;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardDirectory shardDirectory;
+    
+    @Transactional(readOnly = true)
+    public ProjectAnalyticsResponse getAnalytics(Long projectId, LocalDate from, LocalDate to, User owner) {
+        projectService.getProjectEntity(projectId, owner);
+        
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        
+        // One row per active day in range, plus one aggregate for the burndown starting point
+        List<ProjectDailyStats> rows = statsRepository.findByProjectIdAndDayBetweenOrderByDayAsc(projectId, start, end);
+        long remaining = statsRepository.sumOpenDeltaBefore(projectId, start);
+        Map<LocalDate, ProjectDailyStats> byDay = rows.stream()
+                .collect(Collectors.toMap(ProjectDailyStats::getDay, Function.identity()));
+        
+        List<ProjectAnalyticsResponse.DailyPoint> daily = new ArrayList<>();
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            ProjectDailyStats stats = byDay.get(day);
+            if (stats != null) {
+                remaining += stats.getOpenDelta();
+            }
+            daily.add(ProjectAnalyticsResponse.DailyPoint.builder()
+                    .date(day)
+                    .created(stats != null ? stats.getCreatedCount() : 0)
+                    .completed(stats != null ? stats.getCompletedCount() : 0)
+                    .reopened(stats != null ? stats.getReopenedCount() : 0)
+                    .remaining(remaining)
+                    .build());
+        }
+        
+        long[] histogram = new long[CycleTimeBuckets.COUNT];
+        Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority.put(priority, 0L);
+        }
+        long completedTotal = 0;
+        for (ProjectDailyStats stats : rows) {
+            int[] buckets = stats.getCycleHistogram();
+            for (int i = 0; i < buckets.length; i++) {
+                histogram[i] += buckets[i];
+            }
+            byPriority.merge(TaskPriority.LOW, (long) stats.getCompletedLow(), Long::sum);
+            byPriority.merge(TaskPriority.MEDIUM, (long) stats.getCompletedMedium(), Long::sum);
+            byPriority.merge(TaskPriority.HIGH, (long) stats.getCompletedHigh(), Long::sum);
+            byPriority.merge(TaskPriority.URGENT, (long) stats.getCompletedUrgent(), Long::sum);
+            completedTotal += stats.getCompletedCount();
+        }
+        long samples = 0;
+        for (long count : histogram) {
+            samples += count;
+        }
+        
+        double weeks = (ChronoUnit.DAYS.between(start, end) + 1) / 7.0;
+        
+        return ProjectAnalyticsResponse.builder()
+                .projectId(projectId)
+                .from(start)
+                .to(end)
+                .daily(daily)
+                .cycleTime(ProjectAnalyticsResponse.CycleTime.builder()
+                        .samples(samples)
+                        .p50Hours(CycleTimeBuckets.percentile(histogram, 50))
+                        .p75Hours(CycleTimeBuckets.percentile(histogram, 75))
+                        .p90Hours(CycleTimeBuckets.percentile(histogram, 90))
+                        .build())
+                .completedByPriority(byPriority)
+                .averageCompletedPerWeek(Math.round(completedTotal / weeks * 100.0) / 100.0)
+                .build();
+    }
+    
+    // Rollups are updated in the writing transaction so they commit or roll back with the task
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTaskEvent(TaskEvent event) {
+        TaskResponse task = event.getTask();
+        switch (event.getType()) {
+            case CREATED -> increment(event.getProjectId(), task.getCreatedAt().toLocalDate(), 1, 0, 0, 0,
+                    NO_PRIORITY, -1);
+            case TOGGLED -> {
+                if (task.isCompleted() && !event.isCompletedBefore()) {
+                    LocalDateTime completedAt = task.getCompletedAt();
+                    double hours = Duration.between(task.getCreatedAt(), completedAt).toMinutes() / 60.0;
+                    increment(event.getProjectId(), completedAt.toLocalDate(), 0, 1, 0, 0,
+                            task.getPriority().name(), CycleTimeBuckets.bucketFor(hours));
+                } else if (!task.isCompleted() && event.isCompletedBefore()) {
+                    increment(event.getProjectId(), LocalDate.now(), 0, 0, 1, 0, NO_PRIORITY, -1);
+                }
+            }
+            case DELETED -> {
+                if (!task.isCompleted()) {
+                    increment(event.getProjectId(), LocalDate.now(), 0, 0, 0, 1, NO_PRIORITY, -1);
+                }
+            }
+            default -> {
+                // Field edits do not affect the rollups
+            }
+        }
+    }
+    
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onProjectEvent(ProjectEvent event) {
+        if (event.getType() == ProjectEventType.DELETED) {
+            statsRepository.deleteByProjectId(event.getProjectId());
+        }
+    }
+    
+    /**
+     * Rebuilds the rollups of one project from the current contents of the tasks table.
+     * History of deleted and reopened tasks cannot be recovered and starts from zero.
+     */
+    @Transactional
+    public void backfillProject(Long projectId, User owner) {
+        projectService.getProjectEntity(projectId, owner);
+        rebuild(projectId);
+    }
+    
+    // Rebuilds every project of every shard page by page, one transaction per project
+    public int backfillAll() {
+        AtomicInteger rebuilt = new AtomicInteger();
+        shardDirectory.forEachShard("Analytics backfill", shard -> {
+            int pageNumber = 0;
+            Page<Project> page;
+            do {
+                page = projectRepository.findAll(PageRequest.of(pageNumber++, 100, Sort.by("id")));
+                for (Project project : page) {
+                    transactionTemplate.executeWithoutResult(status -> rebuild(project.getId()));
+                    rebuilt.incrementAndGet();
+                }
+            } while (page.hasNext());
+        });
+        log.info("Analytics backfill finished for {} projects", rebuilt.get());
+        return rebuilt.get();
+    }
+    
+    private void rebuild(Long projectId) {
+        statsRepository.deleteByProjectId(projectId);
+        statsRepository.backfillCreated(projectId);
+        statsRepository.backfillCompleted(projectId);
+        log.debug("Analytics rollups rebuilt for project ID: {}", projectId);
+    }
+    
+    private void increment(Long projectId, LocalDate day, int created, int completed, int reopened,
+                           int deletedOpen, String priority, int bucket) {
+        statsRepository.increment(projectId, day, created, completed, reopened, deletedOpen, priority, bucket);
+    }
+}
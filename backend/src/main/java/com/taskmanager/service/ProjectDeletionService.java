@@ -0,0 +1,159 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.DeletionStatus;
+import com.taskmanager.entity.ProjectDeletionJob;
+import com.taskmanager.event.ProjectEvent;
+import com.taskmanager.repository.ProjectDeletionJobRepository;
+import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background worker for projects too large to delete inside the request. Tasks are removed
+ * in small chunks, each in its own short transaction with a pause in between, so the job
+ * never holds long locks or starves interactive traffic. Jobs run on a worker thread of their
+ * own, so a long deletion does not hold up the other scheduled jobs.
+ */
+@Service
+@Slf4j
+public class ProjectDeletionService {
+    
+    private static final long STALE_JOB_MINUTES = 5;
+    
+    private final ProjectDeletionJobRepository deletionJobRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardDirectory shardDirectory;
+    private final int chunkSize;
+    private final long chunkPause;
+    
+    private final ExecutorService worker;
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    public ProjectDeletionService(
+            ProjectDeletionJobRepository deletionJobRepository,
+            ProjectRepository projectRepository,
+            TaskRepository taskRepository,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            ShardDirectory shardDirectory,
+            @Value("${projects.deletion.chunk-size:1000}") int chunkSize,
+            @Value("${projects.deletion.chunk-pause:50}") long chunkPause) {
+        this.deletionJobRepository = deletionJobRepository;
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.shardDirectory = shardDirectory;
+        this.chunkSize = chunkSize;
+        this.chunkPause = chunkPause;
+        
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "project-deletion");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    // Only hands the work over; polls while the worker is busy are skipped
+    @Scheduled(fixedDelayString = "${projects.deletion.poll-interval:2000}")
+    public void processPendingDeletions() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            worker.execute(() -> {
+                try {
+                    processAll();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Rejected during shutdown
+            running.set(false);
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        // Interrupts the pause; the running job is resumed once it is considered stale
+        worker.shutdownNow();
+    }
+    
+    void processAll() {
+        shardDirectory.forEachShard("Project deletion", shard -> {
+            ProjectDeletionJob job;
+            while (!Thread.currentThread().isInterrupted() && (job = claimNextJob()) != null) {
+                run(job);
+            }
+        });
+    }
+    
+    private ProjectDeletionJob claimNextJob() {
+        return transactionTemplate.execute(status -> deletionJobRepository
+                .claimNext(LocalDateTime.now().minusMinutes(STALE_JOB_MINUTES))
+                .map(job -> {
+                    job.setStatus(DeletionStatus.RUNNING);
+                    return deletionJobRepository.save(job);
+                })
+                .orElse(null));
+    }
+    
+    private void run(ProjectDeletionJob claimed) {
+        Long jobId = claimed.getId();
+        Long projectId = claimed.getProjectId();
+        log.info("Starting asynchronous deletion of project ID: {}", projectId);
+        
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                int removed = taskRepository.deleteChunkByProjectId(projectId, chunkSize);
+                deletionJobRepository.findById(jobId).ifPresent(job -> {
+                    // Saving also refreshes updated_at, which marks the job as alive
+                    job.setDeletedTasks(job.getDeletedTasks() + removed);
+                    deletionJobRepository.save(job);
+                });
+                return removed;
+            });
+            if (deleted == chunkSize && !pause()) {
+                return;
+            }
+        } while (deleted == chunkSize);
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            projectRepository.deleteProjectById(projectId);
+            eventPublisher.publishEvent(ProjectEvent.deleted(projectId, claimed.getOwnerId()));
+            deletionJobRepository.findById(jobId).ifPresent(job -> {
+                job.setStatus(DeletionStatus.COMPLETED);
+                job.setFinishedAt(LocalDateTime.now());
+                deletionJobRepository.save(job);
+            });
+        });
+        log.info("Project deleted successfully: {}", projectId);
+    }
+    
+    private boolean pause() {
+        try {
+            Thread.sleep(chunkPause);
+            return true;
+        } catch (InterruptedException e) {
+            // Job stays RUNNING and is resumed once it is considered stale
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
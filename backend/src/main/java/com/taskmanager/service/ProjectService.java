@@ -1,20 +1,39 @@
 package com.taskmanager.service;
 
 import com.taskmanager.dto.request.ProjectRequest;
+import com.taskmanager.dto.response.ActivityResponse;
+import com.taskmanager.dto.response.CursorPageResponse;
+import com.taskmanager.dto.response.ProjectDeletionResponse;
+import com.taskmanager.dto.response.ProjectProgressBatchResponse;
 import com.taskmanager.dto.response.ProjectProgressResponse;
 import com.taskmanager.dto.response.ProjectResponse;
+import com.taskmanager.dto.response.TaskProgressResponse;
 import com.taskmanager.entity.Project;
+import com.taskmanager.entity.ProjectDeletionJob;
 import com.taskmanager.entity.User;
+import com.taskmanager.event.ProjectEvent;
+import com.taskmanager.event.ProjectEventType;
+import com.taskmanager.exception.BadRequestException;
 import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.repository.ProjectDeletionJobRepository;
 import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.TaskRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +42,21 @@ import java.util.stream.Collectors;
 public class ProjectService {
     
     private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectDeletionJobRepository deletionJobRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RequestCoalescer requestCoalescer;
+    private final ActivityLogService activityLogService;
+    private final TaskSnapshotService taskSnapshotService;
+    
+    @Value("${projects.deletion.async-threshold:5000}")
+    private long asyncDeletionThreshold;
+    
+    @Value("${projects.deletion.chunk-size:1000}")
+    private int deletionChunkSize;
+    
+    @Value("${projects.progress.max-batch-size:100}")
+    private int maxProgressBatchSize;
     
     @Transactional
     public ProjectResponse createProject(ProjectRequest request, User owner) {
@@ -37,7 +71,10 @@ public class ProjectService {
         Project savedProject = projectRepository.save(project);
         log.info("Project created successfully with ID: {}", savedProject.getId());
         
-        return ProjectResponse.fromEntity(savedProject);
+        ProjectResponse response = ProjectResponse.fromEntity(savedProject);
+        eventPublisher.publishEvent(ProjectEvent.of(ProjectEventType.CREATED, response, owner.getId()));
+        activityLogService.projectCreated(owner, response);
+        return response;
     }
     
     @Transactional(readOnly = true)
@@ -72,6 +109,11 @@ public class ProjectService {
         
         Project project = projectRepository.findByIdAndOwner(id, owner)
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", id));
+        // Only the fields that can change; fromEntity would load every task
+        ProjectResponse before = ProjectResponse.builder()
+                .title(project.getTitle())
+                .description(project.getDescription())
+                .build();
         
         project.setTitle(request.getTitle());
         project.setDescription(request.getDescription());
@@ -79,28 +121,129 @@ public class ProjectService {
         Project updatedProject = projectRepository.save(project);
         log.info("Project updated successfully: {}", updatedProject.getId());
         
-        return ProjectResponse.fromEntity(updatedProject);
+        ProjectResponse response = ProjectResponse.fromEntity(updatedProject);
+        eventPublisher.publishEvent(ProjectEvent.of(ProjectEventType.UPDATED, response, owner.getId()));
+        activityLogService.projectUpdated(owner, before, response);
+        return response;
     }
     
     @Transactional
-    public void deleteProject(Long id, User owner) {
+    public ProjectDeletionResponse deleteProject(Long id, User owner) {
         log.info("Deleting project with ID: {} for user: {}", id, owner.getEmail());
         
         Project project = projectRepository.findByIdAndOwner(id, owner)
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", id));
+        // Recorded when the deletion is accepted, also for the asynchronous path
+        activityLogService.projectDeleted(owner, id, project.getTitle());
         
-        projectRepository.delete(project);
+        long taskCount = taskRepository.countByProjectId(id);
+        if (taskCount > asyncDeletionThreshold) {
+            // Hide the project now; ProjectDeletionService removes the tasks in the background
+            projectRepository.markDeleting(id);
+            // Summary lists and progress would otherwise keep serving the project from its snapshot
+            taskSnapshotService.invalidate(id);
+            ProjectDeletionJob job = deletionJobRepository.save(ProjectDeletionJob.builder()
+                    .projectId(id)
+                    .ownerId(owner.getId())
+                    .totalTasks(taskCount)
+                    .build());
+            log.info("Project {} scheduled for asynchronous deletion ({} tasks)", id, taskCount);
+            return ProjectDeletionResponse.fromEntity(job);
+        }
+        
+        // Set-based deletes in bounded chunks instead of loading every task through the cascade
+        int deleted;
+        do {
+            deleted = taskRepository.deleteChunkByProjectId(id, deletionChunkSize);
+        } while (deleted == deletionChunkSize);
+        projectRepository.deleteProjectById(id);
         log.info("Project deleted successfully: {}", id);
+        
+        eventPublisher.publishEvent(ProjectEvent.deleted(id, owner.getId()));
+        return ProjectDeletionResponse.completed(id, taskCount);
     }
     
     @Transactional(readOnly = true)
+    public ProjectDeletionResponse getDeletionStatus(Long jobId, User owner) {
+        return deletionJobRepository.findByIdAndOwnerId(jobId, owner.getId())
+                .map(ProjectDeletionResponse::fromEntity)
+                .orElseThrow(() -> new ResourceNotFoundException("Deletion job", "id", jobId));
+    }
+    
+    // Not transactional, so progress served from a loaded task snapshot holds no connection
     public ProjectProgressResponse getProjectProgress(Long id, User owner) {
         log.debug("Fetching progress for project ID: {}", id);
         
-        Project project = projectRepository.findByIdAndOwnerWithTasks(id, owner)
+        Optional<ProjectProgressResponse> fromSnapshot = taskSnapshotService.findProgress(id, owner);
+        if (fromSnapshot.isPresent()) {
+            return fromSnapshot.get();
+        }
+        
+        // Results shared across users are only handed to callers that own the project
+        if (!requestCoalescer.isUserScoped() && !projectRepository.existsByIdAndOwner(id, owner)) {
+            throw new ResourceNotFoundException("Project", "id", id);
+        }
+        
+        return requestCoalescer.execute("project-progress", owner.getId(), id, () ->
+                projectRepository.findTaskCountsByOwnerAndIds(owner, List.of(id))
+                        .stream()
+                        .findFirst()
+                        .map(ProjectProgressResponse::fromCounts)
+                        .orElseThrow(() -> new ResourceNotFoundException("Project", "id", id)));
+    }
+    
+    /**
+     * Project progress plus each top-level task with the rollup of its subtasks. Rollups are
+     * stored on the tasks, so this adds one query however deep the hierarchy is.
+     */
+    @Transactional(readOnly = true)
+    public ProjectProgressResponse getHierarchicalProgress(Long id, User owner) {
+        ProjectProgressResponse progress = projectRepository.findTaskCountsByOwnerAndIds(owner, List.of(id))
+                .stream()
+                .findFirst()
+                .map(ProjectProgressResponse::fromCounts)
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", id));
         
-        return ProjectProgressResponse.fromEntity(project);
+        progress.setTasks(taskRepository.findTopLevelRollups(id)
+                .stream()
+                .map(TaskProgressResponse::fromRollup)
+                .collect(Collectors.toList()));
+        return progress;
+    }
+    
+    @Transactional(readOnly = true)
+    public ProjectProgressBatchResponse getProjectProgressBatch(List<Long> ids, User owner) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("At least one project id is required");
+        }
+        
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.size() > maxProgressBatchSize) {
+            throw new BadRequestException("At most " + maxProgressBatchSize + " projects can be requested at once");
+        }
+        log.debug("Fetching progress for {} projects", requested.size());
+        
+        Map<Long, ProjectProgressResponse> byId = projectRepository.findTaskCountsByOwnerAndIds(owner, requested)
+                .stream()
+                .map(ProjectProgressResponse::fromCounts)
+                .collect(Collectors.toMap(ProjectProgressResponse::getProjectId, Function.identity()));
+        
+        // Unknown and foreign ids are reported the same way so ownership is not leaked
+        List<ProjectProgressResponse> progress = new ArrayList<>(byId.size());
+        List<Long> notFound = new ArrayList<>();
+        for (Long id : requested) {
+            ProjectProgressResponse response = byId.get(id);
+            if (response != null) {
+                progress.add(response);
+            } else {
+                notFound.add(id);
+            }
+        }
+        
+        return ProjectProgressBatchResponse.builder()
+                .progress(progress)
+                .notFound(notFound)
+                .build();
     }
     
     @Transactional(readOnly = true)
@@ -113,6 +256,15 @@ public class ProjectService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Change history of a project and all of its tasks, newest first.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ActivityResponse> getProjectActivity(Long id, String cursor, int limit, User owner) {
+        Project project = getProjectEntity(id, owner);
+        return activityLogService.getActivity(project.getId(), null, cursor, limit);
+    }
+    
     // Internal method to get Project entity
     @Transactional(readOnly = true)
     public Project getProjectEntity(Long id, User owner) {
@@ -0,0 +1,85 @@
+package com.taskmanager.service;
+
+/**
+ * Fractional ordering keys: base-62 strings compared byte-wise. A key strictly between any
+ * two keys always exists, so placing a task never renumbers its neighbours. Generated keys
+ * never end in the lowest digit, which keeps room in front of every key.
+ */
+final class RankKeys {
+    
+    static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    private static final String MIDDLE = "V";
+    
+    private RankKeys() {
+    }
+    
+    /**
+     * Key strictly between lower and upper. A null lower means the start of the list, a null
+     * upper its end. Stepping at the edges only changes one digit, so repeatedly adding to
+     * the top or bottom grows keys far slower than halving would.
+     */
+    static String between(String lower, String upper) {
+        if (lower == null && upper == null) {
+            return MIDDLE;
+        }
+        if (lower == null) {
+            return before(upper);
+        }
+        if (upper == null) {
+            return after(lower);
+        }
+        if (lower.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("Key " + lower + " does not sort before " + upper);
+        }
+        
+        StringBuilder key = new StringBuilder();
+        String bound = upper;
+        for (int i = 0; ; i++) {
+            if (bound != null && i >= bound.length()) {
+                // upper is a prefix of the key so far: only possible if upper ends in the lowest digit
+                throw new IllegalArgumentException("No key fits before " + upper);
+            }
+            int low = i < lower.length() ? digit(lower.charAt(i)) : 0;
+            int high = bound != null ? digit(bound.charAt(i)) : BASE;
+            if (low == high) {
+                key.append(DIGITS.charAt(low));
+            } else if (high - low > 1) {
+                return key.append(DIGITS.charAt((low + high) / 2)).toString();
+            } else {
+                // Adjacent digits: keep the lower one, anything longer after it fits below upper
+                key.append(DIGITS.charAt(low));
+                bound = null;
+            }
+        }
+    }
+    
+    private static String before(String upper) {
+        for (int i = 0; i < upper.length(); i++) {
+            int digit = digit(upper.charAt(i));
+            if (digit > 1) {
+                return upper.substring(0, i) + DIGITS.charAt(digit - 1);
+            }
+        }
+        // Only 0s and 1s: fall back to halving towards the empty key
+        return between("", upper);
+    }
+    
+    private static String after(String lower) {
+        for (int i = 0; i < lower.length(); i++) {
+            int digit = digit(lower.charAt(i));
+            if (digit < BASE - 1) {
+                return lower.substring(0, i) + DIGITS.charAt(digit + 1);
+            }
+        }
+        return lower + MIDDLE;
+    }
+    
+    private static int digit(char c) {
+        int digit = DIGITS.indexOf(c);
+        if (digit < 0) {
+            throw new IllegalArgumentException("Invalid rank key character: " + c);
+        }
+        return digit;
+    }
+}
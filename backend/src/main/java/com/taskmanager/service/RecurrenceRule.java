@@ -0,0 +1,138 @@
+package com.taskmanager.service;
+
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Recurrence of a task's due date: DAILY, WEEKLY or MONTHLY with an optional interval
+ * ("WEEKLY/2" is every other week), or "CRON day-of-month month day-of-week" using Spring's
+ * cron syntax for those three fields ("CRON * * MON-FRI", "CRON 1,15 * *", "CRON L * *").
+ * Fixed-period occurrences are counted from the anchor date, so monthly series clamp at the
+ * end of short months without drifting. Malformed input raises IllegalArgumentException
+ * with a message fit for the caller.
+ */
+final class RecurrenceRule {
+    
+    static final int MAX_LENGTH = 120;
+    private static final int MAX_INTERVAL = 366;
+    private static final String CRON = "CRON";
+    
+    private enum Frequency {
+        DAILY(ChronoUnit.DAYS),
+        WEEKLY(ChronoUnit.WEEKS),
+        MONTHLY(ChronoUnit.MONTHS);
+        
+        private final ChronoUnit unit;
+        
+        Frequency(ChronoUnit unit) {
+            this.unit = unit;
+        }
+    }
+    
+    private final String spec;
+    private final Frequency frequency;
+    private final int interval;
+    private final CronExpression cron;
+    
+    private RecurrenceRule(String spec, Frequency frequency, int interval, CronExpression cron) {
+        this.spec = spec;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.cron = cron;
+    }
+    
+    static RecurrenceRule parse(String spec) {
+        if (spec == null || spec.isBlank() || spec.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Recurrence must be 1-" + MAX_LENGTH + " characters");
+        }
+        String normalized = spec.trim().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+        
+        if (normalized.startsWith(CRON + " ")) {
+            String fields = normalized.substring(CRON.length() + 1);
+            if (fields.split(" ").length != 3) {
+                throw new IllegalArgumentException("Cron recurrence needs day-of-month, month and day-of-week, e.g. 'CRON * * MON-FRI'");
+            }
+            CronExpression cron;
+            try {
+                cron = CronExpression.parse("0 0 0 " + fields);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid cron recurrence '" + fields + "': " + e.getMessage());
+            }
+            RecurrenceRule rule = new RecurrenceRule(CRON + " " + fields, null, 1, cron);
+            if (rule.next(LocalDate.now()) == null) {
+                throw new IllegalArgumentException("Cron recurrence '" + fields + "' never occurs");
+            }
+            return rule;
+        }
+        
+        String[] parts = normalized.split("/", 2);
+        Frequency frequency;
+        int interval = 1;
+        try {
+            frequency = Frequency.valueOf(parts[0].trim());
+            if (parts.length > 1) {
+                interval = Integer.parseInt(parts[1].trim());
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown recurrence '" + spec + "'; use DAILY, WEEKLY or MONTHLY with an optional /interval, or CRON");
+        }
+        if (interval < 1 || interval > MAX_INTERVAL) {
+            throw new IllegalArgumentException("Recurrence interval must be between 1 and " + MAX_INTERVAL);
+        }
+        return new RecurrenceRule(interval == 1 ? frequency.name() : frequency.name() + "/" + interval, frequency, interval, null);
+    }
+    
+    // Canonical form, as stored on the task
+    String spec() {
+        return spec;
+    }
+    
+    /**
+     * First occurrence after the anchor that is not before notBefore, or null if a cron rule
+     * has no further dates.
+     */
+    LocalDate firstOnOrAfter(LocalDate anchor, LocalDate notBefore) {
+        List<LocalDate> first = occurrences(anchor, notBefore, LocalDate.MAX, 1);
+        return first.isEmpty() ? null : first.get(0);
+    }
+    
+    /**
+     * Up to limit occurrences after the anchor, within [from, to].
+     */
+    List<LocalDate> occurrences(LocalDate anchor, LocalDate from, LocalDate to, int limit) {
+        List<LocalDate> dates = new ArrayList<>();
+        if (cron != null) {
+            LocalDate date = next(from.isAfter(anchor) ? from.minusDays(1) : anchor);
+            while (date != null && !date.isAfter(to) && dates.size() < limit) {
+                dates.add(date);
+                date = next(date);
+            }
+            return dates;
+        }
+        
+        // Jump straight to the first period that can reach from instead of stepping through missed ones
+        long step = Math.max(1, frequency.unit.between(anchor, from) / interval);
+        for (; dates.size() < limit; step++) {
+            LocalDate date = anchor.plus(step * interval, frequency.unit);
+            if (date.isAfter(to)) {
+                break;
+            }
+            if (!date.isBefore(from)) {
+                dates.add(date);
+            }
+        }
+        return dates;
+    }
+    
+    private LocalDate next(LocalDate after) {
+        LocalDateTime next = cron.next(after.atTime(LocalTime.MAX));
+        return next != null ? next.toLocalDate() : null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.RefreshToken;
+import com.taskmanager.entity.User;
+import com.taskmanager.exception.UnauthorizedException;
+import com.taskmanager.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    private final RefreshTokenRepository refreshTokenRepository;
+    
+    @Value("${jwt.refresh-expiration}")
+    private long refreshExpiration;
+    
+    @Transactional
+    public String issue(User user) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .user(user)
+                .expiresAt(LocalDateTime.now().plusNanos(refreshExpiration * 1_000_000))
+                .build());
+        
+        return rawToken;
+    }
+    
+    /**
+     * Consumes a refresh token and returns its owner. Each token is single use:
+     * presenting an already rotated token revokes every refresh token of that user.
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public User rotate(String rawToken) {
+        String tokenHash = hash(rawToken);
+        RefreshToken token = refreshTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        
+        if (token.isRevoked()) {
+            throw reuseDetected(token);
+        }
+        if (token.isExpired()) {
+            throw new UnauthorizedException("Refresh token has expired");
+        }
+        
+        // Conditional update, so of two concurrent refreshes with the same token only one wins
+        if (refreshTokenRepository.revokeIfActive(tokenHash) == 0) {
+            throw reuseDetected(token);
+        }
+        return token.getUser();
+    }
+    
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken)).ifPresent(token -> {
+            token.setRevoked(true);
+            refreshTokenRepository.save(token);
+        });
+    }
+    
+    @Transactional
+    public void revokeAll(User user) {
+        int revoked = refreshTokenRepository.revokeAllByUser(user);
+        log.info("Revoked {} refresh tokens for user: {}", revoked, user.getEmail());
+    }
+    
+    @Scheduled(cron = "${jwt.refresh-cleanup-cron:0 0 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.debug("Purged {} expired refresh tokens", deleted);
+    }
+    
+    private UnauthorizedException reuseDetected(RefreshToken token) {
+        log.warn("Refresh token reuse detected for user ID: {}", token.getUser().getId());
+        refreshTokenRepository.revokeAllByUser(token.getUser());
+        return new UnauthorizedException("Refresh token has been revoked");
+    }
+    
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
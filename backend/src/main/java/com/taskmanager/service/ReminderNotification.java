@@ -0,0 +1,18 @@
+package com.taskmanager.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * What a reminder tells the owner: which task is due, when, and how far ahead of the due
+ * time the reminder was scheduled.
+ */
+public record ReminderNotification(Long taskId,
+                                   String taskTitle,
+                                   Long projectId,
+                                   String projectTitle,
+                                   LocalDate dueDate,
+                                   Duration leadTime,
+                                   String recipientEmail,
+                                   String recipientName) {
+}
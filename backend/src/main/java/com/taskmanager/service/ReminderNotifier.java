@@ -0,0 +1,10 @@
+package com.taskmanager.service;
+
+/**
+ * Delivers due-date reminders to the task owner. Called outside any transaction; a failure
+ * is logged and the reminder is not retried.
+ */
+public interface ReminderNotifier {
+    
+    void send(ReminderNotification notification);
+}
@@ -0,0 +1,327 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.TaskResponse;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskReminder;
+import com.taskmanager.entity.User;
+import com.taskmanager.event.TaskEvent;
+import com.taskmanager.event.TaskEventType;
+import com.taskmanager.repository.ReminderSchedule;
+import com.taskmanager.repository.TaskReminderRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.sharding.ShardContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Due-date reminders, e.g. one day and one hour before a task is due. Reminder rows are
+ * written in the transaction that changed the task, like the outbox, so pending reminders
+ * survive restarts. Only those firing within the load-ahead window are kept in the timing
+ * wheel; the window is refilled by a range scan over fire_at, never by scanning tasks.
+ *
+ * Delivery claims reminders by deleting their rows and notifies after the commit: a crash in
+ * between loses that reminder instead of sending it twice. Each shard has its own wheel, as
+ * reminder ids are only looked up on the shard they came from.
+ */
+@Service
+@Slf4j
+public class ReminderService {
+    
+    private static final long RETRY_DELAY_MILLIS = 60_000;
+    
+    private final TaskReminderRepository reminderRepository;
+    private final TaskRepository taskRepository;
+    private final ReminderNotifier notifier;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardDirectory shardDirectory;
+    
+    private final List<Duration> offsets;
+    private final LocalTime dueTime;
+    private final long loadAheadMillis;
+    private final int batchSize;
+    
+    private final Counter sent;
+    private final Counter failed;
+    
+    // All guarded by this, indexed by shard
+    private final TimingWheel[] wheels;
+    // Reminders firing before this were loaded into the wheel, or are added by the commit that creates them
+    private final long[] loadedUntil;
+    
+    public ReminderService(
+            TaskReminderRepository reminderRepository,
+            TaskRepository taskRepository,
+            ReminderNotifier notifier,
+            TransactionTemplate transactionTemplate,
+            ShardDirectory shardDirectory,
+            MeterRegistry meterRegistry,
+            @Value("${reminders.offsets:1d,1h}") String offsets,
+            @Value("${reminders.due-time:09:00}") String dueTime,
+            @Value("${reminders.tick:1000}") long tickMillis,
+            @Value("${reminders.wheel-size:64}") int wheelSize,
+            @Value("${reminders.wheel-levels:3}") int wheelLevels,
+            @Value("${reminders.load-ahead:3600000}") long loadAheadMillis,
+            @Value("${reminders.batch-size:200}") int batchSize) {
+        this.reminderRepository = reminderRepository;
+        this.taskRepository = taskRepository;
+        this.notifier = notifier;
+        this.transactionTemplate = transactionTemplate;
+        this.shardDirectory = shardDirectory;
+        this.offsets = Arrays.stream(offsets.split(","))
+                .map(String::trim)
+                .filter(offset -> !offset.isEmpty())
+                .map(DurationStyle::detectAndParse)
+                .toList();
+        this.dueTime = LocalTime.parse(dueTime);
+        this.loadAheadMillis = loadAheadMillis;
+        this.batchSize = batchSize;
+        
+        this.wheels = new TimingWheel[shardDirectory.shardCount()];
+        for (int shard = 0; shard < wheels.length; shard++) {
+            wheels[shard] = new TimingWheel(tickMillis, wheelSize, wheelLevels, System.currentTimeMillis());
+        }
+        this.loadedUntil = new long[wheels.length];
+        if (loadAheadMillis >= wheels[0].horizonMillis()) {
+            throw new IllegalArgumentException("reminders.load-ahead must be shorter than the timing wheel horizon of "
+                    + wheels[0].horizonMillis() + " ms");
+        }
+        
+        this.sent = meterRegistry.counter("reminders.deliveries", "outcome", "sent");
+        this.failed = meterRegistry.counter("reminders.deliveries", "outcome", "failed");
+        Gauge.builder("reminders.scheduled", this, ReminderService::scheduledCount).register(meterRegistry);
+    }
+    
+    /**
+     * Brings the task's pending reminders in line with its due date and completion. Only rows
+     * that differ are written; the wheel is updated once the change has committed.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTaskEvent(TaskEvent event) {
+        int shard = ShardContext.current();
+        if (event.getType() == TaskEventType.DELETED) {
+            // The rows are removed with the task; only the wheel needs to forget them
+            List<Long> ids = reminderRepository.findIdsByTaskId(event.getTaskId());
+            if (!ids.isEmpty()) {
+                afterCommit(() -> cancel(shard, ids));
+            }
+            return;
+        }
+        
+        Set<LocalDateTime> wanted = fireTimes(event.getTask());
+        List<TaskReminder> stale = new ArrayList<>();
+        for (TaskReminder reminder : reminderRepository.findByTaskId(event.getTaskId())) {
+            if (!wanted.remove(reminder.getFireAt())) {
+                stale.add(reminder);
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        wanted.removeIf(fireAt -> !fireAt.isAfter(now));
+        if (stale.isEmpty() && wanted.isEmpty()) {
+            return;
+        }
+        
+        reminderRepository.deleteAll(stale);
+        Task task = taskRepository.getReferenceById(event.getTaskId());
+        List<TaskReminder> created = reminderRepository.saveAll(wanted.stream()
+                .map(fireAt -> TaskReminder.builder().task(task).fireAt(fireAt).build())
+                .toList());
+        
+        List<Long> staleIds = stale.stream().map(TaskReminder::getId).toList();
+        afterCommit(() -> {
+            cancel(shard, staleIds);
+            synchronized (this) {
+                for (TaskReminder reminder : created) {
+                    long fireAt = toMillis(reminder.getFireAt());
+                    if (fireAt < loadedUntil[shard]) {
+                        wheels[shard].schedule(reminder.getId(), fireAt);
+                    }
+                }
+            }
+        });
+    }
+    
+    /**
+     * Moves reminders firing within the load-ahead window from the table into the wheel. The
+     * first run after a start also picks up everything that was missed while the application
+     * was down.
+     */
+    @Scheduled(fixedDelayString = "${reminders.load-interval:60000}")
+    public void loadUpcoming() {
+        shardDirectory.forEachShard("Reminder loading", this::loadShard);
+    }
+    
+    // Makes the next load rescan the shard, e.g. after rows were copied onto it
+    public synchronized void reloadShard(int shard) {
+        loadedUntil[shard] = 0;
+    }
+    
+    private void loadShard(int shard) {
+        long until = System.currentTimeMillis() + loadAheadMillis;
+        long from;
+        // Raised before the scan: a reminder committed meanwhile is either found here or added by its own commit
+        synchronized (this) {
+            from = loadedUntil[shard];
+            if (until <= from) {
+                return;
+            }
+            loadedUntil[shard] = until;
+        }
+        
+        try {
+            LocalDateTime fromTime = toDateTime(from);
+            LocalDateTime untilTime = toDateTime(until);
+            long afterId = 0;
+            int loaded = 0;
+            List<ReminderSchedule> page;
+            do {
+                page = reminderRepository.findScheduleBetween(fromTime, untilTime, afterId, PageRequest.of(0, batchSize));
+                synchronized (this) {
+                    for (ReminderSchedule reminder : page) {
+                        wheels[shard].schedule(reminder.getId(), toMillis(reminder.getFireAt()));
+                    }
+                }
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+                loaded += page.size();
+            } while (page.size() == batchSize);
+            
+            if (loaded > 0) {
+                log.debug("Loaded {} reminders due before {} on shard {}", loaded, untilTime, shard);
+            }
+        } catch (RuntimeException e) {
+            // Scan the same window again next time; scheduling an id twice only replaces it
+            synchronized (this) {
+                loadedUntil[shard] = Math.min(loadedUntil[shard], from);
+            }
+            throw e;
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${reminders.tick:1000}")
+    public void fireDue() {
+        shardDirectory.forEachShard("Reminder delivery", shard -> {
+            List<Long> due = new ArrayList<>();
+            synchronized (this) {
+                wheels[shard].advance(System.currentTimeMillis(), due::add);
+            }
+            for (int i = 0; i < due.size(); i += batchSize) {
+                deliver(shard, due.subList(i, Math.min(i + batchSize, due.size())));
+            }
+        });
+    }
+    
+    private void deliver(int shard, List<Long> ids) {
+        List<ReminderNotification> notifications;
+        try {
+            notifications = transactionTemplate.execute(status -> {
+                List<TaskReminder> reminders = reminderRepository.findWithTaskByIdIn(ids);
+                if (reminders.isEmpty()) {
+                    return List.of();
+                }
+                // Ids without a row belonged to tasks deleted or rescheduled after they were loaded.
+                // Another instance may have loaded the same rows; only those deleted here are sent.
+                Set<Long> claimed = new HashSet<>(
+                        reminderRepository.claimByIdIn(reminders.stream().map(TaskReminder::getId).toList()));
+                return reminders.stream()
+                        .filter(reminder -> claimed.contains(reminder.getId()))
+                        .filter(reminder -> !reminder.getTask().isCompleted() && reminder.getTask().getDueDate() != null)
+                        .map(this::toNotification)
+                        .toList();
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not claim {} due reminders, retrying in {} ms: {}", ids.size(), RETRY_DELAY_MILLIS, e.getMessage());
+            long retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+            synchronized (this) {
+                ids.forEach(id -> wheels[shard].schedule(id, retryAt));
+            }
+            return;
+        }
+        
+        for (ReminderNotification notification : notifications) {
+            try {
+                notifier.send(notification);
+                sent.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.warn("Reminder for task {} could not be sent: {}", notification.taskId(), e.getMessage());
+            }
+        }
+    }
+    
+    // All reminder times for the task's current due date, past ones included
+    private Set<LocalDateTime> fireTimes(TaskResponse task) {
+        Set<LocalDateTime> times = new HashSet<>();
+        if (task == null || task.getDueDate() == null || task.isCompleted()) {
+            return times;
+        }
+        LocalDateTime due = task.getDueDate().atTime(dueTime);
+        for (Duration offset : offsets) {
+            times.add(due.minus(offset));
+        }
+        return times;
+    }
+    
+    private ReminderNotification toNotification(TaskReminder reminder) {
+        Task task = reminder.getTask();
+        User owner = task.getProject().getOwner();
+        return new ReminderNotification(task.getId(), task.getTitle(), task.getProject().getId(),
+                task.getProject().getTitle(), task.getDueDate(),
+                Duration.between(reminder.getFireAt(), task.getDueDate().atTime(dueTime)),
+                owner.getEmail(), owner.getFullName());
+    }
+    
+    private synchronized void cancel(int shard, List<Long> ids) {
+        ids.forEach(wheels[shard]::cancel);
+    }
+    
+    private synchronized int scheduledCount() {
+        int count = 0;
+        for (TimingWheel wheel : wheels) {
+            count += wheel.size();
+        }
+        return count;
+    }
+    
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
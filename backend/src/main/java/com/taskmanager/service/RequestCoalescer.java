@@ -0,0 +1,114 @@
+package com.taskmanager.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical concurrent reads: the first caller for a key runs the
+ * load, callers arriving while it is in flight wait for and share its result. A result can
+ * therefore miss a write that committed after the leading call started, exactly like a
+ * slightly earlier request would.
+ *
+ * With scope USER the key includes the caller, so results are only shared between requests
+ * of the same user. With scope RESOURCE callers must be authorised individually before
+ * joining; the result is then shared per resource.
+ */
+@Component
+@Slf4j
+public class RequestCoalescer {
+    
+    public enum Scope {
+        USER,
+        RESOURCE
+    }
+    
+    private final Map<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Scope scope;
+    private final long timeoutMillis;
+    
+    public RequestCoalescer(
+            MeterRegistry meterRegistry,
+            @Value("${coalescing.enabled:true}") boolean enabled,
+            @Value("${coalescing.scope:USER}") Scope scope,
+            @Value("${coalescing.timeout:5000}") long timeoutMillis) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.scope = scope;
+        this.timeoutMillis = timeoutMillis;
+    }
+    
+    public boolean isUserScoped() {
+        return scope == Scope.USER;
+    }
+    
+    /**
+     * Runs the load for the key, or joins an identical one already in flight.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Long userId, Object resourceKey, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        
+        List<Object> key = scope == Scope.USER
+                ? List.of(operation, userId, resourceKey)
+                : List.of(operation, resourceKey);
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        
+        if (existing == null) {
+            count(operation, "leader");
+            try {
+                T result = loader.get();
+                future.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, future);
+            }
+        }
+        
+        try {
+            T result = (T) existing.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            count(operation, "shared");
+            return result;
+        } catch (TimeoutException e) {
+            // A stuck leader must not hold every follower hostage
+            log.debug("Coalesced {} call timed out after {} ms, loading independently", operation, timeoutMillis);
+            count(operation, "timeout");
+            return loader.get();
+        } catch (ExecutionException e) {
+            count(operation, "shared");
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced " + operation, e);
+        }
+    }
+    
+    // Collapse rate = shared / (leader + shared + timeout)
+    private void count(String operation, String role) {
+        meterRegistry.counter("coalescing.calls", "operation", operation, "role", role).increment();
+    }
+}
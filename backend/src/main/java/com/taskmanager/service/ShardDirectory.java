@@ -0,0 +1,187 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.User;
+import com.taskmanager.entity.UserShard;
+import com.taskmanager.exception.BadRequestException;
+import com.taskmanager.repository.UserShardRepository;
+import com.taskmanager.sharding.ShardContext;
+import com.taskmanager.sharding.ShardRoutingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Maps users to the shard holding their projects and tasks. New users are placed by a hash of
+ * their id; from then on their entry in the directory on shard 0 decides, so a user can be
+ * moved without rehashing anyone else. Users without an entry, registered before sharding,
+ * live on shard 0. Lookups are cached for {@code sharding.directory.cache-ttl}.
+ */
+@Service
+@Slf4j
+public class ShardDirectory {
+    
+    private static final Placement UNASSIGNED = new Placement(ShardContext.DIRECTORY_SHARD, null);
+    
+    // Data shards keep a copy of the user row for their foreign keys
+    private static final String INSERT_USER = "INSERT INTO users (id, first_name, last_name, email, password, role, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (id) DO NOTHING";
+    
+    private final UserShardRepository userShardRepository;
+    private final ShardRoutingDataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final long cacheTtlMillis;
+    
+    private final Map<Long, CachedPlacement> cache = new ConcurrentHashMap<>();
+    
+    public record Placement(int shard, Integer migrationShard) {
+        
+        public boolean migrating() {
+            return migrationShard != null;
+        }
+    }
+    
+    private record CachedPlacement(Placement placement, long expiresAt) {
+    }
+    
+    public ShardDirectory(
+            UserShardRepository userShardRepository,
+            ShardRoutingDataSource dataSource,
+            TransactionTemplate transactionTemplate,
+            @Value("${sharding.directory.cache-ttl:10000}") long cacheTtlMillis) {
+        this.userShardRepository = userShardRepository;
+        this.dataSource = dataSource;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheTtlMillis = cacheTtlMillis;
+    }
+    
+    public int shardCount() {
+        return dataSource.shardCount();
+    }
+    
+    public Placement lookup(Long userId) {
+        long now = System.currentTimeMillis();
+        CachedPlacement cached = cache.get(userId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.placement();
+        }
+        Placement placement = ShardContext.call(ShardContext.DIRECTORY_SHARD, () -> userShardRepository.findById(userId))
+                .map(entry -> new Placement(entry.getShard(), entry.getMigrationShard()))
+                .orElse(UNASSIGNED);
+        cache.put(userId, new CachedPlacement(placement, now + cacheTtlMillis));
+        return placement;
+    }
+    
+    /**
+     * Places a newly registered user, within the registration transaction on shard 0. The user
+     * row copy on a data shard is committed right away, so a failed registration leaves at most
+     * an unreferenced row there.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int assign(User user) {
+        int shard = placement(user.getId(), shardCount());
+        userShardRepository.save(UserShard.builder().userId(user.getId()).shard(shard).build());
+        if (shard != ShardContext.DIRECTORY_SHARD) {
+            new JdbcTemplate(dataSource.shard(shard)).update(INSERT_USER, user.getId(), user.getFirstName(),
+                    user.getLastName(), user.getEmail(), user.getPassword(), user.getRole().name(),
+                    Timestamp.valueOf(user.getCreatedAt()), Timestamp.valueOf(user.getUpdatedAt()));
+        }
+        cache.remove(user.getId());
+        log.debug("User {} placed on shard {}", user.getId(), shard);
+        return shard;
+    }
+    
+    /**
+     * Starts moving the user to the target shard and returns the placement to work from. From
+     * here until finishMove the user's requests are rejected. Moving a user to the shard they
+     * are on cleans up after an unfinished move instead: the partial copies of an aborted one,
+     * or the rows left on the source of one that had already switched.
+     */
+    public Placement beginMove(Long userId, int targetShard) {
+        return updateEntry(userId, entry -> {
+            Integer migrationShard = entry.getMigrationShard();
+            if (entry.getShard() == targetShard) {
+                if (migrationShard == null) {
+                    throw new BadRequestException("User is already on shard " + targetShard);
+                }
+                return;
+            }
+            if (migrationShard != null && migrationShard != targetShard) {
+                throw new BadRequestException("User has an unfinished move involving shard " + migrationShard
+                        + "; move them to shard " + entry.getShard() + " first to clean it up");
+            }
+            entry.setMigrationShard(targetShard);
+        });
+    }
+    
+    // Points the user at the target once their rows were copied; the source still holds its rows
+    public void switchShard(Long userId, int sourceShard, int targetShard) {
+        updateEntry(userId, entry -> {
+            requireState(entry, sourceShard, targetShard);
+            entry.setShard(targetShard);
+            entry.setMigrationShard(sourceShard);
+        });
+    }
+    
+    public void finishMove(Long userId, int shard, int leftoverShard) {
+        updateEntry(userId, entry -> {
+            requireState(entry, shard, leftoverShard);
+            entry.setMigrationShard(null);
+        });
+    }
+    
+    /**
+     * Runs a background job once per shard, routed to that shard. A failure on one shard is
+     * logged and does not keep the job from the others.
+     */
+    public void forEachShard(String job, IntConsumer action) {
+        for (int shard = 0; shard < shardCount(); shard++) {
+            int current = shard;
+            try {
+                ShardContext.run(shard, () -> action.accept(current));
+            } catch (RuntimeException e) {
+                log.error("{} failed on shard {}", job, shard, e);
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${sharding.directory.cache-ttl:10000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(cached -> cached.expiresAt() <= now);
+    }
+    
+    // Multiplicative hashing spreads ids evenly even when they share a stride, as interleaved ids do
+    static int placement(long userId, int shardCount) {
+        return (int) (((userId * 0x9E3779B97F4A7C15L) >>> 32) % shardCount);
+    }
+    
+    private Placement updateEntry(Long userId, Consumer<UserShard> change) {
+        Placement placement = ShardContext.call(ShardContext.DIRECTORY_SHARD, () -> transactionTemplate.execute(status -> {
+            UserShard entry = userShardRepository.findForUpdate(userId)
+                    .orElseGet(() -> UserShard.builder().userId(userId).shard(ShardContext.DIRECTORY_SHARD).build());
+            change.accept(entry);
+            userShardRepository.save(entry);
+            return new Placement(entry.getShard(), entry.getMigrationShard());
+        }));
+        cache.remove(userId);
+        return placement;
+    }
+    
+    private static void requireState(UserShard entry, int shard, Integer migrationShard) {
+        if (entry.getShard() != shard || !migrationShard.equals(entry.getMigrationShard())) {
+            throw new IllegalStateException("Shard directory entry of user " + entry.getUserId()
+                    + " changed during the move");
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.ShardMigrationResponse;
+import com.taskmanager.exception.BadRequestException;
+import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.sharding.ShardContext;
+import com.taskmanager.sharding.ShardRoutingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moves a user with all their projects, tasks and related rows to another shard. The user is
+ * flagged so their requests are rejected, and the move waits until every instance has seen the
+ * flag and running requests are done. Rows are then copied with their ids from one snapshot of
+ * the source, the directory is switched, and the rows are deleted from the source.
+ *
+ * A failed move is resumed by repeating it; see ShardDirectory#beginMove. Keeping ids requires
+ * the interleaved identity sequences set up by scripts/prepare-shard.sql.
+ */
+@Service
+@Slf4j
+public class ShardMigrationService {
+    
+    private static final String OWNED_PROJECTS = "SELECT id FROM projects WHERE owner_id = ?";
+    private static final String OWNED_TASKS = "SELECT t.id FROM tasks t JOIN projects p ON p.id = t.project_id WHERE p.owner_id = ?";
+    private static final String OWNED_WEBHOOKS = "SELECT id FROM webhooks WHERE owner_id = ?";
+    
+    // Every table with rows of a user, parents first; each predicate takes the user id once
+    private static final List<OwnedTable> TABLES = List.of(
+            new OwnedTable("users", "id = ?", "id"),
+            new OwnedTable("projects", "owner_id = ?", "id"),
+            new OwnedTable("tasks", "project_id IN (" + OWNED_PROJECTS + ")", "length(path), id"),
+            new OwnedTable("task_labels", "task_id IN (" + OWNED_TASKS + ")", "task_id"),
+            new OwnedTable("task_reminders", "task_id IN (" + OWNED_TASKS + ")", "id"),
+            new OwnedTable("archived_tasks", "project_id IN (" + OWNED_PROJECTS + ")", "id"),
+            new OwnedTable("project_daily_stats", "project_id IN (" + OWNED_PROJECTS + ")", "id"),
+            new OwnedTable("project_deletion_jobs", "owner_id = ?", "id"),
+            new OwnedTable("webhooks", "owner_id = ?", "id"),
+            new OwnedTable("outbox_events", "owner_id = ?", "id"),
+            new OwnedTable("webhook_deliveries", "webhook_id IN (" + OWNED_WEBHOOKS + ")", "id"),
+            // Not interleaved; its key includes occurred_at, so copied ids cannot collide in practice
+            new OwnedTable("activity_log", "actor_id = ?", "occurred_at, id"));
+    
+    private record OwnedTable(String name, String predicate, String order) {
+        
+        // Shard 0 keeps every user row, whichever shard holds their data
+        boolean skippedOn(int shard) {
+            return name.equals("users") && shard == ShardContext.DIRECTORY_SHARD;
+        }
+    }
+    
+    private final ShardDirectory shardDirectory;
+    private final ShardRoutingDataSource dataSource;
+    private final UserRepository userRepository;
+    private final ReminderService reminderService;
+    private final long flagDelayMillis;
+    private final int batchSize;
+    
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    
+    public ShardMigrationService(
+            ShardDirectory shardDirectory,
+            ShardRoutingDataSource dataSource,
+            UserRepository userRepository,
+            ReminderService reminderService,
+            @Value("${sharding.directory.cache-ttl:10000}") long cacheTtlMillis,
+            @Value("${sharding.migration.drain:5000}") long drainMillis,
+            @Value("${sharding.migration.batch-size:500}") int batchSize) {
+        this.shardDirectory = shardDirectory;
+        this.dataSource = dataSource;
+        this.userRepository = userRepository;
+        this.reminderService = reminderService;
+        this.flagDelayMillis = cacheTtlMillis + drainMillis;
+        this.batchSize = batchSize;
+    }
+    
+    public ShardMigrationResponse migrateUser(Long userId, int targetShard) {
+        if (targetShard < 0 || targetShard >= shardDirectory.shardCount()) {
+            throw new BadRequestException("Shard must be between 0 and " + (shardDirectory.shardCount() - 1));
+        }
+        if (!ShardContext.call(ShardContext.DIRECTORY_SHARD, () -> userRepository.existsById(userId))) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        if (!running.add(userId)) {
+            throw new BadRequestException("A move of this user is already running");
+        }
+        
+        try {
+            long start = System.currentTimeMillis();
+            ShardDirectory.Placement placement = shardDirectory.beginMove(userId, targetShard);
+            int leftoverShard;
+            Map<String, Integer> copied = new LinkedHashMap<>();
+            if (placement.shard() != targetShard) {
+                leftoverShard = placement.shard();
+                awaitFlag();
+                copied = copy(userId, leftoverShard, targetShard);
+                shardDirectory.switchShard(userId, leftoverShard, targetShard);
+            } else {
+                leftoverShard = placement.migrationShard();
+            }
+            
+            int deleted = deleteRows(userId, leftoverShard);
+            shardDirectory.finishMove(userId, targetShard, leftoverShard);
+            // Copied reminders may fall inside the window the target has already loaded
+            reminderService.reloadShard(targetShard);
+            
+            long duration = System.currentTimeMillis() - start;
+            log.info("User {} moved from shard {} to shard {} in {} ms: copied {}, deleted {} rows",
+                    userId, leftoverShard, targetShard, duration, copied, deleted);
+            return ShardMigrationResponse.builder()
+                    .userId(userId)
+                    .sourceShard(leftoverShard)
+                    .targetShard(targetShard)
+                    .copiedRows(copied)
+                    .deletedRows(deleted)
+                    .durationMillis(duration)
+                    .build();
+        } finally {
+            running.remove(userId);
+        }
+    }
+    
+    private void awaitFlag() {
+        try {
+            Thread.sleep(flagDelayMillis);
+        } catch (InterruptedException e) {
+            // The user stays flagged; repeating the move resumes it
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for requests to drain", e);
+        }
+    }
+    
+    // Replaces whatever an earlier attempt left on the target, which the directory does not point to yet
+    private Map<String, Integer> copy(Long userId, int sourceShard, int targetShard) {
+        try (Connection source = dataSource.shard(sourceShard).getConnection();
+             Connection target = dataSource.shard(targetShard).getConnection()) {
+            source.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            source.setReadOnly(true);
+            source.setAutoCommit(false);
+            target.setAutoCommit(false);
+            try {
+                delete(target, userId, targetShard);
+                Map<String, Integer> copied = new LinkedHashMap<>();
+                for (OwnedTable table : TABLES) {
+                    if (!table.skippedOn(targetShard)) {
+                        copied.put(table.name(), copyRows(source, target, table, userId));
+                    }
+                }
+                target.commit();
+                source.commit();
+                return copied;
+            } catch (SQLException | RuntimeException e) {
+                target.rollback();
+                source.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Copying user " + userId + " from shard " + sourceShard
+                    + " to shard " + targetShard + " failed", e);
+        }
+    }
+    
+    private int copyRows(Connection source, Connection target, OwnedTable table, Long userId) throws SQLException {
+        String select = "SELECT * FROM " + table.name() + " WHERE " + table.predicate() + " ORDER BY " + table.order();
+        try (PreparedStatement query = source.prepareStatement(select)) {
+            query.setLong(1, userId);
+            query.setFetchSize(batchSize);
+            try (ResultSet rows = query.executeQuery()) {
+                ResultSetMetaData columns = rows.getMetaData();
+                int columnCount = columns.getColumnCount();
+                StringJoiner names = new StringJoiner(", ");
+                StringJoiner values = new StringJoiner(", ");
+                for (int i = 1; i <= columnCount; i++) {
+                    names.add('"' + columns.getColumnName(i) + '"');
+                    values.add("?");
+                }
+                
+                int copied = 0;
+                try (PreparedStatement insert = target.prepareStatement(
+                        "INSERT INTO " + table.name() + " (" + names + ") VALUES (" + values + ")")) {
+                    while (rows.next()) {
+                        for (int i = 1; i <= columnCount; i++) {
+                            insert.setObject(i, rows.getObject(i), columns.getColumnType(i));
+                        }
+                        insert.addBatch();
+                        if (++copied % batchSize == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                    if (copied % batchSize != 0) {
+                        insert.executeBatch();
+                    }
+                }
+                return copied;
+            }
+        }
+    }
+    
+    private int deleteRows(Long userId, int shard) {
+        try (Connection connection = dataSource.shard(shard).getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                int deleted = delete(connection, userId, shard);
+                connection.commit();
+                return deleted;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Deleting rows of user " + userId + " from shard " + shard + " failed", e);
+        }
+    }
+    
+    // Children first
+    private int delete(Connection connection, Long userId, int shard) throws SQLException {
+        int deleted = 0;
+        for (int i = TABLES.size() - 1; i >= 0; i--) {
+            OwnedTable table = TABLES.get(i);
+            if (table.skippedOn(shard)) {
+                continue;
+            }
+            try (PreparedStatement delete = connection.prepareStatement(
+                    "DELETE FROM " + table.name() + " WHERE " + table.predicate())) {
+                delete.setLong(1, userId);
+                deleted += delete.executeUpdate();
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,157 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.TaskResponse;
+import com.taskmanager.entity.Project;
+import com.taskmanager.entity.User;
+import com.taskmanager.event.ProjectEvent;
+import com.taskmanager.event.ProjectEventType;
+import com.taskmanager.repository.ArchivedTaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves tasks completed more than {@code archive.completed-after-days} ago out of the hot
+ * tasks table. Each batch is one short transaction, with a pause between batches so the
+ * job never competes with interactive traffic for long. Runs on a worker thread of its own,
+ * so the pauses do not hold up the other scheduled jobs.
+ */
+@Service
+@Slf4j
+public class TaskArchivalService {
+    
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final ProjectService projectService;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardDirectory shardDirectory;
+    private final TaskSnapshotService taskSnapshotService;
+    
+    private final boolean enabled;
+    private final int completedAfterDays;
+    private final int batchSize;
+    private final long batchPause;
+    private final int maxBatchesPerRun;
+    
+    private final ExecutorService worker;
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    public TaskArchivalService(
+            ArchivedTaskRepository archivedTaskRepository,
+            ProjectService projectService,
+            TransactionTemplate transactionTemplate,
+            ShardDirectory shardDirectory,
+            TaskSnapshotService taskSnapshotService,
+            @Value("${archive.enabled:true}") boolean enabled,
+            @Value("${archive.completed-after-days:90}") int completedAfterDays,
+            @Value("${archive.batch-size:500}") int batchSize,
+            @Value("${archive.batch-pause:200}") long batchPause,
+            @Value("${archive.max-batches-per-run:200}") int maxBatchesPerRun) {
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.projectService = projectService;
+        this.transactionTemplate = transactionTemplate;
+        this.shardDirectory = shardDirectory;
+        this.taskSnapshotService = taskSnapshotService;
+        this.enabled = enabled;
+        this.completedAfterDays = completedAfterDays;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-archival");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    // Only hands the run over; skipped while the previous one is still going
+    @Scheduled(cron = "${archive.cron:0 0 2 * * *}")
+    public void archiveCompletedTasks() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            worker.execute(() -> {
+                try {
+                    archiveAll();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Rejected during shutdown
+            running.set(false);
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        // Interrupts the pause between batches; the rest is archived on the next run
+        worker.shutdownNow();
+    }
+    
+    void archiveAll() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(completedAfterDays);
+        shardDirectory.forEachShard("Task archival", shard -> {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            long moved = runArchival(cutoff);
+            log.info("Task archival moved {} tasks on shard {}", moved, shard);
+        });
+    }
+    
+    long runArchival(LocalDateTime cutoff) {
+        long total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Long moved = transactionTemplate.execute(status ->
+                    archivedTaskRepository.archiveCompletedBefore(cutoff, batchSize));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            total += moved;
+            // Archived in bulk, without task events, from projects not known here
+            taskSnapshotService.invalidateAll();
+            if (moved < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(batchPause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return total;
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<TaskResponse> getArchivedTasks(Long projectId, User owner, Pageable pageable) {
+        Project project = projectService.getProjectEntity(projectId, owner);
+        
+        return archivedTaskRepository.findByProjectId(project.getId(), pageable)
+                .map(task -> TaskResponse.fromArchived(task, project.getTitle()));
+    }
+    
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onProjectEvent(ProjectEvent event) {
+        if (event.getType() == ProjectEventType.DELETED) {
+            int deleted = archivedTaskRepository.deleteByProjectId(event.getProjectId());
+            log.debug("Deleted {} archived tasks of project ID: {}", deleted, event.getProjectId());
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.TaskPriority;
+import com.taskmanager.service.TaskFilterExpression.And;
+import com.taskmanager.service.TaskFilterExpression.Label;
+import com.taskmanager.service.TaskFilterExpression.Not;
+import com.taskmanager.service.TaskFilterExpression.Or;
+import com.taskmanager.service.TaskFilterExpression.Priority;
+import com.taskmanager.service.TaskFilterExpression.State;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed bitmaps of task ids for one project: one per label, priority and due date plus
+ * completed and all. Filters are answered with bitwise AND/OR/ANDNOT over them; overdue is
+ * the union of due dates before today minus completed, so it never goes stale at midnight.
+ */
+class TaskBitmapIndex {
+    
+    private final Roaring64NavigableMap all = new Roaring64NavigableMap();
+    private final Roaring64NavigableMap completed = new Roaring64NavigableMap();
+    private final Map<String, Roaring64NavigableMap> byLabel = new HashMap<>();
+    private final Map<TaskPriority, Roaring64NavigableMap> byPriority = new EnumMap<>(TaskPriority.class);
+    private final NavigableMap<LocalDate, Roaring64NavigableMap> byDueDate = new TreeMap<>();
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long lastAccess = System.currentTimeMillis();
+    
+    void put(long taskId, TaskPriority priority, boolean isCompleted, LocalDate dueDate, Collection<String> labels) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(taskId);
+            all.addLong(taskId);
+            if (isCompleted) {
+                completed.addLong(taskId);
+            }
+            if (priority != null) {
+                byPriority.computeIfAbsent(priority, p -> new Roaring64NavigableMap()).addLong(taskId);
+            }
+            if (dueDate != null) {
+                byDueDate.computeIfAbsent(dueDate, d -> new Roaring64NavigableMap()).addLong(taskId);
+            }
+            for (String label : labels) {
+                byLabel.computeIfAbsent(label, l -> new Roaring64NavigableMap()).addLong(taskId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void addLabel(long taskId, String label) {
+        lock.writeLock().lock();
+        try {
+            if (all.contains(taskId)) {
+                byLabel.computeIfAbsent(label, l -> new Roaring64NavigableMap()).addLong(taskId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void removeAll(Collection<Long> taskIds) {
+        lock.writeLock().lock();
+        try {
+            taskIds.forEach(this::removeUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Ids matching the expression, newest (highest id) first, skipping offset and returning at
+     * most limit, together with the total number of matches.
+     */
+    Matches query(TaskFilterExpression expression, LocalDate today, long offset, int limit) {
+        lastAccess = System.currentTimeMillis();
+        lock.readLock().lock();
+        try {
+            Roaring64NavigableMap result = evaluate(expression, today);
+            
+            List<Long> ids = new ArrayList<>(Math.min(limit, 1024));
+            LongIterator iterator = result.getReverseLongIterator();
+            for (long skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+                iterator.next();
+            }
+            while (ids.size() < limit && iterator.hasNext()) {
+                ids.add(iterator.next());
+            }
+            return new Matches(ids, result.getLongCardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long size = all.getLongSizeInBytes() + completed.getLongSizeInBytes();
+            for (Roaring64NavigableMap bitmap : byLabel.values()) {
+                size += bitmap.getLongSizeInBytes();
+            }
+            for (Roaring64NavigableMap bitmap : byPriority.values()) {
+                size += bitmap.getLongSizeInBytes();
+            }
+            for (Roaring64NavigableMap bitmap : byDueDate.values()) {
+                size += bitmap.getLongSizeInBytes();
+            }
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    long lastAccess() {
+        return lastAccess;
+    }
+    
+    // Results are fresh bitmaps; the stored ones are never modified by a query
+    private Roaring64NavigableMap evaluate(TaskFilterExpression expression, LocalDate today) {
+        if (expression instanceof Label label) {
+            return copy(byLabel.get(label.name()));
+        }
+        if (expression instanceof Priority priority) {
+            return copy(byPriority.get(priority.priority()));
+        }
+        if (expression instanceof State state) {
+            return switch (state.status()) {
+                case COMPLETED -> copy(completed);
+                case OPEN -> difference(copy(all), completed);
+                case OVERDUE -> {
+                    Roaring64NavigableMap overdue = new Roaring64NavigableMap();
+                    byDueDate.headMap(today, false).values().forEach(overdue::or);
+                    yield difference(overdue, completed);
+                }
+            };
+        }
+        if (expression instanceof Not not) {
+            return difference(copy(all), evaluate(not.operand(), today));
+        }
+        if (expression instanceof And and) {
+            Roaring64NavigableMap left = evaluate(and.left(), today);
+            left.and(evaluate(and.right(), today));
+            return left;
+        }
+        if (expression instanceof Or or) {
+            Roaring64NavigableMap left = evaluate(or.left(), today);
+            left.or(evaluate(or.right(), today));
+            return left;
+        }
+        throw new IllegalArgumentException("Unsupported filter expression: " + expression);
+    }
+    
+    private void removeUnlocked(long taskId) {
+        if (!all.contains(taskId)) {
+            return;
+        }
+        all.removeLong(taskId);
+        completed.removeLong(taskId);
+        removeFrom(byLabel, taskId);
+        removeFrom(byPriority, taskId);
+        removeFrom(byDueDate, taskId);
+    }
+    
+    private static <K> void removeFrom(Map<K, Roaring64NavigableMap> bitmaps, long taskId) {
+        bitmaps.values().removeIf(bitmap -> {
+            bitmap.removeLong(taskId);
+            return bitmap.isEmpty();
+        });
+    }
+    
+    private static Roaring64NavigableMap copy(Roaring64NavigableMap source) {
+        Roaring64NavigableMap copy = new Roaring64NavigableMap();
+        if (source != null) {
+            copy.or(source);
+        }
+        return copy;
+    }
+    
+    private static Roaring64NavigableMap difference(Roaring64NavigableMap left, Roaring64NavigableMap right) {
+        left.andNot(right);
+        return left;
+    }
+    
+    record Matches(List<Long> ids, long total) {
+    }
+}
@@ -0,0 +1,245 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.TaskEventResponse;
+import com.taskmanager.event.TaskEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process fan-out of committed task changes to SSE subscribers, scoped per project
+ * or per user. Keeps a short per-user replay log so reconnecting clients can resume
+ * from their Last-Event-ID instead of re-fetching the task list.
+ */
+@Service
+@Slf4j
+public class TaskEventStreamService {
+    
+    static final String RESET_EVENT = "reset";
+    
+    private final long timeout;
+    private final int bufferSize;
+    private final int replaySize;
+    private final long replayRetention;
+    
+    // Ids are seeded from the clock so they stay monotonic across restarts
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Map<Long, Set<TaskEventSubscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final Map<Long, ReplayLog> replayByUser = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher;
+    
+    public TaskEventStreamService(
+            @Value("${tasks.events.timeout:1800000}") long timeout,
+            @Value("${tasks.events.buffer-size:64}") int bufferSize,
+            @Value("${tasks.events.replay-size:256}") int replaySize,
+            @Value("${tasks.events.replay-retention:600000}") long replayRetention,
+            @Value("${tasks.events.dispatcher-threads:2}") int dispatcherThreads) {
+        this.timeout = timeout;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.replayRetention = replayRetention;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "task-events-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    public SseEmitter subscribeToProject(Long userId, Long projectId, String lastEventId) {
+        return subscribe(userId, projectId, lastEventId);
+    }
+    
+    public SseEmitter subscribeToUser(Long userId, String lastEventId) {
+        return subscribe(userId, null, lastEventId);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskEvent(TaskEvent event) {
+        // A new log can replay everything that happens from now on
+        ReplayLog replay = replayByUser.computeIfAbsent(event.getOwnerId(), id -> new ReplayLog(sequence.get()));
+        
+        // Ids are taken under the log's lock, so each user's events are logged and delivered in id order
+        synchronized (replay) {
+            StreamEntry entry = new StreamEntry(sequence.incrementAndGet(), event);
+            replay.append(entry, replaySize);
+            
+            Set<TaskEventSubscriber> subscribers = subscribersByUser.get(event.getOwnerId());
+            if (subscribers == null) {
+                return;
+            }
+            for (TaskEventSubscriber subscriber : subscribers) {
+                if (subscriber.accepts(entry)) {
+                    enqueue(subscriber, entry);
+                }
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${tasks.events.heartbeat-interval:25000}")
+    public void sendHeartbeats() {
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(subscriber ->
+                dispatcher.execute(subscriber::sendHeartbeat)));
+        
+        // Replay logs are only useful for a short reconnect window
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(replayRetention * 1_000_000);
+        replayByUser.values().removeIf(replay -> replay.isIdleSince(cutoff));
+    }
+    
+    public int getSubscriberCount() {
+        return subscribersByUser.values().stream().mapToInt(Set::size).sum();
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        subscribersByUser.values().forEach(subscribers -> subscribers.forEach(TaskEventSubscriber::close));
+        dispatcher.shutdownNow();
+    }
+    
+    private SseEmitter subscribe(Long userId, Long projectId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        TaskEventSubscriber subscriber = new TaskEventSubscriber(emitter, userId, projectId, bufferSize);
+        
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        
+        if (lastEventId == null || lastEventId.isBlank()) {
+            register(subscriber);
+            return emitter;
+        }
+        
+        long lastId;
+        try {
+            lastId = Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            sendReset(subscriber);
+            register(subscriber);
+            return emitter;
+        }
+        
+        // No log: purged while idle, or lost in a restart, so events may have been missed
+        ReplayLog replay = replayByUser.get(userId);
+        if (replay == null) {
+            sendReset(subscriber);
+            register(subscriber);
+            return emitter;
+        }
+        
+        // Replayed before going live, under the lock that orders live events, so nothing is sent twice or out of order
+        synchronized (replay) {
+            List<StreamEntry> missed = replay.entriesAfter(lastId, subscriber);
+            if (missed == null) {
+                sendReset(subscriber);
+            } else {
+                missed.forEach(entry -> enqueue(subscriber, entry));
+            }
+            register(subscriber);
+        }
+        return emitter;
+    }
+    
+    private void register(TaskEventSubscriber subscriber) {
+        subscribersByUser.computeIfAbsent(subscriber.getUserId(), id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        log.debug("SSE subscriber added for user ID: {}, project ID: {}", subscriber.getUserId(), subscriber.getProjectId());
+    }
+    
+    private void sendReset(TaskEventSubscriber subscriber) {
+        // The client cannot be caught up from the replay log and must re-fetch its list
+        try {
+            subscriber.getEmitter().send(SseEmitter.event()
+                    .id(String.valueOf(sequence.get()))
+                    .name(RESET_EVENT)
+                    .data("{}", MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            subscriber.close();
+        }
+    }
+    
+    private void enqueue(TaskEventSubscriber subscriber, StreamEntry entry) {
+        if (!subscriber.offer(entry)) {
+            // Slow consumer: drop the connection, the client resumes with Last-Event-ID
+            log.debug("Dropping slow SSE subscriber for user ID: {}", subscriber.getUserId());
+            subscriber.close();
+            remove(subscriber);
+            return;
+        }
+        if (subscriber.trySchedule()) {
+            dispatcher.execute(subscriber::drain);
+        }
+    }
+    
+    private void remove(TaskEventSubscriber subscriber) {
+        subscribersByUser.computeIfPresent(subscriber.getUserId(), (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+    
+    static final class ReplayLog {
+        
+        private final Deque<StreamEntry> entries = new ArrayDeque<>();
+        // Every event of the user with a greater id is still in the log
+        private long replayableAfter;
+        
+        ReplayLog(long replayableAfter) {
+            this.replayableAfter = replayableAfter;
+        }
+        
+        synchronized void append(StreamEntry entry, int capacity) {
+            if (entries.size() >= capacity) {
+                replayableAfter = entries.pollFirst().id();
+            }
+            entries.addLast(entry);
+        }
+        
+        // Null when events after lastId are no longer all in the log
+        synchronized List<StreamEntry> entriesAfter(long lastId, TaskEventSubscriber subscriber) {
+            if (lastId < replayableAfter) {
+                return null;
+            }
+            List<StreamEntry> missed = new ArrayList<>();
+            for (StreamEntry entry : entries) {
+                if (entry.id() > lastId && subscriber.accepts(entry)) {
+                    missed.add(entry);
+                }
+            }
+            return missed;
+        }
+        
+        synchronized boolean isIdleSince(LocalDateTime cutoff) {
+            StreamEntry newest = entries.peekLast();
+            return newest == null || newest.event().getOccurredAt().isBefore(cutoff);
+        }
+    }
+    
+    record StreamEntry(long id, TaskEvent event) {
+        
+        SseEmitter.SseEventBuilder toSseEvent() {
+            return SseEmitter.event()
+                    .id(String.valueOf(id))
+                    .name(event.getType().name().toLowerCase())
+                    .data(TaskEventResponse.fromEvent(event), MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.taskmanager.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open SSE connection. Events are queued in a small bounded buffer and written
+ * by a shared dispatcher thread, so a slow client never blocks the publisher.
+ */
+class TaskEventSubscriber {
+    
+    private final SseEmitter emitter;
+    private final Long userId;
+    private final Long projectId;
+    private final BlockingQueue<TaskEventStreamService.StreamEntry> buffer;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+    private long lastQueuedId;
+    
+    TaskEventSubscriber(SseEmitter emitter, Long userId, Long projectId, int bufferSize) {
+        this.emitter = emitter;
+        this.userId = userId;
+        this.projectId = projectId;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+    
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+    
+    Long getUserId() {
+        return userId;
+    }
+    
+    // Null for user-wide subscriptions
+    Long getProjectId() {
+        return projectId;
+    }
+    
+    boolean isClosed() {
+        return closed;
+    }
+    
+    boolean accepts(TaskEventStreamService.StreamEntry entry) {
+        return projectId == null || projectId.equals(entry.event().getProjectId());
+    }
+    
+    /**
+     * Returns false when the buffer is full; the caller treats that as a slow consumer.
+     * Entries with an id up to the last one queued are skipped, so none is sent twice.
+     */
+    synchronized boolean offer(TaskEventStreamService.StreamEntry entry) {
+        if (closed) {
+            return false;
+        }
+        if (entry.id() <= lastQueuedId) {
+            return true;
+        }
+        if (!buffer.offer(entry)) {
+            return false;
+        }
+        lastQueuedId = entry.id();
+        return true;
+    }
+    
+    /**
+     * Claims the drain slot. Only one dispatcher task per subscriber runs at a time.
+     */
+    boolean trySchedule() {
+        return scheduled.compareAndSet(false, true);
+    }
+    
+    void drain() {
+        do {
+            try {
+                TaskEventStreamService.StreamEntry entry;
+                while (!closed && (entry = buffer.poll()) != null) {
+                    emitter.send(entry.toSseEvent());
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            // An offer may have raced with the release of the slot
+        } while (!closed && !buffer.isEmpty() && trySchedule());
+    }
+    
+    void sendHeartbeat() {
+        if (closed) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        } catch (IOException | IllegalStateException e) {
+            close();
+        }
+    }
+    
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        buffer.clear();
+        try {
+            emitter.complete();
+        } catch (IllegalStateException ignored) {
+            // Already completed by the container
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.TaskPriority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parsed board filter such as {@code label:bug AND (priority:HIGH OR priority:URGENT) AND NOT completed}.
+ * Terms are label:&lt;name&gt;, priority:&lt;level&gt;, completed, open and overdue. NOT binds
+ * tightest, then AND, then OR; terms next to each other without an operator are ANDed.
+ * Malformed input raises IllegalArgumentException with a message fit for the caller.
+ */
+sealed interface TaskFilterExpression {
+    
+    int MAX_LENGTH = 1000;
+    int MAX_DEPTH = 32;
+    
+    enum Status {
+        COMPLETED,
+        OPEN,
+        OVERDUE
+    }
+    
+    record Label(String name) implements TaskFilterExpression {
+    }
+    
+    record Priority(TaskPriority priority) implements TaskFilterExpression {
+    }
+    
+    record State(Status status) implements TaskFilterExpression {
+    }
+    
+    record Not(TaskFilterExpression operand) implements TaskFilterExpression {
+    }
+    
+    record And(TaskFilterExpression left, TaskFilterExpression right) implements TaskFilterExpression {
+    }
+    
+    record Or(TaskFilterExpression left, TaskFilterExpression right) implements TaskFilterExpression {
+    }
+    
+    static TaskFilterExpression parse(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Filter expression is required");
+        }
+        if (text.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Filter expression cannot exceed " + MAX_LENGTH + " characters");
+        }
+        return new Parser(tokenize(text)).parse();
+    }
+    
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (char c : text.toCharArray()) {
+            if (Character.isWhitespace(c) || c == '(' || c == ')') {
+                if (!current.isEmpty()) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                }
+                if (c == '(' || c == ')') {
+                    tokens.add(String.valueOf(c));
+                }
+            } else {
+                current.append(c);
+            }
+        }
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+    
+    final class Parser {
+        
+        private final List<String> tokens;
+        private int position;
+        private int depth;
+        
+        private Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+        
+        private TaskFilterExpression parse() {
+            TaskFilterExpression expression = or();
+            if (position < tokens.size()) {
+                throw new IllegalArgumentException("Unexpected '" + tokens.get(position) + "' in filter expression");
+            }
+            return expression;
+        }
+        
+        private TaskFilterExpression or() {
+            TaskFilterExpression left = and();
+            while (accept("OR")) {
+                left = new Or(left, and());
+            }
+            return left;
+        }
+        
+        private TaskFilterExpression and() {
+            TaskFilterExpression left = unary();
+            while (position < tokens.size() && !peekIs("OR") && !peekIs(")")) {
+                accept("AND");
+                left = new And(left, unary());
+            }
+            return left;
+        }
+        
+        private TaskFilterExpression unary() {
+            if (++depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("Filter expression is nested too deeply");
+            }
+            try {
+                if (accept("NOT")) {
+                    return new Not(unary());
+                }
+                if (accept("(")) {
+                    TaskFilterExpression inner = or();
+                    if (!accept(")")) {
+                        throw new IllegalArgumentException("Missing ')' in filter expression");
+                    }
+                    return inner;
+                }
+                return term();
+            } finally {
+                depth--;
+            }
+        }
+        
+        private TaskFilterExpression term() {
+            if (position >= tokens.size()) {
+                throw new IllegalArgumentException("Filter expression ends unexpectedly");
+            }
+            String token = tokens.get(position++);
+            int colon = token.indexOf(':');
+            String key = (colon < 0 ? token : token.substring(0, colon)).toLowerCase(Locale.ROOT);
+            String value = colon < 0 ? null : token.substring(colon + 1);
+            
+            switch (key) {
+                case "label" -> {
+                    if (value == null || value.isEmpty()) {
+                        throw new IllegalArgumentException("label: needs a label name");
+                    }
+                    return new Label(value.toLowerCase(Locale.ROOT));
+                }
+                case "priority" -> {
+                    try {
+                        return new Priority(TaskPriority.valueOf(String.valueOf(value).toUpperCase(Locale.ROOT)));
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unknown priority in filter: " + value);
+                    }
+                }
+                case "completed", "open", "overdue" -> {
+                    if (value != null) {
+                        throw new IllegalArgumentException("Unexpected value for " + key + " in filter");
+                    }
+                    return new State(Status.valueOf(key.toUpperCase(Locale.ROOT)));
+                }
+                default -> throw new IllegalArgumentException("Unknown filter term: " + token);
+            }
+        }
+        
+        private boolean peekIs(String token) {
+            return position < tokens.size() && tokens.get(position).equalsIgnoreCase(token);
+        }
+        
+        private boolean accept(String token) {
+            if (peekIs(token)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+    }
+}
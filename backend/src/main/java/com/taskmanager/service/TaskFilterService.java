@@ -0,0 +1,133 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.TaskResponse;
+import com.taskmanager.entity.Project;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import com.taskmanager.event.ProjectEvent;
+import com.taskmanager.event.ProjectEventType;
+import com.taskmanager.event.TaskEvent;
+import com.taskmanager.event.TaskEventType;
+import com.taskmanager.exception.BadRequestException;
+import com.taskmanager.repository.TaskFilterAttributes;
+import com.taskmanager.repository.TaskLabelView;
+import com.taskmanager.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Board filters over labels, priority, completion and overdue state, answered from per-project
+ * bitmap indexes. An index is loaded on first use and then kept current from committed task
+ * events. Only the matching page is fetched from the database. Indexes are evicted least
+ * recently used first once together they exceed {@code tasks.filter-index.memory-budget}.
+ */
+@Service
+@Slf4j
+public class TaskFilterService {
+    
+    private static final int MAX_PAGE_SIZE = 200;
+    
+    private final TaskRepository taskRepository;
+    private final ProjectService projectService;
+    private final VersionedCache<Long, TaskBitmapIndex> indexes;
+    
+    public TaskFilterService(
+            TaskRepository taskRepository,
+            ProjectService projectService,
+            @Value("${tasks.filter-index.memory-budget:67108864}") long memoryBudget) {
+        this.taskRepository = taskRepository;
+        this.projectService = projectService;
+        this.indexes = new VersionedCache<>("filter index of project ID", memoryBudget,
+                TaskBitmapIndex::sizeInBytes, TaskBitmapIndex::lastAccess);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<TaskResponse> filter(Long projectId, String expression, User owner, Pageable pageable) {
+        Project project = projectService.getProjectEntity(projectId, owner);
+        
+        TaskFilterExpression parsed;
+        try {
+            parsed = TaskFilterExpression.parse(expression);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        Pageable page = PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), MAX_PAGE_SIZE));
+        
+        TaskBitmapIndex index = indexes.getOrLoad(project.getId(), this::load);
+        TaskBitmapIndex.Matches matches = index.query(parsed, LocalDate.now(), page.getOffset(), page.getPageSize());
+        if (matches.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), page, matches.total());
+        }
+        
+        Map<Long, Task> tasks = taskRepository.findByIdInAndProjectId(matches.ids(), project.getId())
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        if (tasks.size() < matches.ids().size()) {
+            // Removed without an event, e.g. archived; drop them so later pages are right
+            index.removeAll(matches.ids().stream().filter(id -> !tasks.containsKey(id)).toList());
+        }
+        
+        List<TaskResponse> content = matches.ids().stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .map(TaskResponse::fromEntity)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, page, matches.total());
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskEvent(TaskEvent event) {
+        TaskBitmapIndex index = indexes.changed(event.getProjectId());
+        if (index == null) {
+            return;
+        }
+        if (event.getType() == TaskEventType.DELETED) {
+            index.remove(event.getTaskId());
+        } else {
+            TaskResponse task = event.getTask();
+            index.put(task.getId(), task.getPriority(), task.isCompleted(), task.getDueDate(),
+                    task.getLabels() != null ? task.getLabels() : List.of());
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProjectEvent(ProjectEvent event) {
+        if (event.getType() == ProjectEventType.DELETED) {
+            indexes.remove(event.getProjectId());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${tasks.filter-index.eviction-interval:60000}")
+    public void evictOverBudget() {
+        indexes.evictOverBudget();
+    }
+    
+    private TaskBitmapIndex load(Long projectId) {
+        TaskBitmapIndex index = new TaskBitmapIndex();
+        
+        for (TaskFilterAttributes task : taskRepository.findFilterAttributesByProjectId(projectId)) {
+            index.put(task.getTaskId(), task.getPriority(), Boolean.TRUE.equals(task.getCompleted()), task.getDueDate(), List.of());
+        }
+        for (TaskLabelView label : taskRepository.findLabelsByProjectId(projectId)) {
+            index.addLabel(label.getTaskId(), label.getLabel());
+        }
+        log.debug("Loaded filter index of project ID: {} ({} bytes)", projectId, index.sizeInBytes());
+        return index;
+    }
+}
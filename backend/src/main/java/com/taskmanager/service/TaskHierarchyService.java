@@ -0,0 +1,168 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.exception.BadRequestException;
+import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskRollup;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Subtask hierarchy stored as a materialized path of ancestor ids on every task, with
+ * descendant counters kept up to date on each change. A subtree is one range scan over
+ * (project_id, path), and a task's progress including descendants is read from its own row,
+ * at any depth. Structural changes hold the project's task tree lock, so paths and counters
+ * cannot be changed from two sides at once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskHierarchyService {
+    
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    
+    /**
+     * Places a new, unsaved task under parentId (or at the top level when null) and counts it
+     * in all its ancestors.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void placeNewTask(Task task, Long projectId, Long parentId) {
+        if (parentId == null) {
+            return;
+        }
+        lock(projectId);
+        
+        Task parent = findInProject(projectId, parentId);
+        String path = parent.getChildPath();
+        requirePathLength(path.length());
+        
+        task.setParent(parent);
+        task.setPath(path);
+        taskRepository.adjustDescendantCounts(Task.idsInPath(path), 1, 0);
+    }
+    
+    /**
+     * Updates the completed counters of the task's ancestors after its completion flag changed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void completionChanged(Task task, Long projectId, boolean completedBefore) {
+        if (task.isCompleted() == completedBefore || Task.ROOT_PATH.equals(task.getPath())) {
+            return;
+        }
+        lock(projectId);
+        
+        // Re-read under the lock: an ancestor may have been moved since the task was loaded
+        TaskRollup current = rollup(task.getId());
+        taskRepository.adjustDescendantCounts(Task.idsInPath(current.getPath()), 0, task.isCompleted() ? 1 : -1);
+    }
+    
+    /**
+     * Removes the task and its descendants from the counters of its ancestors. Call before
+     * deleting the task; its descendants are removed with it by the database.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void beforeDelete(Task task, Long projectId) {
+        // Top-level tasks have no ancestors to update
+        if (Task.ROOT_PATH.equals(task.getPath())) {
+            return;
+        }
+        lock(projectId);
+        
+        TaskRollup current = rollup(task.getId());
+        List<Long> ancestors = Task.idsInPath(current.getPath());
+        if (!ancestors.isEmpty()) {
+            taskRepository.adjustDescendantCounts(ancestors, -subtreeTotal(current), -subtreeCompleted(current));
+        }
+    }
+    
+    /**
+     * Moves a task with all its descendants under a new parent, or to the top level when
+     * newParentId is null. Rewrites the descendants' paths in one statement and moves the
+     * subtree's counts from the old ancestors to the new ones.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reparent(Task task, Long projectId, Long newParentId) {
+        Long currentParentId = task.getParent() != null ? task.getParent().getId() : null;
+        if (Objects.equals(currentParentId, newParentId)) {
+            return;
+        }
+        lock(projectId);
+        
+        TaskRollup current = rollup(task.getId());
+        String oldChildPath = current.getPath() + task.getId() + "/";
+        
+        Task newParent = null;
+        String newPath = Task.ROOT_PATH;
+        if (newParentId != null) {
+            newParent = findInProject(projectId, newParentId);
+            if (newParent.getId().equals(task.getId()) || newParent.getPath().startsWith(oldChildPath)) {
+                throw new BadRequestException("A task cannot be moved under itself or one of its subtasks");
+            }
+            newPath = newParent.getChildPath();
+        }
+        String newChildPath = newPath + task.getId() + "/";
+        
+        // The deepest descendant path must still fit once re-rooted
+        int deepest = Math.max(oldChildPath.length(), taskRepository.findMaxPathLengthUnder(projectId, oldChildPath));
+        requirePathLength(deepest - oldChildPath.length() + newChildPath.length());
+        
+        int total = subtreeTotal(current);
+        int completed = subtreeCompleted(current);
+        List<Long> oldAncestors = Task.idsInPath(current.getPath());
+        if (!oldAncestors.isEmpty()) {
+            taskRepository.adjustDescendantCounts(oldAncestors, -total, -completed);
+        }
+        List<Long> newAncestors = Task.idsInPath(newPath);
+        if (!newAncestors.isEmpty()) {
+            taskRepository.adjustDescendantCounts(newAncestors, total, completed);
+        }
+        int moved = taskRepository.movePaths(projectId, oldChildPath, oldChildPath.length(), newChildPath);
+        
+        task.setParent(newParent);
+        task.setPath(newPath);
+        log.debug("Moved task ID: {} with {} subtasks under {}", task.getId(), moved, newParentId);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<Task> getSubtree(Task task) {
+        return taskRepository.findSubtree(task.getProject().getId(), task.getId(), task.getChildPath());
+    }
+    
+    private void lock(Long projectId) {
+        projectRepository.lockTaskTree(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
+    }
+    
+    private Task findInProject(Long projectId, Long taskId) {
+        return taskRepository.findByIdAndProjectId(taskId, projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
+    }
+    
+    private TaskRollup rollup(Long taskId) {
+        return taskRepository.findRollupById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
+    }
+    
+    private static int subtreeTotal(TaskRollup rollup) {
+        return rollup.getDescendantCount() + 1;
+    }
+    
+    private static int subtreeCompleted(TaskRollup rollup) {
+        return rollup.getCompletedDescendantCount() + (Boolean.TRUE.equals(rollup.getCompleted()) ? 1 : 0);
+    }
+    
+    private static void requirePathLength(int length) {
+        if (length > Task.MAX_PATH_LENGTH) {
+            throw new BadRequestException("Subtasks are nested too deeply");
+        }
+    }
+}
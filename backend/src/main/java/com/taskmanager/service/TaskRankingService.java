@@ -0,0 +1,161 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.exception.BadRequestException;
+import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.sharding.ShardContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manual task order. Every task carries a fractional rank key, and a move computes a key
+ * between its new neighbours, so only the moved row is written. Keys grow when tasks keep
+ * landing in the same gap; projects whose keys pass {@code tasks.ranking.rebalance-length}
+ * are queued and renumbered in the background with a single statement.
+ */
+@Service
+@Slf4j
+public class TaskRankingService {
+    
+    // Well below the column size, so a burst of moves between two runs cannot overflow it
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final int MIN_REBALANCE_WIDTH = 4;
+    
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskSnapshotService taskSnapshotService;
+    private final int rebalanceLength;
+    
+    // Project id -> shard it lives on
+    private final Map<Long, Integer> pendingRebalance = new ConcurrentHashMap<>();
+    
+    public TaskRankingService(
+            TaskRepository taskRepository,
+            ProjectRepository projectRepository,
+            TransactionTemplate transactionTemplate,
+            TaskSnapshotService taskSnapshotService,
+            @Value("${tasks.ranking.rebalance-length:24}") int rebalanceLength) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.taskSnapshotService = taskSnapshotService;
+        this.rebalanceLength = rebalanceLength;
+    }
+    
+    /**
+     * Key for a new task. New tasks go to the top, as they did with creation-date ordering.
+     * Concurrent inserts may get the same key; ties sort by creation date and are split by the
+     * next rebalance.
+     */
+    public String rankForNewTask(Long projectId) {
+        String key = RankKeys.between(null, taskRepository.findFirstRank(projectId));
+        queueIfLong(projectId, key);
+        return key;
+    }
+    
+    /**
+     * Key that places a task between two tasks of the project. With only one neighbour the
+     * other is taken from the current order. Holds the project's task tree lock until the
+     * caller's transaction ends, so a rebalance cannot renumber the neighbours in between.
+     *
+     * Renumbers the project inline when a neighbour has no key yet (tasks created before
+     * manual ordering), neighbours share a key, or the new key would get too long.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String rankBetween(Long projectId, Long previousTaskId, Long nextTaskId) {
+        projectRepository.lockTaskTree(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
+        
+        String key = keyBetween(projectId, previousTaskId, nextTaskId);
+        if (key == null || key.length() > MAX_KEY_LENGTH) {
+            rebalance(projectId);
+            key = keyBetween(projectId, previousTaskId, nextTaskId);
+            if (key == null) {
+                throw new IllegalStateException("Rank keys of project " + projectId + " are not distinct after rebalancing");
+            }
+        }
+        queueIfLong(projectId, key);
+        return key;
+    }
+    
+    @Scheduled(fixedDelayString = "${tasks.ranking.rebalance-interval:60000}")
+    public void rebalancePending() {
+        for (Long projectId : List.copyOf(pendingRebalance.keySet())) {
+            Integer shard = pendingRebalance.remove(projectId);
+            if (shard == null) {
+                continue;
+            }
+            try {
+                ShardContext.run(shard, () -> transactionTemplate.executeWithoutResult(status -> rebalance(projectId)));
+            } catch (RuntimeException e) {
+                log.warn("Rebalancing task ranks of project ID: {} failed: {}", projectId, e.getMessage());
+            }
+        }
+    }
+    
+    // Caller must be in a transaction
+    void rebalance(Long projectId) {
+        if (projectRepository.lockTaskTree(projectId).isEmpty()) {
+            // Deleted meanwhile
+            return;
+        }
+        long count = taskRepository.countByProjectId(projectId);
+        int width = Math.max(MIN_REBALANCE_WIDTH, Long.toString(count).length());
+        int updated = taskRepository.rebalanceRanks(projectId, width);
+        log.info("Rebalanced {} task ranks of project ID: {}", updated, projectId);
+        // Renumbered in bulk, without task events
+        taskSnapshotService.invalidate(projectId);
+    }
+    
+    // Null when a bound is missing a key or the bounds are tied, i.e. the project needs renumbering
+    private String keyBetween(Long projectId, Long previousTaskId, Long nextTaskId) {
+        String lower = previousTaskId != null ? rankOf(projectId, previousTaskId) : null;
+        String upper = nextTaskId != null ? rankOf(projectId, nextTaskId) : null;
+        if ((previousTaskId != null && lower == null) || (nextTaskId != null && upper == null)) {
+            return null;
+        }
+        
+        if (previousTaskId == null && nextTaskId == null) {
+            upper = taskRepository.findFirstRank(projectId);
+        } else if (nextTaskId == null) {
+            upper = taskRepository.findRankAfter(projectId, lower);
+        } else if (previousTaskId == null) {
+            lower = taskRepository.findRankBefore(projectId, upper);
+        }
+        
+        if (lower != null && upper != null) {
+            int order = lower.compareTo(upper);
+            if (order == 0) {
+                return null;
+            }
+            if (order > 0) {
+                throw new BadRequestException("Previous task must come before the next task");
+            }
+        }
+        return RankKeys.between(lower, upper);
+    }
+    
+    private String rankOf(Long projectId, Long taskId) {
+        return taskRepository.findByIdAndProjectId(taskId, projectId)
+                .map(Task::getRank)
+                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
+    }
+    
+    private void queueIfLong(Long projectId, String key) {
+        if (key.length() > rebalanceLength) {
+            pendingRebalance.put(projectId, ShardContext.current());
+        }
+    }
+}
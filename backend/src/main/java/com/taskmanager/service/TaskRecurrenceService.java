@@ -0,0 +1,129 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.TaskOccurrenceResponse;
+import com.taskmanager.entity.Task;
+import com.taskmanager.exception.BadRequestException;
+import com.taskmanager.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Recurring tasks. A series is stored as its single open instance carrying the rule; completing
+ * it creates the next instance and hands the rule on. Later occurrences exist only virtually,
+ * computed from the rule when the agenda is read, so a series never adds more than one row
+ * ahead of time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskRecurrenceService {
+    
+    static final int MAX_AGENDA_DAYS = 92;
+    
+    private final TaskRepository taskRepository;
+    private final TaskRankingService taskRankingService;
+    private final TaskHierarchyService taskHierarchyService;
+    
+    /**
+     * Recurrence to store after a create or update: requested null keeps the current rule,
+     * blank removes it, anything else is validated and normalized.
+     */
+    public String resolve(String requested, String current, LocalDate dueDate) {
+        String recurrence = current;
+        if (requested != null) {
+            recurrence = requested.isBlank() ? null : parse(requested).spec();
+        }
+        if (recurrence != null && dueDate == null) {
+            throw new BadRequestException("Recurring tasks need a due date");
+        }
+        return recurrence;
+    }
+    
+    /**
+     * Creates the next instance of the series after the task was completed. The next due date
+     * follows the completed one but is never in the past, so catching up on a long overdue
+     * series creates one task, not one per missed occurrence.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<Task> scheduleNext(Task completed, Long projectId) {
+        if (completed.getRecurrence() == null || taskRepository.clearRecurrence(completed.getId()) == 0) {
+            return Optional.empty();
+        }
+        String recurrence = completed.getRecurrence();
+        completed.setRecurrence(null);
+        
+        LocalDate dueDate = RecurrenceRule.parse(recurrence).firstOnOrAfter(completed.getDueDate(), LocalDate.now());
+        if (dueDate == null) {
+            log.debug("Recurring task {} has no further occurrences", completed.getId());
+            return Optional.empty();
+        }
+        
+        Task next = Task.builder()
+                .title(completed.getTitle())
+                .description(completed.getDescription())
+                .dueDate(dueDate)
+                .priority(completed.getPriority())
+                .labels(new HashSet<>(completed.getLabels()))
+                .recurrence(recurrence)
+                .project(completed.getProject())
+                .rank(taskRankingService.rankForNewTask(projectId))
+                .completed(false)
+                .build();
+        taskHierarchyService.placeNewTask(next, projectId, completed.getParent() != null ? completed.getParent().getId() : null);
+        
+        Task saved = taskRepository.save(next);
+        log.debug("Recurring task {} continued as task {} due {}", completed.getId(), saved.getId(), dueDate);
+        return Optional.of(saved);
+    }
+    
+    /**
+     * Tasks due in [from, to] plus the virtual occurrences of open recurring tasks in that
+     * range, ordered by date. Virtual dates are the ones completing each series would create,
+     * so none lie in the past.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskOccurrenceResponse> getAgenda(Long projectId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("to must not be before from");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_AGENDA_DAYS) {
+            throw new BadRequestException("The agenda covers at most " + MAX_AGENDA_DAYS + " days");
+        }
+        
+        List<TaskOccurrenceResponse> agenda = new ArrayList<>();
+        taskRepository.findDueBetween(projectId, from, to)
+                .forEach(task -> agenda.add(TaskOccurrenceResponse.fromEntity(task)));
+        
+        LocalDate today = LocalDate.now();
+        LocalDate virtualFrom = from.isAfter(today) ? from : today;
+        for (Task task : taskRepository.findOpenRecurring(projectId, to)) {
+            RecurrenceRule.parse(task.getRecurrence())
+                    .occurrences(task.getDueDate(), virtualFrom, to, MAX_AGENDA_DAYS)
+                    .forEach(date -> agenda.add(TaskOccurrenceResponse.virtualOccurrence(task, date)));
+        }
+        
+        agenda.sort(Comparator.comparing(TaskOccurrenceResponse::getDate)
+                .thenComparing(TaskOccurrenceResponse::isVirtual)
+                .thenComparing(TaskOccurrenceResponse::getTaskId));
+        return agenda;
+    }
+    
+    private RecurrenceRule parse(String spec) {
+        try {
+            return RecurrenceRule.parse(spec);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+}
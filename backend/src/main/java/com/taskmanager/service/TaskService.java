@@ -1,22 +1,44 @@
 package com.taskmanager.service;
 
+import com.taskmanager.dto.request.MoveTaskRequest;
+import com.taskmanager.dto.request.TaskParentRequest;
 import com.taskmanager.dto.request.TaskRequest;
+import com.taskmanager.dto.response.ActivityResponse;
+import com.taskmanager.dto.response.CursorPageResponse;
+import com.taskmanager.dto.response.TaskOccurrenceResponse;
+import com.taskmanager.dto.response.TaskProgressResponse;
 import com.taskmanager.dto.response.TaskResponse;
 import com.taskmanager.entity.Project;
 import com.taskmanager.entity.Task;
 import com.taskmanager.entity.TaskPriority;
 import com.taskmanager.entity.User;
+import com.taskmanager.event.TaskEvent;
+import com.taskmanager.event.TaskEventType;
+import com.taskmanager.exception.BadRequestException;
 import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.repository.TaskCursor;
+import com.taskmanager.repository.TaskField;
+import com.taskmanager.repository.TaskFilter;
 import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskSortField;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,8 +46,20 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TaskService {
     
+    private static final Pattern VALID_LABEL = Pattern.compile("[^\\s()\"]{1,50}");
+    private static final int MAX_QUERY_LIMIT = 200;
+    private static final Sort DEFAULT_LIST_SORT = Sort.by(Sort.Order.asc("rank"), Sort.Order.desc("createdAt"));
+    
     private final TaskRepository taskRepository;
     private final ProjectService projectService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskEventStreamService taskEventStreamService;
+    private final RequestCoalescer requestCoalescer;
+    private final TaskRankingService taskRankingService;
+    private final TaskHierarchyService taskHierarchyService;
+    private final TaskRecurrenceService taskRecurrenceService;
+    private final ActivityLogService activityLogService;
+    private final TaskSnapshotService taskSnapshotService;
     
     @Transactional
     public TaskResponse createTask(Long projectId, TaskRequest request, User owner) {
@@ -38,31 +72,41 @@ public class TaskService {
                 .description(request.getDescription())
                 .dueDate(request.getDueDate())
                 .priority(request.getPriority() != null ? request.getPriority() : TaskPriority.MEDIUM)
+                .labels(normalizeLabels(request.getLabels()))
+                .recurrence(taskRecurrenceService.resolve(request.getRecurrence(), null, request.getDueDate()))
                 .project(project)
+                .rank(taskRankingService.rankForNewTask(project.getId()))
                 .completed(false)
                 .build();
+        taskHierarchyService.placeNewTask(task, project.getId(), request.getParentId());
         
         Task savedTask = taskRepository.save(task);
         log.info("Task created successfully with ID: {}", savedTask.getId());
         
-        return TaskResponse.fromEntity(savedTask);
+        TaskResponse response = TaskResponse.fromEntity(savedTask);
+        eventPublisher.publishEvent(TaskEvent.of(TaskEventType.CREATED, response, owner.getId()));
+        activityLogService.taskCreated(owner, response);
+        return response;
     }
     
     @Transactional(readOnly = true)
     public List<TaskResponse> getAllTasksForProject(Long projectId, User owner) {
         log.debug("Fetching all tasks for project ID: {}", projectId);
         
+        // Ownership is checked per caller; only the task load is shared
         Project project = projectService.getProjectEntity(projectId, owner);
         
-        return taskRepository.findByProjectOrderByCreatedAtDesc(project)
-                .stream()
-                .map(TaskResponse::fromEntity)
-                .collect(Collectors.toList());
+        return requestCoalescer.execute("project-tasks", owner.getId(), projectId, () ->
+                taskRepository.findByProjectOrderByRankAscCreatedAtDesc(project)
+                        .stream()
+                        .map(TaskResponse::fromEntity)
+                        .collect(Collectors.toList()));
     }
     
     @Transactional(readOnly = true)
     public Page<TaskResponse> getTasksPaginated(Long projectId, User owner, Pageable pageable) {
         Project project = projectService.getProjectEntity(projectId, owner);
+        requireSortable(pageable.getSort());
         
         return taskRepository.findByProject(project, pageable)
                 .map(TaskResponse::fromEntity);
@@ -88,6 +132,7 @@ public class TaskService {
         
         Task task = taskRepository.findByIdAndProject(taskId, project)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
+        TaskResponse before = TaskResponse.fromEntity(task);
         
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
@@ -95,11 +140,47 @@ public class TaskService {
         if (request.getPriority() != null) {
             task.setPriority(request.getPriority());
         }
+        if (request.getLabels() != null) {
+            task.getLabels().clear();
+            task.getLabels().addAll(normalizeLabels(request.getLabels()));
+        }
+        task.setRecurrence(taskRecurrenceService.resolve(request.getRecurrence(), task.getRecurrence(), request.getDueDate()));
         
         Task updatedTask = taskRepository.save(task);
         log.info("Task updated successfully: {}", updatedTask.getId());
         
-        return TaskResponse.fromEntity(updatedTask);
+        TaskResponse response = TaskResponse.fromEntity(updatedTask);
+        eventPublisher.publishEvent(TaskEvent.of(TaskEventType.UPDATED, response, owner.getId()));
+        activityLogService.taskUpdated(owner, before, response);
+        return response;
+    }
+    
+    @Transactional
+    public TaskResponse moveTask(Long projectId, Long taskId, MoveTaskRequest request, User owner) {
+        log.info("Moving task ID: {} in project ID: {}", taskId, projectId);
+        
+        Project project = projectService.getProjectEntity(projectId, owner);
+        
+        if (taskId.equals(request.getPreviousTaskId()) || taskId.equals(request.getNextTaskId())) {
+            throw new BadRequestException("A task cannot be positioned relative to itself");
+        }
+        
+        // Only the moved row is written, unless the project has to be renumbered first. Renumbering
+        // clears the persistence context, so the task is loaded only once the key is known
+        String rank = taskRankingService.rankBetween(project.getId(), request.getPreviousTaskId(), request.getNextTaskId());
+        
+        Task task = taskRepository.findByIdAndProject(taskId, project)
+                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
+        TaskResponse before = TaskResponse.fromEntity(task);
+        task.setRank(rank);
+        
+        Task movedTask = taskRepository.save(task);
+        log.info("Task moved - Task ID: {}, Rank: {}", taskId, movedTask.getRank());
+        
+        TaskResponse response = TaskResponse.fromEntity(movedTask);
+        eventPublisher.publishEvent(TaskEvent.of(TaskEventType.UPDATED, response, owner.getId()));
+        activityLogService.taskUpdated(owner, before, response);
+        return response;
     }
     
     @Transactional
@@ -111,16 +192,16 @@ public class TaskService {
         Task task = taskRepository.findByIdAndProject(taskId, project)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
         
-        if (task.isCompleted()) {
+        boolean completedBefore = task.isCompleted();
+        if (completedBefore) {
             task.markAsIncomplete();
         } else {
             task.markAsCompleted();
         }
         
-        Task updatedTask = taskRepository.save(task);
-        log.info("Task completion toggled - Task ID: {}, Completed: {}", taskId, updatedTask.isCompleted());
-        
-        return TaskResponse.fromEntity(updatedTask);
+        TaskResponse response = saveCompletion(task, project.getId(), completedBefore, owner);
+        log.info("Task completion toggled - Task ID: {}, Completed: {}", taskId, response.isCompleted());
+        return response;
     }
     
     @Transactional
@@ -132,12 +213,37 @@ public class TaskService {
         Task task = taskRepository.findByIdAndProject(taskId, project)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
         
+        boolean completedBefore = task.isCompleted();
         task.markAsCompleted();
         
-        Task updatedTask = taskRepository.save(task);
+        TaskResponse response = saveCompletion(task, project.getId(), completedBefore, owner);
         log.info("Task marked as completed: {}", taskId);
+        return response;
+    }
+    
+    /**
+     * Sets a task's completion to the final state of coalesced toggles, whose first toggle
+     * checked access. Returns false without writing when the task is gone or already in that
+     * state.
+     */
+    @Transactional
+    public boolean setCompletion(Long projectId, Long taskId, boolean completed, User owner) {
+        // No exceptions here: they would roll back the other tasks of the batch
+        Optional<Task> found = taskRepository.findByIdAndProjectId(taskId, projectId)
+                .filter(task -> task.getProject().getOwner().getId().equals(owner.getId()));
+        if (found.isEmpty() || found.get().isCompleted() == completed) {
+            return false;
+        }
         
-        return TaskResponse.fromEntity(updatedTask);
+        Task task = found.get();
+        if (completed) {
+            task.markAsCompleted();
+        } else {
+            task.markAsIncomplete();
+        }
+        saveCompletion(task, projectId, !completed, owner);
+        log.debug("Coalesced toggles written - Task ID: {}, Completed: {}", taskId, completed);
+        return true;
     }
     
     @Transactional
@@ -149,8 +255,78 @@ public class TaskService {
         Task task = taskRepository.findByIdAndProject(taskId, project)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
         
+        // Subtasks are deleted with their parent; each gets its own event
+        List<TaskResponse> snapshots = (task.getDescendantCount() > 0 ? taskHierarchyService.getSubtree(task) : List.of(task))
+                .stream()
+                .map(TaskResponse::fromEntity)
+                .collect(Collectors.toList());
+        taskHierarchyService.beforeDelete(task, project.getId());
         taskRepository.delete(task);
-        log.info("Task deleted successfully: {}", taskId);
+        log.info("Task deleted successfully: {} ({} subtasks)", taskId, snapshots.size() - 1);
+        
+        snapshots.forEach(snapshot -> {
+            eventPublisher.publishEvent(TaskEvent.deleted(snapshot, owner.getId()));
+            activityLogService.taskDeleted(owner, snapshot);
+        });
+    }
+    
+    @Transactional
+    public TaskResponse changeParent(Long projectId, Long taskId, TaskParentRequest request, User owner) {
+        log.info("Moving task ID: {} under parent ID: {} in project ID: {}", taskId, request.getParentId(), projectId);
+        
+        Project project = projectService.getProjectEntity(projectId, owner);
+        
+        Task task = taskRepository.findByIdAndProject(taskId, project)
+                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
+        
+        TaskResponse before = TaskResponse.fromEntity(task);
+        taskHierarchyService.reparent(task, project.getId(), request.getParentId());
+        Task movedTask = taskRepository.save(task);
+        
+        TaskResponse response = TaskResponse.fromEntity(movedTask);
+        eventPublisher.publishEvent(TaskEvent.of(TaskEventType.UPDATED, response, owner.getId()));
+        activityLogService.taskUpdated(owner, before, response);
+        return response;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getSubtree(Long projectId, Long taskId, User owner) {
+        Project project = projectService.getProjectEntity(projectId, owner);
+        
+        Task task = taskRepository.findByIdAndProject(taskId, project)
+                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
+        
+        return taskHierarchyService.getSubtree(task)
+                .stream()
+                .map(TaskResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+    
+    @Transactional(readOnly = true)
+    public TaskProgressResponse getTaskProgress(Long projectId, Long taskId, User owner) {
+        Project project = projectService.getProjectEntity(projectId, owner);
+        
+        // Rollups are kept on the row, so this is a single read whatever the depth
+        return taskRepository.findByIdAndProject(taskId, project)
+                .map(TaskProgressResponse::fromEntity)
+                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
+    }
+    
+    /**
+     * Change history of a task, newest first; still readable after the task was deleted.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ActivityResponse> getTaskActivity(Long projectId, Long taskId, String cursor, int limit,
+                                                                User owner) {
+        Project project = projectService.getProjectEntity(projectId, owner);
+        return activityLogService.getActivity(project.getId(), taskId, cursor, limit);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<TaskOccurrenceResponse> getAgenda(Long projectId, LocalDate from, LocalDate to, User owner) {
+        Project project = projectService.getProjectEntity(projectId, owner);
+        
+        return taskRecurrenceService.getAgenda(project.getId(), from, to);
     }
     
     @Transactional(readOnly = true)
@@ -192,4 +368,165 @@ public class TaskService {
                 .map(TaskResponse::fromEntity)
                 .collect(Collectors.toList());
     }
+    
+    /**
+     * Any combination of filters in one keyset-paginated query. sort is "field" or
+     * "field,asc|desc"; a cursor from a previous page continues that page's sort.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskResponse> queryTasks(Long projectId, TaskFilter filter, String sort, String cursor,
+                                                       int limit, User owner) {
+        Project project = projectService.getProjectEntity(projectId, owner);
+        
+        if (filter.dueFrom() != null && filter.dueTo() != null && filter.dueFrom().isAfter(filter.dueTo())) {
+            throw new BadRequestException("dueFrom must not be after dueTo");
+        }
+        String[] sortParts = sort.split(",", 2);
+        TaskSortField sortField = TaskSortField.fromParamName(sortParts[0].trim())
+                .orElseThrow(() -> new BadRequestException("Unknown sort field: " + sortParts[0].trim()));
+        Sort.Direction direction;
+        try {
+            direction = sortParts.length > 1 ? Sort.Direction.fromString(sortParts[1].trim()) : Sort.Direction.ASC;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown sort direction: " + sortParts[1].trim());
+        }
+        
+        TaskCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = TaskCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            if (after.field() != sortField || after.direction() != direction) {
+                throw new BadRequestException("Cursor belongs to a different sort");
+            }
+        }
+        
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_QUERY_LIMIT));
+        // One extra row tells whether another page exists
+        List<Task> tasks = taskRepository.findPage(project.getId(), filter, sortField, direction, after, boundedLimit + 1);
+        boolean hasMore = tasks.size() > boundedLimit;
+        if (hasMore) {
+            tasks = tasks.subList(0, boundedLimit);
+        }
+        
+        return CursorPageResponse.<TaskResponse>builder()
+                .items(tasks.stream().map(TaskResponse::fromEntity).collect(Collectors.toList()))
+                .nextCursor(hasMore ? TaskCursor.after(tasks.get(tasks.size() - 1), sortField, direction).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    /**
+     * True when neither a sparse fieldset nor a non-default view was requested.
+     */
+    public static boolean isFullView(String view, String fields) {
+        return fields == null && (view == null || view.equalsIgnoreCase("full"));
+    }
+    
+    // Not transactional, so summaries served from a loaded snapshot hold no connection
+    public List<?> getTaskProjections(Long projectId, TaskFilter filter, String view, String fields, User owner) {
+        if (fields == null) {
+            requireSummaryView(view);
+            if (taskSnapshotService.serves(filter)) {
+                return taskSnapshotService.getSummaries(projectId, filter, owner);
+            }
+        }
+        Project project = projectService.getProjectEntity(projectId, owner);
+        
+        if (fields != null) {
+            return taskRepository.findFields(project.getId(), filter, parseFields(fields), DEFAULT_LIST_SORT);
+        }
+        return taskRepository.findSummaries(project.getId(), filter, DEFAULT_LIST_SORT);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<?> getTaskProjections(Long projectId, TaskFilter filter, String view, String fields, User owner,
+                                      Pageable pageable) {
+        Project project = projectService.getProjectEntity(projectId, owner);
+        requireSortable(pageable.getSort());
+        
+        if (fields != null) {
+            return taskRepository.findFields(project.getId(), filter, parseFields(fields), pageable);
+        }
+        requireSummaryView(view);
+        return taskRepository.findSummaries(project.getId(), filter, pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public SseEmitter subscribeToTaskEvents(Long projectId, User owner, String lastEventId) {
+        // Ownership check before the stream is opened
+        projectService.getProjectEntity(projectId, owner);
+        
+        return taskEventStreamService.subscribeToProject(owner.getId(), projectId, lastEventId);
+    }
+    
+    // Everything that follows a completion change, shared by toggles, completion and coalesced toggles
+    private TaskResponse saveCompletion(Task task, Long projectId, boolean completedBefore, User owner) {
+        Task updatedTask = taskRepository.save(task);
+        taskHierarchyService.completionChanged(updatedTask, projectId, completedBefore);
+        Optional<Task> nextOccurrence = completedBefore
+                ? Optional.empty()
+                : taskRecurrenceService.scheduleNext(updatedTask, projectId);
+        
+        TaskResponse response = TaskResponse.fromEntity(updatedTask);
+        eventPublisher.publishEvent(TaskEvent.of(TaskEventType.TOGGLED, response, completedBefore, owner.getId()));
+        activityLogService.taskCompletionChanged(owner, response, completedBefore);
+        nextOccurrence.ifPresent(next -> {
+            TaskResponse created = TaskResponse.fromEntity(next);
+            eventPublisher.publishEvent(TaskEvent.of(TaskEventType.CREATED, created, owner.getId()));
+            activityLogService.taskCreated(owner, created);
+        });
+        return response;
+    }
+    
+    private Set<TaskField> parseFields(String fields) {
+        Set<TaskField> parsed = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            parsed.add(TaskField.fromParamName(name.trim())
+                    .orElseThrow(() -> new BadRequestException("Unknown task field: " + name.trim())));
+        }
+        if (parsed.isEmpty()) {
+            throw new BadRequestException("At least one task field is required");
+        }
+        return parsed;
+    }
+    
+    // Labels are matched case-insensitively and must be usable as filter terms
+    private Set<String> normalizeLabels(Set<String> labels) {
+        Set<String> normalized = new HashSet<>();
+        if (labels == null) {
+            return normalized;
+        }
+        for (String label : labels) {
+            String value = label == null ? "" : label.trim().toLowerCase(Locale.ROOT);
+            if (!VALID_LABEL.matcher(value).matches()) {
+                throw new BadRequestException("Invalid label: '" + label + "'; labels are 1-50 characters without spaces, quotes or parentheses");
+            }
+            normalized.add(value);
+        }
+        return normalized;
+    }
+    
+    // Sort properties go into the criteria query as attribute paths, so only known columns are let through
+    private void requireSortable(Sort sort) {
+        for (Sort.Order order : sort) {
+            boolean sortable = TaskField.fromParamName(order.getProperty())
+                    .map(TaskField::isSortable)
+                    .orElse(false);
+            if (!sortable) {
+                throw new BadRequestException("Unknown sort field: " + order.getProperty());
+            }
+        }
+    }
+    
+    private void requireSummaryView(String view) {
+        if (!"summary".equalsIgnoreCase(view)) {
+            throw new BadRequestException("Unknown task view: " + view);
+        }
+    }
 }
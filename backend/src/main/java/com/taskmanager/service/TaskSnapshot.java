@@ -0,0 +1,336 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.ProjectProgressResponse;
+import com.taskmanager.dto.response.TaskSummaryResponse;
+import com.taskmanager.entity.TaskPriority;
+import com.taskmanager.repository.TaskFilter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The tasks of one project as parallel primitive columns, kept in list order: rank compared
+ * byte-wise like the database's "C" collation, tasks without a rank last, then newest first.
+ * Titles and ranks are packed into one UTF-8 buffer, so a task costs about 35 bytes plus its
+ * text and no objects. Summary lists and counts are answered by scanning the columns.
+ */
+class TaskSnapshot {
+    
+    private static final int NO_DUE_DATE = Integer.MIN_VALUE;
+    private static final byte NO_PRIORITY = -1;
+    private static final short NO_RANK = -1;
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+    // Buffers shorter than this are not worth compacting
+    private static final int MIN_COMPACT_LENGTH = 4096;
+    
+    private final long ownerId;
+    private final int archivedTasks;
+    private volatile String projectTitle;
+    
+    private long[] ids = new long[16];
+    private int[] dueDays = new int[16];
+    private byte[] priorities = new byte[16];
+    // Epoch microseconds, the database's precision
+    private long[] createdAt = new long[16];
+    private int[] titleOffsets = new int[16];
+    private short[] titleLengths = new short[16];
+    private int[] rankOffsets = new int[16];
+    private short[] rankLengths = new short[16];
+    private final BitSet completed = new BitSet();
+    private int size;
+    
+    private byte[] text = new byte[1024];
+    private int textLength;
+    // Bytes of replaced titles and ranks, reclaimed by compact
+    private int garbage;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long lastAccess = System.currentTimeMillis();
+    
+    TaskSnapshot(long ownerId, String projectTitle, int archivedTasks) {
+        this.ownerId = ownerId;
+        this.projectTitle = projectTitle;
+        this.archivedTasks = archivedTasks;
+    }
+    
+    long ownerId() {
+        return ownerId;
+    }
+    
+    void setProjectTitle(String projectTitle) {
+        this.projectTitle = projectTitle;
+    }
+    
+    long lastAccess() {
+        return lastAccess;
+    }
+    
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Adds the task or replaces its earlier state, moving it if its rank or creation time changed.
+     * Appending in list order, as a load does, shifts nothing.
+     */
+    void put(long id, String title, boolean isCompleted, TaskPriority priority, LocalDate dueDate, String rank,
+             LocalDateTime created) {
+        byte[] titleBytes = title != null ? title.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        byte[] rankBytes = rank != null ? rank.getBytes(StandardCharsets.US_ASCII) : null;
+        long createdMicros = created != null
+                ? created.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + created.getNano() / 1_000
+                : Long.MAX_VALUE;
+        
+        lock.writeLock().lock();
+        try {
+            int row = indexOf(id);
+            if (row >= 0 && compareRank(row, rankBytes) == 0 && createdAt[row] == createdMicros) {
+                // Same place in the list, as for toggles and most edits
+                garbage += titleLengths[row] + Math.max(rankLengths[row], 0);
+            } else {
+                if (row >= 0) {
+                    removeAt(row);
+                }
+                row = insertionPoint(rankBytes, createdMicros, id);
+                insertAt(row);
+                ids[row] = id;
+                createdAt[row] = createdMicros;
+            }
+            dueDays[row] = dueDate != null ? (int) dueDate.toEpochDay() : NO_DUE_DATE;
+            priorities[row] = priority != null ? (byte) priority.ordinal() : NO_PRIORITY;
+            completed.set(row, isCompleted);
+            titleOffsets[row] = append(titleBytes);
+            titleLengths[row] = (short) titleBytes.length;
+            rankOffsets[row] = rankBytes != null ? append(rankBytes) : 0;
+            rankLengths[row] = rankBytes != null ? (short) rankBytes.length : NO_RANK;
+            
+            if (garbage > MIN_COMPACT_LENGTH && garbage * 2 > textLength) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int row = indexOf(id);
+            if (row >= 0) {
+                removeAt(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Tasks matching the filter in list order, with the same semantics as the database query.
+     * Text search is not supported; descriptions are not kept.
+     */
+    List<TaskSummaryResponse> summaries(TaskFilter filter) {
+        if (filter.text() != null && !filter.text().isBlank()) {
+            throw new IllegalArgumentException("Task snapshots cannot answer text searches");
+        }
+        boolean[] allowedPriorities = null;
+        if (filter.priorities() != null && !filter.priorities().isEmpty()) {
+            allowedPriorities = new boolean[PRIORITIES.length];
+            for (TaskPriority priority : filter.priorities()) {
+                allowedPriorities[priority.ordinal()] = true;
+            }
+        }
+        int dueFrom = filter.dueFrom() != null ? (int) filter.dueFrom().toEpochDay() : NO_DUE_DATE;
+        int dueTo = filter.dueTo() != null ? (int) filter.dueTo().toEpochDay() : Integer.MAX_VALUE;
+        boolean dueBounded = filter.dueFrom() != null || filter.dueTo() != null || filter.overdueOn() != null;
+        int dueBefore = filter.overdueOn() != null ? (int) filter.overdueOn().toEpochDay() : Integer.MAX_VALUE;
+        
+        lastAccess = System.currentTimeMillis();
+        lock.readLock().lock();
+        try {
+            List<TaskSummaryResponse> matches = new ArrayList<>();
+            for (int row = 0; row < size; row++) {
+                boolean isCompleted = completed.get(row);
+                if (filter.completed() != null && isCompleted != filter.completed()) {
+                    continue;
+                }
+                if (filter.overdueOn() != null && isCompleted) {
+                    continue;
+                }
+                if (allowedPriorities != null && (priorities[row] == NO_PRIORITY || !allowedPriorities[priorities[row]])) {
+                    continue;
+                }
+                int due = dueDays[row];
+                // Comparisons with a missing due date are false in SQL
+                if (dueBounded && (due == NO_DUE_DATE || due < dueFrom || due > dueTo || due >= dueBefore)) {
+                    continue;
+                }
+                matches.add(new TaskSummaryResponse(ids[row],
+                        new String(text, titleOffsets[row], titleLengths[row], StandardCharsets.UTF_8),
+                        isCompleted,
+                        priorities[row] != NO_PRIORITY ? PRIORITIES[priorities[row]] : null,
+                        due != NO_DUE_DATE ? LocalDate.ofEpochDay(due) : null));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Archived tasks were all completed, so they count as done
+    ProjectProgressResponse progress(Long projectId) {
+        lastAccess = System.currentTimeMillis();
+        lock.readLock().lock();
+        try {
+            return ProjectProgressResponse.of(projectId, projectTitle, (long) size + archivedTasks,
+                    (long) completed.cardinality() + archivedTasks);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Approximate retained heap
+    long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long perRow = Long.BYTES * 2 + Integer.BYTES * 3 + Short.BYTES * 2 + 1;
+            return 256 + perRow * ids.length + completed.size() / 8 + text.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private int indexOf(long id) {
+        for (int row = 0; row < size; row++) {
+            if (ids[row] == id) {
+                return row;
+            }
+        }
+        return -1;
+    }
+    
+    // First row that sorts after the key
+    private int insertionPoint(byte[] rank, long createdMicros, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareTo(mid, rank, createdMicros, id) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private int compareTo(int row, byte[] rank, long createdMicros, long id) {
+        int byRank = compareRank(row, rank);
+        if (byRank != 0) {
+            return byRank;
+        }
+        if (createdAt[row] != createdMicros) {
+            return createdAt[row] > createdMicros ? -1 : 1;
+        }
+        return Long.compare(ids[row], id);
+    }
+    
+    private int compareRank(int row, byte[] rank) {
+        if (rankLengths[row] == NO_RANK) {
+            return rank == null ? 0 : 1;
+        }
+        if (rank == null) {
+            return -1;
+        }
+        return Arrays.compareUnsigned(text, rankOffsets[row], rankOffsets[row] + rankLengths[row], rank, 0, rank.length);
+    }
+    
+    private void insertAt(int row) {
+        if (size == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            dueDays = Arrays.copyOf(dueDays, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            titleOffsets = Arrays.copyOf(titleOffsets, capacity);
+            titleLengths = Arrays.copyOf(titleLengths, capacity);
+            rankOffsets = Arrays.copyOf(rankOffsets, capacity);
+            rankLengths = Arrays.copyOf(rankLengths, capacity);
+        }
+        int moved = size - row;
+        if (moved > 0) {
+            System.arraycopy(ids, row, ids, row + 1, moved);
+            System.arraycopy(dueDays, row, dueDays, row + 1, moved);
+            System.arraycopy(priorities, row, priorities, row + 1, moved);
+            System.arraycopy(createdAt, row, createdAt, row + 1, moved);
+            System.arraycopy(titleOffsets, row, titleOffsets, row + 1, moved);
+            System.arraycopy(titleLengths, row, titleLengths, row + 1, moved);
+            System.arraycopy(rankOffsets, row, rankOffsets, row + 1, moved);
+            System.arraycopy(rankLengths, row, rankLengths, row + 1, moved);
+            for (int i = size; i > row; i--) {
+                completed.set(i, completed.get(i - 1));
+            }
+        }
+        size++;
+    }
+    
+    private void removeAt(int row) {
+        garbage += titleLengths[row] + Math.max(rankLengths[row], 0);
+        int moved = size - row - 1;
+        if (moved > 0) {
+            System.arraycopy(ids, row + 1, ids, row, moved);
+            System.arraycopy(dueDays, row + 1, dueDays, row, moved);
+            System.arraycopy(priorities, row + 1, priorities, row, moved);
+            System.arraycopy(createdAt, row + 1, createdAt, row, moved);
+            System.arraycopy(titleOffsets, row + 1, titleOffsets, row, moved);
+            System.arraycopy(titleLengths, row + 1, titleLengths, row, moved);
+            System.arraycopy(rankOffsets, row + 1, rankOffsets, row, moved);
+            System.arraycopy(rankLengths, row + 1, rankLengths, row, moved);
+            for (int i = row; i < size - 1; i++) {
+                completed.set(i, completed.get(i + 1));
+            }
+        }
+        size--;
+        completed.clear(size);
+    }
+    
+    private int append(byte[] bytes) {
+        if (textLength + bytes.length > text.length) {
+            text = Arrays.copyOf(text, Math.max(text.length * 2, textLength + bytes.length));
+        }
+        System.arraycopy(bytes, 0, text, textLength, bytes.length);
+        int offset = textLength;
+        textLength += bytes.length;
+        return offset;
+    }
+    
+    private void compact() {
+        byte[] compacted = new byte[Math.max(1024, (textLength - garbage) * 2)];
+        int length = 0;
+        for (int row = 0; row < size; row++) {
+            System.arraycopy(text, titleOffsets[row], compacted, length, titleLengths[row]);
+            titleOffsets[row] = length;
+            length += titleLengths[row];
+            if (rankLengths[row] != NO_RANK) {
+                System.arraycopy(text, rankOffsets[row], compacted, length, rankLengths[row]);
+                rankOffsets[row] = length;
+                length += rankLengths[row];
+            }
+        }
+        text = compacted;
+        textLength = length;
+        garbage = 0;
+    }
+}
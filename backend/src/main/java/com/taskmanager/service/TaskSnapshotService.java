@@ -0,0 +1,159 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.ProjectProgressResponse;
+import com.taskmanager.dto.response.TaskResponse;
+import com.taskmanager.dto.response.TaskSummaryResponse;
+import com.taskmanager.entity.User;
+import com.taskmanager.event.ProjectEvent;
+import com.taskmanager.event.ProjectEventType;
+import com.taskmanager.event.TaskEvent;
+import com.taskmanager.event.TaskEventType;
+import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.ProjectTaskCounts;
+import com.taskmanager.repository.TaskFilter;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskSnapshotRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Summary task lists and progress of recently listed projects, answered from columnar
+ * snapshots in memory instead of the database. A snapshot is loaded on the first summary list
+ * of a project and then kept current from committed task events; snapshots are evicted least
+ * recently used first once together they exceed {@code tasks.snapshot.memory-budget}. Bulk
+ * writes that publish no task events must call invalidate or invalidateAll.
+ */
+@Service
+@Slf4j
+public class TaskSnapshotService {
+    
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final boolean enabled;
+    private final VersionedCache<Long, TaskSnapshot> snapshots;
+    
+    public TaskSnapshotService(
+            TaskRepository taskRepository,
+            ProjectRepository projectRepository,
+            @Value("${tasks.snapshot.enabled:true}") boolean enabled,
+            @Value("${tasks.snapshot.memory-budget:33554432}") long memoryBudget) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.enabled = enabled;
+        this.snapshots = new VersionedCache<>("task snapshot of project ID", memoryBudget,
+                TaskSnapshot::sizeInBytes, TaskSnapshot::lastAccess);
+    }
+    
+    // Snapshots keep no descriptions, so text searches go to the database
+    public boolean serves(TaskFilter filter) {
+        return enabled && (filter.text() == null || filter.text().isBlank());
+    }
+    
+    /**
+     * Summaries of the project's tasks matching the filter, in list order. Loads the snapshot
+     * when the project has none; no transaction is needed, and a loaded one is read without
+     * touching the database.
+     */
+    public List<TaskSummaryResponse> getSummaries(Long projectId, TaskFilter filter, User owner) {
+        TaskSnapshot snapshot = snapshots.getOrLoad(projectId, id -> load(id, owner));
+        if (snapshot.ownerId() != owner.getId()) {
+            throw new ResourceNotFoundException("Project", "id", projectId);
+        }
+        return snapshot.summaries(filter);
+    }
+    
+    // Only from a snapshot that is already loaded; progress alone is cheaper to count in the database
+    public Optional<ProjectProgressResponse> findProgress(Long projectId, User owner) {
+        TaskSnapshot snapshot = enabled ? snapshots.get(projectId) : null;
+        if (snapshot == null || snapshot.ownerId() != owner.getId()) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot.progress(projectId));
+    }
+    
+    /**
+     * Drops the project's snapshot once the current transaction commits, or right away outside
+     * one. For writes to the project's tasks that publish no task events.
+     */
+    public void invalidate(Long projectId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    drop(projectId);
+                }
+            });
+        } else {
+            drop(projectId);
+        }
+    }
+    
+    // For bulk writes across projects, after they committed
+    public void invalidateAll() {
+        snapshots.clear();
+        log.debug("Dropped all task snapshots");
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskEvent(TaskEvent event) {
+        TaskSnapshot snapshot = snapshots.changed(event.getProjectId());
+        if (snapshot == null) {
+            return;
+        }
+        if (event.getType() == TaskEventType.DELETED) {
+            snapshot.remove(event.getTaskId());
+        } else {
+            TaskResponse task = event.getTask();
+            snapshot.put(task.getId(), task.getTitle(), task.isCompleted(), task.getPriority(), task.getDueDate(),
+                    task.getRank(), task.getCreatedAt());
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProjectEvent(ProjectEvent event) {
+        if (event.getType() == ProjectEventType.DELETED) {
+            drop(event.getProjectId());
+        } else if (event.getType() == ProjectEventType.UPDATED) {
+            TaskSnapshot snapshot = snapshots.get(event.getProjectId());
+            if (snapshot != null) {
+                snapshot.setProjectTitle(event.getProject().getTitle());
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${tasks.snapshot.eviction-interval:60000}")
+    public void evictOverBudget() {
+        snapshots.evictOverBudget();
+    }
+    
+    private void drop(Long projectId) {
+        if (snapshots.remove(projectId)) {
+            log.debug("Dropped task snapshot of project ID: {}", projectId);
+        }
+    }
+    
+    private TaskSnapshot load(Long projectId, User owner) {
+        ProjectTaskCounts project = projectRepository.findTaskCountsByOwnerAndIds(owner, List.of(projectId))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
+        TaskSnapshot snapshot = new TaskSnapshot(owner.getId(), project.getTitle(), project.getArchivedTasks());
+        for (TaskSnapshotRow task : taskRepository.findSnapshotRowsByProjectId(projectId)) {
+            snapshot.put(task.getId(), task.getTitle(), Boolean.TRUE.equals(task.getCompleted()), task.getPriority(),
+                    task.getDueDate(), task.getRank(), task.getCreatedAt());
+        }
+        log.debug("Loaded task snapshot of project ID: {} ({} tasks, {} bytes)",
+                projectId, snapshot.size(), snapshot.sizeInBytes());
+        return snapshot;
+    }
+}
@@ -0,0 +1,302 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.TaskResponse;
+import com.taskmanager.entity.User;
+import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.sharding.ShardContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Opt-in write coalescing for toggles ({@code tasks.toggle-coalescing.enabled}). The first
+ * toggle of a task reads it; further toggles within the window only flip its pending state in
+ * memory. Every toggle is answered right away with the resulting state. Only the final state
+ * is written, in one transaction per user, and nothing at all when the toggles cancel out.
+ *
+ * Guarantees: pending state is written at most window + tick after the toggle that started
+ * it; due toggles are flushed on a thread of their own, so slow scheduled jobs cannot delay them. Any other request of the same user on this instance first writes their pending toggles,
+ * so they read their own writes. Other instances, task events, webhooks and the activity log
+ * only see the final state once it is written. Acknowledged toggles that are not written yet
+ * are lost if the instance crashes.
+ */
+@Service
+@Slf4j
+public class TaskToggleCoalescer {
+    
+    // Consecutive failed writes after which a pending state is given up
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+    
+    private final TaskService taskService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final long tickMillis;
+    private ScheduledExecutorService flusher;
+    
+    private final Map<Long, OwnerToggles> pendingByOwner = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    
+    private final Counter acknowledged;
+    private final Counter written;
+    private final Counter cancelled;
+    private final Counter dropped;
+    
+    // Pending toggles of one user; fields are guarded by the instance's monitor
+    private static final class OwnerToggles {
+        
+        private final User owner;
+        private final int shard;
+        private final Map<Long, PendingToggle> tasks = new LinkedHashMap<>();
+        // One write per user at a time; a request waiting for it sees its result
+        private final ReentrantLock writeLock = new ReentrantLock();
+        // Set once removed from pendingByOwner; toggles then start over with a new instance
+        private boolean closed;
+        
+        private OwnerToggles(User owner, int shard) {
+            this.owner = owner;
+            this.shard = shard;
+        }
+    }
+    
+    private static final class PendingToggle {
+        
+        private final Long projectId;
+        // As last acknowledged
+        private TaskResponse state;
+        // Completion as last read or written
+        private boolean persisted;
+        private long dueAt;
+        private int failedAttempts;
+        
+        private PendingToggle(Long projectId, TaskResponse state, long dueAt) {
+            this.projectId = projectId;
+            this.state = state;
+            this.persisted = state.isCompleted();
+            this.dueAt = dueAt;
+        }
+    }
+    
+    private record Write(Long taskId, Long projectId, boolean completed) {
+    }
+    
+    public TaskToggleCoalescer(
+            TaskService taskService,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${tasks.toggle-coalescing.enabled:false}") boolean enabled,
+            @Value("${tasks.toggle-coalescing.window:500}") long windowMillis,
+            @Value("${tasks.toggle-coalescing.tick:100}") long tickMillis) {
+        this.taskService = taskService;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        this.tickMillis = tickMillis;
+        
+        this.acknowledged = meterRegistry.counter("tasks.toggles", "outcome", "acknowledged");
+        this.written = meterRegistry.counter("tasks.toggles", "outcome", "written");
+        this.cancelled = meterRegistry.counter("tasks.toggles", "outcome", "cancelled");
+        this.dropped = meterRegistry.counter("tasks.toggles", "outcome", "dropped");
+        Gauge.builder("tasks.toggles.pending", pendingCount, AtomicInteger::get).register(meterRegistry);
+    }
+    
+    public TaskResponse toggle(Long projectId, Long taskId, User owner) {
+        if (!enabled) {
+            return taskService.toggleTaskCompletion(projectId, taskId, owner);
+        }
+        
+        while (true) {
+            OwnerToggles toggles = pendingByOwner.computeIfAbsent(owner.getId(),
+                    id -> new OwnerToggles(owner, ShardContext.current()));
+            synchronized (toggles) {
+                if (toggles.closed) {
+                    continue;
+                }
+                PendingToggle pending = toggles.tasks.get(taskId);
+                if (pending != null) {
+                    return flip(pending, projectId, taskId);
+                }
+            }
+            
+            // First toggle within the window; the read also checks access
+            TaskResponse current = taskService.getTaskById(projectId, taskId, owner);
+            synchronized (toggles) {
+                if (toggles.closed) {
+                    continue;
+                }
+                // A concurrent first toggle may have got here first
+                PendingToggle pending = toggles.tasks.get(taskId);
+                if (pending == null) {
+                    pending = new PendingToggle(projectId, current, System.currentTimeMillis() + windowMillis);
+                    toggles.tasks.put(taskId, pending);
+                    pendingCount.incrementAndGet();
+                }
+                return flip(pending, projectId, taskId);
+            }
+        }
+    }
+    
+    /**
+     * Writes the user's pending toggles now, waiting for a write already under way. Called
+     * before every other request of the user.
+     */
+    public void flush(Long userId) {
+        OwnerToggles toggles = pendingByOwner.get(userId);
+        if (toggles != null && !write(toggles, true)) {
+            throw new IllegalStateException("Pending toggles of user " + userId + " could not be written");
+        }
+    }
+    
+    // Not on the shared scheduler, where deletions or webhook publishing could hold it for minutes
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "toggle-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushDue, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    public void flushDue() {
+        try {
+            pendingByOwner.values().forEach(toggles -> write(toggles, false));
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic flush
+            log.error("Flushing coalesced toggles failed", e);
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(tickMillis + 5_000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        pendingByOwner.values().forEach(toggles -> write(toggles, true));
+    }
+    
+    int pendingCount() {
+        return pendingCount.get();
+    }
+    
+    // Must hold the monitor of the pending toggle's owner
+    private TaskResponse flip(PendingToggle pending, Long projectId, Long taskId) {
+        if (!pending.projectId.equals(projectId)) {
+            throw new ResourceNotFoundException("Task", "id", taskId);
+        }
+        boolean completed = !pending.state.isCompleted();
+        LocalDate dueDate = pending.state.getDueDate();
+        pending.state = pending.state.toBuilder()
+                .completed(completed)
+                .completedAt(completed ? LocalDateTime.now() : null)
+                .overdue(dueDate != null && !completed && LocalDate.now().isAfter(dueDate))
+                .build();
+        acknowledged.increment();
+        return pending.state;
+    }
+    
+    /**
+     * Writes the due pending toggles of a user, or all of them, and forgets those whose state
+     * is now stored. Returns false if the write failed.
+     */
+    private boolean write(OwnerToggles toggles, boolean all) {
+        toggles.writeLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            List<Write> writes = new ArrayList<>();
+            List<Long> settled = new ArrayList<>();
+            synchronized (toggles) {
+                toggles.tasks.forEach((taskId, pending) -> {
+                    if (all || pending.dueAt <= now) {
+                        boolean completed = pending.state.isCompleted();
+                        if (completed != pending.persisted) {
+                            writes.add(new Write(taskId, pending.projectId, completed));
+                        } else {
+                            settled.add(taskId);
+                        }
+                    }
+                });
+                settled.forEach(taskId -> forget(toggles, taskId));
+                cancelled.increment(settled.size());
+            }
+            
+            boolean success = true;
+            if (!writes.isEmpty()) {
+                try {
+                    Integer count = ShardContext.call(toggles.shard, () -> transactionTemplate.execute(status -> {
+                        int changed = 0;
+                        for (Write write : writes) {
+                            if (taskService.setCompletion(write.projectId(), write.taskId(), write.completed(), toggles.owner)) {
+                                changed++;
+                            }
+                        }
+                        return changed;
+                    }));
+                    written.increment(count != null ? count : 0);
+                } catch (RuntimeException e) {
+                    log.warn("Writing {} coalesced toggles of user {} failed", writes.size(), toggles.owner.getId(), e);
+                    success = false;
+                }
+            }
+            
+            synchronized (toggles) {
+                for (Write write : writes) {
+                    PendingToggle pending = toggles.tasks.get(write.taskId());
+                    if (success) {
+                        pending.persisted = write.completed();
+                        pending.failedAttempts = 0;
+                        if (pending.state.isCompleted() == pending.persisted) {
+                            forget(toggles, write.taskId());
+                        } else {
+                            // Toggled again while being written
+                            pending.dueAt = now + windowMillis;
+                        }
+                    } else if (++pending.failedAttempts >= MAX_WRITE_ATTEMPTS) {
+                        log.error("Dropping coalesced toggle of task {} after {} failed writes", write.taskId(), pending.failedAttempts);
+                        forget(toggles, write.taskId());
+                        dropped.increment();
+                    }
+                }
+                if (toggles.tasks.isEmpty()) {
+                    toggles.closed = true;
+                    pendingByOwner.remove(toggles.owner.getId(), toggles);
+                }
+            }
+            return success;
+        } finally {
+            toggles.writeLock.unlock();
+        }
+    }
+    
+    private void forget(OwnerToggles toggles, Long taskId) {
+        toggles.tasks.remove(taskId);
+        pendingCount.decrementAndGet();
+    }
+}
@@ -0,0 +1,261 @@
+package com.taskmanager.service;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical timing wheel of ids with deadlines. Level 0 has one slot per tick; each higher
+ * level's slot spans a full turn of the level below and is cascaded down when that turn
+ * begins. Scheduling and cancelling are O(1); advancing costs one slot per elapsed tick plus
+ * the entries that expire or cascade.
+ *
+ * Entries live in parallel primitive arrays, chained into per-slot doubly linked lists, with
+ * an open-addressing id index, so an entry costs around 50 bytes and no objects. Not
+ * thread-safe.
+ */
+final class TimingWheel {
+    
+    private static final int NONE = -1;
+    
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final long horizonTicks;
+    // First entry of each slot, level by level
+    private final int[] heads;
+    private long currentTick;
+    
+    private long[] ids = new long[16];
+    private long[] deadlines = new long[16];
+    private int[] next = new int[16];
+    private int[] prev = new int[16];
+    private int[] slots = new int[16];
+    private int allocated;
+    private int freeList = NONE;
+    private int size;
+    
+    // id -> entry, linear probing
+    private long[] indexKeys = new long[32];
+    private int[] indexValues = filled(32);
+    
+    TimingWheel(long tickMillis, int slotsPerLevel, int levels, long nowMillis) {
+        if (tickMillis < 1 || Integer.bitCount(slotsPerLevel) != 1 || slotsPerLevel < 2 || levels < 1) {
+            throw new IllegalArgumentException("Tick must be positive and slots per level a power of two");
+        }
+        this.bits = Integer.numberOfTrailingZeros(slotsPerLevel);
+        if (bits * levels > 62) {
+            throw new IllegalArgumentException("Timing wheel horizon too large");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = slotsPerLevel - 1;
+        this.levels = levels;
+        this.horizonTicks = 1L << (bits * levels);
+        this.heads = filled(slotsPerLevel * levels);
+        this.currentTick = nowMillis / tickMillis;
+    }
+    
+    // Deadlines must be less than this far ahead of the wheel's current time
+    long horizonMillis() {
+        return (horizonTicks - 1) * tickMillis;
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    /**
+     * Schedules the id, replacing an earlier deadline for it. Past deadlines expire on the next
+     * advance. Returns false, without scheduling, when the deadline is beyond the horizon.
+     */
+    boolean schedule(long id, long deadlineMillis) {
+        long deadline = Math.max(deadlineMillis / tickMillis, currentTick + 1);
+        if (deadline - currentTick >= horizonTicks) {
+            return false;
+        }
+        cancel(id);
+        
+        int entry = allocate();
+        ids[entry] = id;
+        deadlines[entry] = deadline;
+        indexPut(id, entry);
+        link(entry);
+        size++;
+        return true;
+    }
+    
+    boolean cancel(long id) {
+        int entry = indexRemove(id);
+        if (entry == NONE) {
+            return false;
+        }
+        unlink(entry);
+        release(entry);
+        size--;
+        return true;
+    }
+    
+    /**
+     * Moves the wheel to nowMillis and passes every id whose deadline has been reached to
+     * expired, tick by tick.
+     */
+    void advance(long nowMillis, LongConsumer expired) {
+        long target = nowMillis / tickMillis;
+        if (size == 0 && target > currentTick) {
+            // Nothing to expire or cascade, so the slots in between need no visit
+            currentTick = target;
+            return;
+        }
+        while (currentTick < target) {
+            currentTick++;
+            // Highest level first, so entries cascaded into a lower slot due now are handled this tick
+            for (int level = levels - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                    cascade(level, (int) ((currentTick >>> (bits * level)) & mask));
+                }
+            }
+            
+            int slot = (int) (currentTick & mask);
+            int entry = heads[slot];
+            heads[slot] = NONE;
+            while (entry != NONE) {
+                int following = next[entry];
+                long id = ids[entry];
+                indexRemove(id);
+                release(entry);
+                size--;
+                expired.accept(id);
+                entry = following;
+            }
+        }
+    }
+    
+    private void cascade(int level, int slot) {
+        int bucket = level * (mask + 1) + slot;
+        int entry = heads[bucket];
+        heads[bucket] = NONE;
+        while (entry != NONE) {
+            int following = next[entry];
+            link(entry);
+            entry = following;
+        }
+    }
+    
+    // Lowest level whose turn still reaches the deadline
+    private void link(int entry) {
+        long delta = deadlines[entry] - currentTick;
+        int level = delta <= 0 ? 0 : (63 - Long.numberOfLeadingZeros(delta)) / bits;
+        int bucket = level * (mask + 1) + (int) ((deadlines[entry] >>> (bits * level)) & mask);
+        
+        slots[entry] = bucket;
+        prev[entry] = NONE;
+        next[entry] = heads[bucket];
+        if (heads[bucket] != NONE) {
+            prev[heads[bucket]] = entry;
+        }
+        heads[bucket] = entry;
+    }
+    
+    private void unlink(int entry) {
+        if (prev[entry] != NONE) {
+            next[prev[entry]] = next[entry];
+        } else {
+            heads[slots[entry]] = next[entry];
+        }
+        if (next[entry] != NONE) {
+            prev[next[entry]] = prev[entry];
+        }
+    }
+    
+    private int allocate() {
+        if (freeList != NONE) {
+            int entry = freeList;
+            freeList = next[entry];
+            return entry;
+        }
+        if (allocated == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            slots = Arrays.copyOf(slots, capacity);
+        }
+        return allocated++;
+    }
+    
+    private void release(int entry) {
+        next[entry] = freeList;
+        freeList = entry;
+    }
+    
+    private void indexPut(long id, int entry) {
+        if (size * 2 >= indexKeys.length) {
+            resizeIndex(indexKeys.length * 2);
+        }
+        int i = indexSlot(id);
+        while (indexValues[i] != NONE) {
+            i = (i + 1) & (indexKeys.length - 1);
+        }
+        indexKeys[i] = id;
+        indexValues[i] = entry;
+    }
+    
+    private int indexRemove(long id) {
+        int capacity = indexKeys.length;
+        int i = indexSlot(id);
+        while (indexValues[i] != NONE && indexKeys[i] != id) {
+            i = (i + 1) & (capacity - 1);
+        }
+        int entry = indexValues[i];
+        if (entry == NONE) {
+            return NONE;
+        }
+        
+        // Backward-shift deletion keeps every probe sequence unbroken without tombstones
+        int gap = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & (capacity - 1);
+            if (indexValues[j] == NONE) {
+                break;
+            }
+            int home = indexSlot(indexKeys[j]);
+            if (((j - home) & (capacity - 1)) >= ((j - gap) & (capacity - 1))) {
+                indexKeys[gap] = indexKeys[j];
+                indexValues[gap] = indexValues[j];
+                gap = j;
+            }
+        }
+        indexValues[gap] = NONE;
+        return entry;
+    }
+    
+    private void resizeIndex(int capacity) {
+        long[] oldKeys = indexKeys;
+        int[] oldValues = indexValues;
+        indexKeys = new long[capacity];
+        indexValues = filled(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != NONE) {
+                int j = indexSlot(oldKeys[i]);
+                while (indexValues[j] != NONE) {
+                    j = (j + 1) & (capacity - 1);
+                }
+                indexKeys[j] = oldKeys[i];
+                indexValues[j] = oldValues[i];
+            }
+        }
+    }
+    
+    private int indexSlot(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (indexKeys.length - 1);
+    }
+    
+    private static int[] filled(int length) {
+        int[] array = new int[length];
+        Arrays.fill(array, NONE);
+        return array;
+    }
+}
@@ -0,0 +1,106 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.AutocompleteSuggestion;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted in-memory index over one user's project and task titles. Every word start of a
+ * title is a key, so "login" finds "Fix login bug". Reads are lock-free; writes are
+ * serialised so an entry and its keys change together.
+ */
+class TitleIndex {
+    
+    // Later words add little and would only grow the index
+    private static final int MAX_WORDS = 8;
+    private static final char SEPARATOR = '\u0000';
+    
+    private final NavigableMap<String, AutocompleteSuggestion> keys = new ConcurrentSkipListMap<>();
+    private final Map<String, List<String>> keysByEntry = new ConcurrentHashMap<>();
+    private volatile long lastAccess = System.currentTimeMillis();
+    
+    synchronized void put(AutocompleteSuggestion suggestion) {
+        String entryKey = entryKey(suggestion.getType(), suggestion.getId());
+        removeKeys(entryKey);
+        
+        String normalized = normalize(suggestion.getTitle());
+        if (normalized.isEmpty()) {
+            return;
+        }
+        List<String> entryKeys = new ArrayList<>();
+        int start = 0;
+        for (int word = 0; word < MAX_WORDS && start >= 0; word++) {
+            String key = normalized.substring(start) + SEPARATOR + entryKey;
+            keys.put(key, suggestion);
+            entryKeys.add(key);
+            int space = normalized.indexOf(' ', start);
+            start = space < 0 ? -1 : space + 1;
+        }
+        keysByEntry.put(entryKey, entryKeys);
+    }
+    
+    synchronized void remove(AutocompleteSuggestion.Type type, Long id) {
+        removeKeys(entryKey(type, id));
+    }
+    
+    synchronized void removeProject(Long projectId) {
+        List<AutocompleteSuggestion> entries = keys.values().stream()
+                .filter(suggestion -> projectId.equals(suggestion.getProjectId()))
+                .distinct()
+                .toList();
+        entries.forEach(suggestion -> removeKeys(entryKey(suggestion.getType(), suggestion.getId())));
+    }
+    
+    List<AutocompleteSuggestion> search(String prefix, int limit) {
+        lastAccess = System.currentTimeMillis();
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        
+        // A title can match on several words; keep the first hit of each entry
+        Map<String, AutocompleteSuggestion> matches = new LinkedHashMap<>();
+        for (Map.Entry<String, AutocompleteSuggestion> entry
+                : keys.subMap(normalized, true, normalized + Character.MAX_VALUE, false).entrySet()) {
+            AutocompleteSuggestion suggestion = entry.getValue();
+            matches.putIfAbsent(entryKey(suggestion.getType(), suggestion.getId()), suggestion);
+            if (matches.size() >= limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(matches.values());
+    }
+    
+    boolean isIdleSince(long cutoff) {
+        return lastAccess < cutoff;
+    }
+    
+    int size() {
+        return keysByEntry.size();
+    }
+    
+    private void removeKeys(String entryKey) {
+        List<String> previous = keysByEntry.remove(entryKey);
+        if (previous != null) {
+            previous.forEach(keys::remove);
+        }
+    }
+    
+    private static String entryKey(AutocompleteSuggestion.Type type, Long id) {
+        return type.name().charAt(0) + id.toString();
+    }
+    
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,125 @@
+package com.taskmanager.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Per-key values loaded from the database on first use and then kept current by their owner
+ * from committed events. Every committed write to a key bumps its version; a value loaded while
+ * the version changed may be missing that write, so it is served to the caller that loaded it
+ * but not kept. With a memory budget, values are evicted least recently used first once
+ * together they exceed it.
+ */
+@Slf4j
+class VersionedCache<K, V> {
+    
+    private final String name;
+    private final long memoryBudget;
+    private final ToLongFunction<V> sizeInBytes;
+    private final ToLongFunction<V> lastAccess;
+    
+    private final Map<K, V> values = new ConcurrentHashMap<>();
+    private final Map<K, Long> versions = new ConcurrentHashMap<>();
+    // Bumped by clear, for writes whose keys are unknown
+    private final AtomicLong generation = new AtomicLong();
+    
+    // Without a budget; the owner evicts with removeIf
+    VersionedCache(String name) {
+        this(name, Long.MAX_VALUE, value -> 0L, value -> 0L);
+    }
+    
+    VersionedCache(String name, long memoryBudget, ToLongFunction<V> sizeInBytes, ToLongFunction<V> lastAccess) {
+        this.name = name;
+        this.memoryBudget = memoryBudget;
+        this.sizeInBytes = sizeInBytes;
+        this.lastAccess = lastAccess;
+    }
+    
+    V get(K key) {
+        return values.get(key);
+    }
+    
+    /**
+     * The key's value, loaded when there is none. The loader runs outside any lock and may
+     * throw; its result is kept only if no write to the key committed meanwhile.
+     */
+    V getOrLoad(K key, Function<K, V> loader) {
+        V value = values.get(key);
+        if (value != null) {
+            return value;
+        }
+        
+        long version = versions.getOrDefault(key, 0L);
+        long loadedGeneration = generation.get();
+        V loaded = loader.apply(key);
+        V installed = values.compute(key, (k, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            boolean current = versions.getOrDefault(k, 0L) == version && generation.get() == loadedGeneration;
+            return current ? loaded : null;
+        });
+        evictOverBudget(key);
+        return installed != null ? installed : loaded;
+    }
+    
+    // Records a committed write to the key; returns the value to update in place, or null when none is loaded
+    V changed(K key) {
+        versions.merge(key, 1L, Long::sum);
+        return values.get(key);
+    }
+    
+    boolean remove(K key) {
+        versions.merge(key, 1L, Long::sum);
+        return values.remove(key) != null;
+    }
+    
+    void clear() {
+        generation.incrementAndGet();
+        values.clear();
+    }
+    
+    // Not counted as a write: a concurrent load of the key may still be kept
+    void removeIf(Predicate<V> filter) {
+        values.values().removeIf(filter);
+    }
+    
+    void evictOverBudget() {
+        evictOverBudget(null);
+    }
+    
+    // Least recently used first; the value being served is kept even if it alone exceeds the budget
+    private void evictOverBudget(K keep) {
+        if (memoryBudget == Long.MAX_VALUE) {
+            return;
+        }
+        Map<K, Long> sizes = values.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> sizeInBytes.applyAsLong(entry.getValue())));
+        long total = sizes.values().stream().mapToLong(Long::longValue).sum();
+        if (total <= memoryBudget) {
+            return;
+        }
+        
+        List<Map.Entry<K, V>> byAge = values.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> lastAccess.applyAsLong(entry.getValue())))
+                .toList();
+        for (Map.Entry<K, V> entry : byAge) {
+            if (total <= memoryBudget) {
+                break;
+            }
+            if (!entry.getKey().equals(keep) && values.remove(entry.getKey(), entry.getValue())) {
+                total -= sizes.getOrDefault(entry.getKey(), 0L);
+                log.debug("Evicted {}: {}", name, entry.getKey());
+            }
+        }
+    }
+}
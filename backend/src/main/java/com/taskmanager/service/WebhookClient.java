@@ -0,0 +1,218 @@
+package com.taskmanager.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Posts webhook deliveries over plain sockets rather than an HTTP client, so the connection
+ * goes to exactly the addresses that passed the destination check; a second DNS lookup could
+ * otherwise be answered with an internal address (DNS rebinding). TLS still verifies the
+ * certificate against, and sends SNI for, the host name of the URL.
+ */
+@Component
+public class WebhookClient {
+    
+    static final String SIGNATURE_HEADER = "X-TaskManager-Signature";
+    static final String EVENT_HEADER = "X-TaskManager-Event";
+    static final String DELIVERY_HEADER = "X-TaskManager-Delivery";
+    
+    private static final int MAX_STATUS_LINE = 8192;
+    
+    private final int connectTimeout;
+    private final int requestTimeout;
+    private final boolean allowPrivateAddresses;
+    
+    // A URL whose host passed the destination check, with the addresses it was checked against
+    record Destination(URI uri, String host, int port, boolean https, List<InetAddress> addresses) {
+    }
+    
+    public WebhookClient(@Value("${webhooks.connect-timeout:2000}") long connectTimeout,
+                         @Value("${webhooks.request-timeout:5000}") long requestTimeout,
+                         @Value("${webhooks.allow-private-addresses:false}") boolean allowPrivateAddresses) {
+        this.connectTimeout = (int) connectTimeout;
+        this.requestTimeout = (int) requestTimeout;
+        this.allowPrivateAddresses = allowPrivateAddresses;
+    }
+    
+    /**
+     * Posts the payload and throws when the endpoint does not answer with a 2xx status. The
+     * host is resolved and checked again on every send, since its DNS records may have changed
+     * since registration. Redirects are not followed, so an endpoint cannot bounce deliveries
+     * to an internal address.
+     */
+    public void send(String url, String secret, String eventType, long deliveryId, String payload)
+            throws IOException, InterruptedException {
+        Destination destination;
+        try {
+            destination = resolvePublicDestination(url);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/json");
+        headers.put(EVENT_HEADER, eventType);
+        headers.put(DELIVERY_HEADER, String.valueOf(deliveryId));
+        headers.put(SIGNATURE_HEADER, "sha256=" + sign(secret, payload));
+        
+        int status = post(destination, headers, payload.getBytes(StandardCharsets.UTF_8));
+        if (status < 200 || status >= 300) {
+            throw new IOException("Webhook responded with HTTP " + status);
+        }
+    }
+    
+    /**
+     * Rejects URLs that are not http(s) or whose host resolves to a loopback, link-local,
+     * site-local, unique local, wildcard or multicast address, so webhooks cannot reach
+     * internal services. Raises IllegalArgumentException with a message fit for the caller.
+     */
+    public void requirePublicDestination(String url) throws UnknownHostException {
+        resolvePublicDestination(url);
+    }
+    
+    Destination resolvePublicDestination(String url) throws UnknownHostException {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Webhook URL is malformed");
+        }
+        if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+            throw new IllegalArgumentException("Webhook URL must use http or https");
+        }
+        if (uri.getHost() == null) {
+            throw new IllegalArgumentException("Webhook URL has no host");
+        }
+        
+        List<InetAddress> addresses = List.of(InetAddress.getAllByName(uri.getHost()));
+        if (!allowPrivateAddresses) {
+            // Every address, since the connection may go to any of them
+            for (InetAddress address : addresses) {
+                if (isInternal(address)) {
+                    throw new IllegalArgumentException("Webhook host " + uri.getHost() + " resolves to a non-public address");
+                }
+            }
+        }
+        boolean https = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : https ? 443 : 80;
+        // IPv6 literals keep their brackets in the URI
+        String host = uri.getHost().replaceAll("^\\[|]$", "");
+        return new Destination(uri, host, port, https, addresses);
+    }
+    
+    // One HTTP/1.1 request per connection; only the status line of the response is read
+    int post(Destination destination, Map<String, String> headers, byte[] body) throws IOException {
+        URI uri = destination.uri();
+        String target = (uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath())
+                + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+        String authority = uri.getPort() != -1 ? uri.getHost() + ":" + uri.getPort() : uri.getHost();
+        
+        StringBuilder head = new StringBuilder()
+                .append("POST ").append(target).append(" HTTP/1.1\r\n")
+                .append("Host: ").append(authority).append("\r\n")
+                .append("Content-Length: ").append(body.length).append("\r\n")
+                .append("Connection: close\r\n");
+        headers.forEach((name, value) -> head.append(name).append(": ").append(value).append("\r\n"));
+        head.append("\r\n");
+        
+        try (Socket socket = connect(destination)) {
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+            out.write(body);
+            out.flush();
+            return readStatus(socket.getInputStream());
+        }
+    }
+    
+    private Socket connect(Destination destination) throws IOException {
+        IOException failure = null;
+        for (InetAddress address : destination.addresses()) {
+            Socket socket = new Socket();
+            try {
+                socket.connect(new InetSocketAddress(address, destination.port()), connectTimeout);
+                socket.setSoTimeout(requestTimeout);
+                if (!destination.https()) {
+                    return socket;
+                }
+                SSLSocket tls = (SSLSocket) ((SSLSocketFactory) SSLSocketFactory.getDefault())
+                        .createSocket(socket, destination.host(), destination.port(), true);
+                SSLParameters parameters = tls.getSSLParameters();
+                parameters.setEndpointIdentificationAlgorithm("HTTPS");
+                tls.setSSLParameters(parameters);
+                tls.startHandshake();
+                return tls;
+            } catch (IOException e) {
+                socket.close();
+                if (failure != null) {
+                    e.addSuppressed(failure);
+                }
+                failure = e;
+            }
+        }
+        throw failure != null ? failure : new IOException("Webhook host has no address");
+    }
+    
+    private static int readStatus(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            if (line.size() >= MAX_STATUS_LINE) {
+                throw new IOException("Webhook response status line is too long");
+            }
+            line.write(b);
+        }
+        // e.g. "HTTP/1.1 204 No Content"
+        String[] parts = line.toString(StandardCharsets.ISO_8859_1).trim().split(" ", 3);
+        if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+            throw new IOException("Webhook response is not HTTP");
+        }
+        try {
+            return Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IOException("Webhook response has no status code");
+        }
+    }
+    
+    static boolean isInternal(InetAddress address) {
+        return address.isAnyLocalAddress()
+                || address.isLoopbackAddress()
+                || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress()
+                || address.isMulticastAddress()
+                // fc00::/7, the IPv6 counterpart of the private IPv4 ranges
+                || (address instanceof Inet6Address && (address.getAddress()[0] & 0xfe) == 0xfc);
+    }
+    
+    static String sign(String secret, String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.DeliveryStatus;
+import com.taskmanager.entity.OutboxEvent;
+import com.taskmanager.entity.Webhook;
+import com.taskmanager.entity.WebhookDelivery;
+import com.taskmanager.repository.OutboxEventRepository;
+import com.taskmanager.repository.WebhookDeliveryRepository;
+import com.taskmanager.repository.WebhookRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox in batches and delivers events to the owners' webhooks.
+ * Runs entirely off the request path; HTTP calls are made outside any transaction.
+ */
+@Service
+@Slf4j
+public class WebhookPublisher {
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final WebhookRepository webhookRepository;
+    private final WebhookDeliveryRepository webhookDeliveryRepository;
+    private final WebhookClient webhookClient;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardDirectory shardDirectory;
+    private final ExecutorService deliveryExecutor;
+    private final Map<Long, EndpointCircuitBreaker> breakers = new ConcurrentHashMap<>();
+    
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final long leaseMillis;
+    private final int failureThreshold;
+    private final long circuitOpenMillis;
+    
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter abandoned;
+    private final Counter shortCircuited;
+    private final Timer deliveryTimer;
+    
+    public WebhookPublisher(
+            OutboxEventRepository outboxEventRepository,
+            WebhookRepository webhookRepository,
+            WebhookDeliveryRepository webhookDeliveryRepository,
+            WebhookClient webhookClient,
+            TransactionTemplate transactionTemplate,
+            ShardDirectory shardDirectory,
+            MeterRegistry meterRegistry,
+            @Value("${webhooks.batch-size:100}") int batchSize,
+            @Value("${webhooks.max-concurrency:8}") int maxConcurrency,
+            @Value("${webhooks.max-attempts:10}") int maxAttempts,
+            @Value("${webhooks.initial-backoff:1000}") long initialBackoff,
+            @Value("${webhooks.max-backoff:3600000}") long maxBackoff,
+            @Value("${webhooks.lease:60000}") long leaseMillis,
+            @Value("${webhooks.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${webhooks.circuit.open-duration:60000}") long circuitOpenMillis) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.webhookRepository = webhookRepository;
+        this.webhookDeliveryRepository = webhookDeliveryRepository;
+        this.webhookClient = webhookClient;
+        this.transactionTemplate = transactionTemplate;
+        this.shardDirectory = shardDirectory;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.leaseMillis = leaseMillis;
+        this.failureThreshold = failureThreshold;
+        this.circuitOpenMillis = circuitOpenMillis;
+        
+        AtomicInteger threadCount = new AtomicInteger();
+        this.deliveryExecutor = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "webhook-delivery-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        this.delivered = meterRegistry.counter("webhooks.deliveries", "outcome", "delivered");
+        this.failed = meterRegistry.counter("webhooks.deliveries", "outcome", "failed");
+        this.abandoned = meterRegistry.counter("webhooks.deliveries", "outcome", "abandoned");
+        this.shortCircuited = meterRegistry.counter("webhooks.deliveries", "outcome", "short_circuited");
+        this.deliveryTimer = meterRegistry.timer("webhooks.delivery.latency");
+        Gauge.builder("webhooks.circuits.open", breakers,
+                        b -> b.values().stream().filter(cb -> cb.isOpen(System.currentTimeMillis())).count())
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${webhooks.poll-interval:1000}")
+    public void publish() {
+        shardDirectory.forEachShard("Webhook publishing", shard -> {
+            // Keep draining while full batches come back, so bursts clear quickly
+            int fannedOut;
+            do {
+                fannedOut = fanOutBatch();
+            } while (fannedOut == batchSize);
+            
+            int attempted;
+            do {
+                attempted = deliverBatch();
+            } while (attempted == batchSize);
+        });
+    }
+    
+    @Scheduled(cron = "${webhooks.cleanup-cron:0 30 3 * * *}")
+    public void purgeHistory() {
+        LocalDateTime before = LocalDateTime.now().minusDays(7);
+        shardDirectory.forEachShard("Webhook history purge", shard -> transactionTemplate.executeWithoutResult(status -> {
+            int deliveries = webhookDeliveryRepository.deleteFinishedBefore(before);
+            int events = outboxEventRepository.deleteProcessedBefore(before);
+            log.info("Purged {} webhook deliveries and {} outbox events on shard {}", deliveries, events, shard);
+        }));
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        deliveryExecutor.shutdownNow();
+    }
+    
+    // Turns outbox events into one pending delivery per active webhook of the owner
+    private int fanOutBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.claimUnprocessed(batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            
+            Set<Long> ownerIds = events.stream().map(OutboxEvent::getOwnerId).collect(Collectors.toSet());
+            Map<Long, List<Webhook>> webhooksByOwner = webhookRepository.findActiveByOwnerIds(ownerIds)
+                    .stream()
+                    .collect(Collectors.groupingBy(w -> w.getOwner().getId()));
+            
+            LocalDateTime now = LocalDateTime.now();
+            List<WebhookDelivery> deliveries = new ArrayList<>();
+            for (OutboxEvent event : events) {
+                for (Webhook webhook : webhooksByOwner.getOrDefault(event.getOwnerId(), List.of())) {
+                    deliveries.add(WebhookDelivery.builder()
+                            .webhook(webhook)
+                            .event(event)
+                            .nextAttemptAt(now)
+                            .build());
+                }
+                event.setProcessedAt(now);
+            }
+            webhookDeliveryRepository.saveAll(deliveries);
+            outboxEventRepository.saveAll(events);
+            return events.size();
+        });
+        return count != null ? count : 0;
+    }
+    
+    private int deliverBatch() {
+        List<DeliveryJob> jobs = claimDeliveries();
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+        
+        long now = System.currentTimeMillis();
+        List<Future<DeliveryResult>> futures = new ArrayList<>();
+        List<DeliveryResult> results = new ArrayList<>();
+        for (DeliveryJob job : jobs) {
+            EndpointCircuitBreaker breaker = breakers.computeIfAbsent(job.webhookId(),
+                    id -> new EndpointCircuitBreaker(failureThreshold, circuitOpenMillis));
+            if (!breaker.tryAcquire(now)) {
+                shortCircuited.increment();
+                results.add(DeliveryResult.deferred(job, breaker.getOpenUntil()));
+                continue;
+            }
+            futures.add(deliveryExecutor.submit(() -> attempt(job, breaker)));
+        }
+        
+        for (Future<DeliveryResult> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.error("Webhook delivery task failed", e.getCause());
+            }
+        }
+        
+        recordResults(results);
+        return jobs.size();
+    }
+    
+    // Leases due deliveries by pushing their next attempt forward, then releases the row locks
+    private List<DeliveryJob> claimDeliveries() {
+        List<DeliveryJob> jobs = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<WebhookDelivery> due = webhookDeliveryRepository.claimDue(now, batchSize);
+            List<DeliveryJob> claimed = new ArrayList<>(due.size());
+            for (WebhookDelivery delivery : due) {
+                delivery.setNextAttemptAt(now.plusNanos(leaseMillis * 1_000_000));
+                claimed.add(new DeliveryJob(
+                        delivery.getId(),
+                        delivery.getWebhook().getId(),
+                        delivery.getWebhook().getUrl(),
+                        delivery.getWebhook().getSecret(),
+                        delivery.getEvent().getEventType(),
+                        delivery.getEvent().getPayload(),
+                        delivery.getAttempts()));
+            }
+            webhookDeliveryRepository.saveAll(due);
+            return claimed;
+        });
+        return jobs != null ? jobs : List.of();
+    }
+    
+    private DeliveryResult attempt(DeliveryJob job, EndpointCircuitBreaker breaker) {
+        long start = System.nanoTime();
+        try {
+            webhookClient.send(job.url(), job.secret(), job.eventType(), job.deliveryId(), job.payload());
+            breaker.recordSuccess();
+            delivered.increment();
+            return DeliveryResult.success(job);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return DeliveryResult.failure(job, "Interrupted");
+        } catch (Exception e) {
+            breaker.recordFailure(System.currentTimeMillis());
+            failed.increment();
+            log.debug("Webhook delivery {} to {} failed: {}", job.deliveryId(), job.url(), e.getMessage());
+            return DeliveryResult.failure(job, e.getMessage());
+        } finally {
+            deliveryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private void recordResults(List<DeliveryResult> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        Map<Long, DeliveryResult> byId = results.stream()
+                .collect(Collectors.toMap(r -> r.job().deliveryId(), r -> r));
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<WebhookDelivery> deliveries = webhookDeliveryRepository.findAllById(byId.keySet());
+            for (WebhookDelivery delivery : deliveries) {
+                DeliveryResult result = byId.get(delivery.getId());
+                if (result.success()) {
+                    delivery.setStatus(DeliveryStatus.DELIVERED);
+                    delivery.setDeliveredAt(now);
+                    delivery.setLastError(null);
+                } else if (result.deferredUntil() != null) {
+                    // Circuit open: wait it out without spending an attempt
+                    delivery.setNextAttemptAt(result.deferredUntil());
+                } else {
+                    int attempts = delivery.getAttempts() + 1;
+                    delivery.setAttempts(attempts);
+                    delivery.setLastError(truncate(result.error()));
+                    if (attempts >= maxAttempts) {
+                        delivery.setStatus(DeliveryStatus.FAILED);
+                        abandoned.increment();
+                    } else {
+                        delivery.setNextAttemptAt(now.plusNanos(backoffMillis(attempts) * 1_000_000));
+                    }
+                }
+            }
+            webhookDeliveryRepository.saveAll(deliveries);
+        });
+    }
+    
+    // Exponential backoff with jitter over the upper half of the window
+    private long backoffMillis(int attempts) {
+        long ceiling = Math.min(maxBackoff, initialBackoff << Math.min(attempts - 1, 30));
+        return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+    
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+    
+    private record DeliveryJob(long deliveryId, long webhookId, String url, String secret,
+                               String eventType, String payload, int attempts) {
+    }
+    
+    private record DeliveryResult(DeliveryJob job, boolean success, String error, LocalDateTime deferredUntil) {
+        
+        static DeliveryResult success(DeliveryJob job) {
+            return new DeliveryResult(job, true, null, null);
+        }
+        
+        static DeliveryResult failure(DeliveryJob job, String error) {
+            return new DeliveryResult(job, false, error, null);
+        }
+        
+        static DeliveryResult deferred(DeliveryJob job, long openUntilMillis) {
+            LocalDateTime until = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(openUntilMillis), ZoneId.systemDefault());
+            return new DeliveryResult(job, false, null, until);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.request.WebhookRequest;
+import com.taskmanager.dto.response.WebhookResponse;
+import com.taskmanager.entity.User;
+import com.taskmanager.entity.Webhook;
+import com.taskmanager.exception.BadRequestException;
+import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.repository.WebhookDeliveryRepository;
+import com.taskmanager.repository.WebhookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.UnknownHostException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WebhookService {
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    private final WebhookRepository webhookRepository;
+    private final WebhookDeliveryRepository webhookDeliveryRepository;
+    private final WebhookClient webhookClient;
+    
+    @Transactional
+    public WebhookResponse createWebhook(WebhookRequest request, User owner) {
+        log.info("Registering webhook {} for user: {}", request.getUrl(), owner.getEmail());
+        
+        try {
+            webhookClient.requirePublicDestination(request.getUrl());
+        } catch (UnknownHostException e) {
+            throw new BadRequestException("Webhook host cannot be resolved");
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        
+        byte[] secret = new byte[24];
+        RANDOM.nextBytes(secret);
+        
+        Webhook webhook = webhookRepository.save(Webhook.builder()
+                .url(request.getUrl())
+                .secret(HexFormat.of().formatHex(secret))
+                .owner(owner)
+                .build());
+        
+        WebhookResponse response = WebhookResponse.fromEntity(webhook);
+        response.setSecret(webhook.getSecret());
+        return response;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<WebhookResponse> getWebhooks(User owner) {
+        return webhookRepository.findByOwnerOrderByCreatedAtDesc(owner)
+                .stream()
+                .map(WebhookResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+    
+    @Transactional
+    public void deleteWebhook(Long id, User owner) {
+        log.info("Deleting webhook ID: {} for user: {}", id, owner.getEmail());
+        
+        Webhook webhook = webhookRepository.findByIdAndOwner(id, owner)
+                .orElseThrow(() -> new ResourceNotFoundException("Webhook", "id", id));
+        
+        webhookDeliveryRepository.deleteByWebhook(webhook);
+        webhookRepository.delete(webhook);
+    }
+}
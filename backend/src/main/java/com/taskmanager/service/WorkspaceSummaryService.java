@@ -0,0 +1,140 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.WorkspaceSummaryResponse;
+import com.taskmanager.dto.response.WorkspaceSummaryResponse.PriorityCount;
+import com.taskmanager.entity.TaskPriority;
+import com.taskmanager.entity.User;
+import com.taskmanager.event.ProjectEvent;
+import com.taskmanager.event.TaskEvent;
+import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskSummaryCounts;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Workspace-wide task counts for the dashboard, cached per user until one of the user's
+ * task or project writes commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkspaceSummaryService {
+    
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    
+    private final Map<Long, CachedSummary> cache = new ConcurrentHashMap<>();
+    // Bumped on every committed write so a load racing with a write is not cached
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    
+    @Value("${tasks.summary.ttl:300000}")
+    private long ttl;
+    
+    @Value("${tasks.summary.max-entries:10000}")
+    private int maxEntries;
+    
+    @Transactional(readOnly = true)
+    public WorkspaceSummaryResponse getSummary(User user) {
+        Long userId = user.getId();
+        LocalDateTime now = LocalDateTime.now();
+        
+        CachedSummary cached = cache.get(userId);
+        if (cached != null && cached.isValid(now, ttl)) {
+            return cached.summary();
+        }
+        
+        long version = versions.getOrDefault(userId, 0L);
+        WorkspaceSummaryResponse summary = load(userId, now);
+        
+        if (cache.size() >= maxEntries) {
+            cache.values().removeIf(entry -> !entry.isValid(now, ttl));
+            if (cache.size() >= maxEntries) {
+                cache.clear();
+            }
+        }
+        cache.compute(userId, (id, existing) ->
+                versions.getOrDefault(id, 0L) == version ? new CachedSummary(summary, now) : existing);
+        return summary;
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskEvent(TaskEvent event) {
+        invalidate(event.getOwnerId());
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProjectEvent(ProjectEvent event) {
+        invalidate(event.getOwnerId());
+    }
+    
+    public void invalidate(Long userId) {
+        versions.merge(userId, 1L, Long::sum);
+        cache.remove(userId);
+    }
+    
+    private WorkspaceSummaryResponse load(Long userId, LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        LocalDate weekEnd = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        log.debug("Computing workspace summary for user ID: {}", userId);
+        
+        Map<TaskPriority, PriorityCount> byPriority = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority.put(priority, new PriorityCount());
+        }
+        
+        long total = 0;
+        long completed = 0;
+        long overdue = 0;
+        long dueToday = 0;
+        long dueThisWeek = 0;
+        for (TaskSummaryCounts counts : taskRepository.summarizeByUser(userId, today, weekEnd)) {
+            total += counts.getTotal();
+            completed += counts.getCompleted();
+            overdue += counts.getOverdue();
+            dueToday += counts.getDueToday();
+            dueThisWeek += counts.getDueThisWeek();
+            byPriority.put(counts.getPriority(), PriorityCount.builder()
+                    .total(counts.getTotal())
+                    .open(counts.getTotal() - counts.getCompleted())
+                    .overdue(counts.getOverdue())
+                    .build());
+        }
+        
+        long archived = projectRepository.sumArchivedTaskCountByOwnerId(userId);
+        
+        return WorkspaceSummaryResponse.builder()
+                .totalTasks(total + archived)
+                .openTasks(total - completed)
+                .completedTasks(completed + archived)
+                .archivedTasks(archived)
+                .overdueTasks(overdue)
+                .dueToday(dueToday)
+                .dueThisWeek(dueThisWeek)
+                .byPriority(byPriority)
+                .generatedAt(now)
+                .build();
+    }
+    
+    private record CachedSummary(WorkspaceSummaryResponse summary, LocalDateTime computedAt) {
+        
+        // Date-based counts roll over at midnight regardless of writes
+        boolean isValid(LocalDateTime now, long ttl) {
+            return computedAt.toLocalDate().equals(now.toLocalDate())
+                    && computedAt.plusNanos(ttl * 1_000_000).isAfter(now);
+        }
+    }
+}
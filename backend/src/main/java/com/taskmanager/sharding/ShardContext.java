@@ -0,0 +1,52 @@
+package com.taskmanager.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard of the current thread. Request threads are on their user's shard; threads without one
+ * (unauthenticated requests, schedulers) use shard 0, which also holds users and the directory.
+ * The shard is picked up when a transaction starts, so it must be set before that.
+ */
+public final class ShardContext {
+    
+    public static final int DIRECTORY_SHARD = 0;
+    
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+    
+    private ShardContext() {
+    }
+    
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : DIRECTORY_SHARD;
+    }
+    
+    public static <T> T call(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+    
+    public static void run(int shard, Runnable action) {
+        call(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+    
+    static void set(int shard) {
+        CURRENT.set(shard);
+    }
+    
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,80 @@
+package com.taskmanager.sharding;
+
+import com.taskmanager.entity.User;
+import com.taskmanager.exception.UserMigratingException;
+import com.taskmanager.service.ShardDirectory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Routes each request's database work to the shard of the authenticated user. Runs after the
+ * security chain, whose user lookup stays on shard 0, and carries the shard over to the task
+ * thread of streamed responses.
+ */
+@RequiredArgsConstructor
+public class ShardInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+    
+    private static final String SHARD_ATTRIBUTE = ShardInterceptor.class.getName() + ".shard";
+    
+    private final ShardDirectory shardDirectory;
+    
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        // Async dispatches resume on the shard the request started on
+        Object shard = request.getAttribute(SHARD_ATTRIBUTE);
+        if (shard == null) {
+            shard = resolve();
+            request.setAttribute(SHARD_ATTRIBUTE, shard);
+        }
+        ShardContext.set((Integer) shard);
+        return true;
+    }
+    
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                               @NonNull Object handler) {
+        ShardContext.clear();
+    }
+    
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        ShardContext.clear();
+    }
+    
+    @Override
+    public <T> void preProcess(@NonNull NativeWebRequest request, @NonNull Callable<T> task) {
+        Object shard = request.getAttribute(SHARD_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (shard != null) {
+            ShardContext.set((Integer) shard);
+        }
+    }
+    
+    @Override
+    public <T> void postProcess(@NonNull NativeWebRequest request, @NonNull Callable<T> task, Object result) {
+        ShardContext.clear();
+    }
+    
+    private int resolve() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            return ShardContext.DIRECTORY_SHARD;
+        }
+        ShardDirectory.Placement placement = shardDirectory.lookup(user.getId());
+        if (placement.migrating()) {
+            throw new UserMigratingException(user.getId());
+        }
+        return placement.shard();
+    }
+}
@@ -0,0 +1,50 @@
+package com.taskmanager.sharding;
+
+import com.taskmanager.workload.WorkloadRoutingDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands out connections from the current thread's shard. Each shard has its own workload pools,
+ * so a slow shard cannot take connections from the others.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    
+    private final List<WorkloadRoutingDataSource> shards;
+    
+    public ShardRoutingDataSource(List<WorkloadRoutingDataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(ShardContext.DIRECTORY_SHARD));
+        // An unknown shard is a bug; falling back to shard 0 would write rows to the wrong database
+        setLenientFallback(false);
+    }
+    
+    public int shardCount() {
+        return shards.size();
+    }
+    
+    // Connections outside any transaction bound to this data source, e.g. for copying between shards
+    public DataSource shard(int shard) {
+        return shards.get(shard);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+    
+    @Override
+    public void destroy() {
+        shards.forEach(WorkloadRoutingDataSource::destroy);
+    }
+}
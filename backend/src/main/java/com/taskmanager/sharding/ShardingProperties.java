@@ -0,0 +1,23 @@
+package com.taskmanager.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+    
+    // Shards 1..n; shard 0 is spring.datasource
+    private List<Shard> shards = new ArrayList<>();
+    
+    @Data
+    public static class Shard {
+        private String url;
+        // Blank falls back to the spring.datasource credentials
+        private String username;
+        private String password;
+    }
+}
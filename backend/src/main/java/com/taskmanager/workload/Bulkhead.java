@@ -0,0 +1,81 @@
+package com.taskmanager.workload;
+
+import com.taskmanager.exception.WorkloadRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps concurrent requests of one workload class. Callers beyond the cap wait in a bounded
+ * queue for at most the queue timeout; everything past that is rejected immediately.
+ */
+public class Bulkhead {
+    
+    private final WorkloadClass workload;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long queueTimeoutMillis;
+    private final AtomicInteger queued = new AtomicInteger();
+    
+    private final Counter rejected;
+    private final Timer queueWait;
+    
+    public Bulkhead(WorkloadClass workload, int maxConcurrent, int maxQueued, long queueTimeoutMillis,
+                    MeterRegistry meterRegistry) {
+        this.workload = workload;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        
+        String tag = workload.name().toLowerCase();
+        this.rejected = meterRegistry.counter("workload.rejected", "class", tag);
+        this.queueWait = meterRegistry.timer("workload.queue.wait", "class", tag);
+        Gauge.builder("workload.active", this, Bulkhead::getActive).tag("class", tag).register(meterRegistry);
+        Gauge.builder("workload.queued", queued, AtomicInteger::get).tag("class", tag).register(meterRegistry);
+    }
+    
+    public void acquire() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            reject();
+        }
+        
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            queued.decrementAndGet();
+            queueWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            reject();
+        }
+    }
+    
+    public void release() {
+        permits.release();
+    }
+    
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+    
+    private void reject() {
+        rejected.increment();
+        throw new WorkloadRejectedException(workload);
+    }
+}
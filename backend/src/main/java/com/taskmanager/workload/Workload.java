@@ -0,0 +1,19 @@
+package com.taskmanager.workload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns a controller method (or every method of a controller) to a workload class, which
+ * selects its request bulkhead and database pool. Unannotated endpoints are INTERACTIVE.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Workload {
+    
+    WorkloadClass value();
+}
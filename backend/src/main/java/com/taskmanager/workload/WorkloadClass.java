@@ -0,0 +1,8 @@
+package com.taskmanager.workload;
+
+public enum WorkloadClass {
+    // Short user-facing calls: create, toggle, single reads
+    INTERACTIVE,
+    // Searches, exports, analytics, whole-project loads and background jobs
+    HEAVY
+}
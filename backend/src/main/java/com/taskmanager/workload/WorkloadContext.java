@@ -0,0 +1,26 @@
+package com.taskmanager.workload;
+
+/**
+ * Workload class of the current thread. HTTP request threads are INTERACTIVE unless the endpoint
+ * says otherwise; threads without a class (schedulers, async streaming) count as HEAVY.
+ */
+public final class WorkloadContext {
+    
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+    
+    private WorkloadContext() {
+    }
+    
+    public static WorkloadClass current() {
+        WorkloadClass workload = CURRENT.get();
+        return workload != null ? workload : WorkloadClass.HEAVY;
+    }
+    
+    static void set(WorkloadClass workload) {
+        CURRENT.set(workload);
+    }
+    
+    static void clear() {
+        CURRENT.remove();
+    }
+}
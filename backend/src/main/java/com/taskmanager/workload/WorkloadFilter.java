@@ -0,0 +1,36 @@
+package com.taskmanager.workload;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Marks request threads INTERACTIVE before the security chain runs, so authentication lookups
+ * use the interactive pool; WorkloadInterceptor narrows the class per endpoint.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class WorkloadFilter extends OncePerRequestFilter {
+    
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        WorkloadContext.set(WorkloadClass.INTERACTIVE);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            WorkloadContext.clear();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.taskmanager.workload;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+
+/**
+ * Admits each request through the bulkhead of its endpoint's workload class and routes its
+ * database work to that class's pool.
+ */
+@RequiredArgsConstructor
+public class WorkloadInterceptor implements AsyncHandlerInterceptor {
+    
+    private static final String BULKHEAD_ATTRIBUTE = WorkloadInterceptor.class.getName() + ".bulkhead";
+    
+    private final Map<WorkloadClass, Bulkhead> bulkheads;
+    
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        // Async dispatches resume a request that was already admitted
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        
+        WorkloadClass workload = resolve(method);
+        Bulkhead bulkhead = bulkheads.get(workload);
+        bulkhead.acquire();
+        request.setAttribute(BULKHEAD_ATTRIBUTE, bulkhead);
+        WorkloadContext.set(workload);
+        return true;
+    }
+    
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                               @NonNull Object handler) {
+        // Streams (SSE, CSV export) must not hold a permit for their whole lifetime
+        release(request);
+    }
+    
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        release(request);
+    }
+    
+    private void release(HttpServletRequest request) {
+        Object bulkhead = request.getAttribute(BULKHEAD_ATTRIBUTE);
+        if (bulkhead != null) {
+            request.removeAttribute(BULKHEAD_ATTRIBUTE);
+            ((Bulkhead) bulkhead).release();
+        }
+    }
+    
+    private WorkloadClass resolve(HandlerMethod method) {
+        Workload workload = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), Workload.class);
+        if (workload == null) {
+            workload = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), Workload.class);
+        }
+        return workload != null ? workload.value() : WorkloadClass.INTERACTIVE;
+    }
+}
@@ -0,0 +1,29 @@
+package com.taskmanager.workload;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "workloads")
+public class WorkloadProperties {
+    
+    private Settings interactive = new Settings();
+    private Settings heavy = new Settings();
+    
+    public Settings get(WorkloadClass workload) {
+        return workload == WorkloadClass.HEAVY ? heavy : interactive;
+    }
+    
+    @Data
+    public static class Settings {
+        // Database pool
+        private int poolSize = 10;
+        private long connectionTimeout = 30000;
+        // Per-connection statement_timeout in milliseconds; 0 disables it
+        private long statementTimeout = 0;
+        // Request bulkhead
+        private int maxConcurrent = 50;
+        private int maxQueued = 100;
+        private long queueTimeout = 1000;
+    }
+}
@@ -0,0 +1,102 @@
+package com.taskmanager.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.taskmanager.dto.response.ApiResponse;
+import com.taskmanager.dto.response.TaskResponse;
+import com.taskmanager.entity.TaskPriority;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares JSON, CBOR and Smile for a large task list. Round-trips and sizes are asserted;
+ * encode/decode timings are logged for comparison only since they depend on the machine.
+ */
+@Slf4j
+class BinaryFormatBenchmarkTest {
+
+    private static final TypeReference<ApiResponse<List<TaskResponse>>> TASK_LIST = new TypeReference<>() {};
+    private static final int TASKS = 2_000;
+    private static final int ITERATIONS = 50;
+
+    @Test
+    @DisplayName("Binary formats should round-trip task lists and be smaller than JSON")
+    void compareFormats() throws Exception {
+        ApiResponse<List<TaskResponse>> payload = ApiResponse.success(tasks());
+
+        byte[] json = measure("json", mapper(new ObjectMapper()), payload);
+        byte[] cbor = measure("cbor", mapper(new ObjectMapper(new CBORFactory())), payload);
+        byte[] smile = measure("smile", mapper(new ObjectMapper(new SmileFactory())), payload);
+
+        assertThat(cbor.length).isLessThan(json.length);
+        assertThat(smile.length).isLessThan(json.length);
+    }
+
+    private byte[] measure(String name, ObjectMapper mapper, ApiResponse<List<TaskResponse>> payload) throws Exception {
+        byte[] encoded = mapper.writeValueAsBytes(payload);
+        ApiResponse<List<TaskResponse>> decoded = mapper.readValue(encoded, TASK_LIST);
+        assertThat(decoded).isEqualTo(payload);
+
+        // Warm up before timing
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(payload), TASK_LIST);
+        }
+
+        long encodeStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            encoded = mapper.writeValueAsBytes(payload);
+        }
+        long encodeNanos = (System.nanoTime() - encodeStart) / ITERATIONS;
+
+        long decodeStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.readValue(encoded, TASK_LIST);
+        }
+        long decodeNanos = (System.nanoTime() - decodeStart) / ITERATIONS;
+
+        // Not asserted: timings vary too much between machines to fail a build on
+        log.info("{}: {} bytes, encode {} us, decode {} us",
+                name, encoded.length, encodeNanos / 1_000, decodeNanos / 1_000);
+        return encoded;
+    }
+
+    private ObjectMapper mapper(ObjectMapper mapper) {
+        // Same date handling as the Boot-configured mappers
+        return mapper.registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private List<TaskResponse> tasks() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 9, 30);
+        List<TaskResponse> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(TaskResponse.builder()
+                    .id((long) i)
+                    .title("Task " + i)
+                    .description("Description of task " + i + " with enough text to resemble real notes")
+                    .dueDate(LocalDate.of(2024, 2, 1).plusDays(i % 60))
+                    .completed(i % 3 == 0)
+                    .completedAt(i % 3 == 0 ? now.plusHours(i) : null)
+                    .priority(TaskPriority.values()[i % TaskPriority.values().length])
+                    .overdue(i % 7 == 0)
+                    .projectId(1L)
+                    .projectTitle("Benchmark Project")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,166 @@
+package com.taskmanager.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Simulates the per-request logging of the hot paths (auth filter, service call) with logging
+ * off, synchronous output, and the async + sampled pipeline from logback-spring.xml. Written
+ * lines are asserted; timings are only logged since they depend on the machine.
+ */
+@Slf4j
+class LoggingBenchmarkTest {
+
+    private static final String HOT_LOGGER = "com.taskmanager.service.TaskService";
+    private static final String OTHER_LOGGER = "com.taskmanager.controller.TaskController";
+    private static final int REQUESTS = 20_000;
+    private static final int SAMPLE_RATE = 100;
+
+    @Test
+    @DisplayName("Sampling should keep one in rate events per hot logger and never drop warnings")
+    void samplingKeepsOneInRate() {
+        CountingStream out = new CountingStream();
+        LoggerContext context = context(out, false, true);
+
+        Logger hot = context.getLogger(HOT_LOGGER);
+        Logger other = context.getLogger(OTHER_LOGGER);
+        for (int i = 0; i < 1_000; i++) {
+            hot.info("Fetching task {}", i);
+            hot.debug("Below the logger level {}", i);
+            other.info("Not sampled {}", i);
+        }
+        hot.warn("Always kept");
+        context.stop();
+
+        // 1000 / 100 sampled INFO lines, 1000 unsampled lines, one warning
+        assertThat(out.lines.get()).isEqualTo(1_000 / SAMPLE_RATE + 1_000 + 1);
+    }
+
+    @Test
+    @DisplayName("Compare request throughput with logging off, synchronous and async + sampled")
+    void compareThroughput() {
+        CountingStream syncOut = new CountingStream();
+        CountingStream asyncOut = new CountingStream();
+
+        long off = run("off", null);
+        long sync = run("sync", context(syncOut, false, false));
+        long asyncSampled = run("async+sampled", context(asyncOut, true, true));
+
+        // Two lines per request, for the warm-up and the measured run; stopping drains the async queue
+        assertThat(syncOut.lines.get()).isEqualTo(2 * 2 * REQUESTS);
+        assertThat(asyncOut.lines.get()).isEqualTo(2 * 2 * REQUESTS / SAMPLE_RATE);
+        log.info("Logging overhead per request: sync {} ns, async+sampled {} ns",
+                (sync - off) / REQUESTS, (asyncSampled - off) / REQUESTS);
+    }
+
+    private long run(String name, LoggerContext context) {
+        Logger hot = context != null ? context.getLogger(HOT_LOGGER) : null;
+        AtomicLong work = new AtomicLong();
+
+        // Warm up, then measure
+        simulate(hot, work, REQUESTS);
+        long start = System.nanoTime();
+        simulate(hot, work, REQUESTS);
+        long elapsed = System.nanoTime() - start;
+        if (context != null) {
+            context.stop();
+        }
+
+        log.info("{}: {} requests/s", name, REQUESTS * 1_000_000_000L / Math.max(elapsed, 1));
+        return elapsed;
+    }
+
+    private void simulate(Logger logger, AtomicLong work, int requests) {
+        for (int i = 0; i < requests; i++) {
+            MDC.put(RequestIdFilter.MDC_KEY, "req-" + i);
+            try {
+                if (logger != null) {
+                    logger.info("Authenticated user {} for request {}", i % 50, i);
+                    logger.info("Fetching tasks for project ID: {} by user: {}", i % 200, i % 50);
+                }
+                work.addAndGet(Integer.toString(i).hashCode());
+            } finally {
+                MDC.remove(RequestIdFilter.MDC_KEY);
+            }
+        }
+    }
+
+    private LoggerContext context(CountingStream out, boolean async, boolean sampled) {
+        LoggerContext context = new LoggerContext();
+        // Share the MDC the simulated requests write to; a bare context has none and drops every event
+        context.setMDCAdapter(MDC.getMDCAdapter());
+        context.start();
+
+        if (sampled) {
+            SamplingTurboFilter filter = new SamplingTurboFilter();
+            filter.setContext(context);
+            filter.addLogger(HOT_LOGGER);
+            filter.setRate(SAMPLE_RATE);
+            filter.setLevel("INFO");
+            filter.start();
+            context.addTurboFilter(filter);
+        }
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %5level [%X{requestId:-}] %logger{36} - %msg%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setEncoder(encoder);
+        output.setOutputStream(out);
+        output.start();
+
+        Appender<ILoggingEvent> appender = output;
+        if (async) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.setIncludeCallerData(false);
+            asyncAppender.addAppender(output);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+        return context;
+    }
+
+    private static class CountingStream extends OutputStream {
+
+        private final AtomicLong lines = new AtomicLong();
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
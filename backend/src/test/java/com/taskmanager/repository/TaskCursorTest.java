@@ -0,0 +1,62 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip cursors for every sort field")
+    void roundTrip() {
+        Task task = Task.builder().id(42L).title("Fix | login ~").dueDate(LocalDate.of(2024, 3, 1)).build();
+        task.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6_000));
+
+        for (TaskSortField field : TaskSortField.values()) {
+            TaskCursor cursor = TaskCursor.after(task, field, Sort.Direction.DESC);
+
+            assertThat(TaskCursor.decode(cursor.encode())).isEqualTo(cursor);
+        }
+        assertThat(TaskCursor.after(task, TaskSortField.RANK, Sort.Direction.ASC).value()).isNull();
+        assertThat(TaskCursor.decode(TaskCursor.after(task, TaskSortField.TITLE, Sort.Direction.ASC).encode()).value())
+                .isEqualTo("Fix | login ~");
+    }
+
+    @Test
+    @DisplayName("Should keep an empty title distinct from a null value")
+    void emptyValueIsNotNull() {
+        TaskCursor cursor = new TaskCursor(TaskSortField.TITLE, Sort.Direction.ASC, "", 1L);
+
+        assertThat(TaskCursor.decode(cursor.encode()).value()).isEqualTo("");
+    }
+
+    @Test
+    @DisplayName("Should reject cursors that were not produced by encode")
+    void malformed() {
+        assertThatThrownBy(() -> TaskCursor.decode("not a cursor!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaskCursor.decode(encode("TITLE|ASC|1"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaskCursor.decode(encode("TITLE|ASC|x|=a"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaskCursor.decode(encode("PRIORITY|ASC|1|=a"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaskCursor.decode(encode("DUE_DATE|ASC|1|=tomorrow"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should resolve sort fields by request parameter name")
+    void fromParamName() {
+        assertThat(TaskSortField.fromParamName("dueDate")).contains(TaskSortField.DUE_DATE);
+        assertThat(TaskSortField.fromParamName("priority")).isEmpty();
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
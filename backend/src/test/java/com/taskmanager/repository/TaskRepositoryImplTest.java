@@ -0,0 +1,175 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.response.TaskSummaryResponse;
+import com.taskmanager.entity.Project;
+import com.taskmanager.entity.Role;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskPriority;
+import com.taskmanager.entity.User;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.Table;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class TaskRepositoryImplTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        User owner = entityManager.persist(User.builder()
+                .firstName("Test").lastName("User").email("test@test.com").password("secret").role(Role.USER)
+                .build());
+        project = entityManager.persist(Project.builder().title("Website").owner(owner).build());
+        Project other = entityManager.persist(Project.builder().title("Other").owner(owner).build());
+
+        task(project, "Fix login", false, TaskPriority.HIGH, TODAY.minusDays(1), "Login fails on 100% of tries");
+        task(project, "Ship release", true, TaskPriority.URGENT, TODAY.minusDays(3), null);
+        task(project, "Write docs", false, TaskPriority.LOW, TODAY.plusDays(2), "API_v2 reference");
+        task(project, "Triage", false, TaskPriority.MEDIUM, null, null);
+        task(other, "Fix login elsewhere", false, TaskPriority.HIGH, TODAY.minusDays(1), null);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should select only the requested fields and derive overdue")
+    void findFields_Selection() {
+        Set<TaskField> fields = new LinkedHashSet<>(List.of(TaskField.TITLE, TaskField.OVERDUE, TaskField.PROJECT_TITLE));
+
+        List<Map<String, Object>> rows = taskRepository.findFields(project.getId(), TaskFilter.all(), fields,
+                Sort.by("title"));
+
+        assertThat(rows).hasSize(4);
+        assertThat(rows.get(0)).containsOnlyKeys("title", "overdue", "projectTitle");
+        assertThat(rows).extracting(row -> row.get("title"))
+                .containsExactly("Fix login", "Ship release", "Triage", "Write docs");
+        assertThat(rows).extracting(row -> row.get("overdue")).containsExactly(true, false, false, false);
+        assertThat(rows).extracting(row -> row.get("projectTitle")).containsOnly("Website");
+    }
+
+    @Test
+    @DisplayName("Should page field projections and count the filtered total")
+    void findFields_Paged() {
+        Page<Map<String, Object>> page = taskRepository.findFields(project.getId(), TaskFilter.byCompleted(false),
+                EnumSet.of(TaskField.ID, TaskField.PROJECT_ID), PageRequest.of(1, 2, Sort.by("title")));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getContent().get(0)).containsOnlyKeys("id", "projectId")
+                .containsEntry("projectId", project.getId());
+    }
+
+    @Test
+    @DisplayName("Should combine filters with AND and match priorities with IN")
+    void findSummaries_Filters() {
+        assertThat(titles(TaskFilter.byCompleted(true))).containsExactly("Ship release");
+        assertThat(titles(TaskFilter.overdueOn(TODAY))).containsExactly("Fix login");
+        assertThat(titles(new TaskFilter(null, Set.of(TaskPriority.HIGH, TaskPriority.LOW), null, null, null, null)))
+                .containsExactly("Fix login", "Write docs");
+        assertThat(titles(new TaskFilter(false, null, TODAY.minusDays(3), TODAY.plusDays(2), null, null)))
+                .containsExactly("Fix login", "Write docs");
+        assertThat(titles(new TaskFilter(false, Set.of(TaskPriority.URGENT), null, null, null, null))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match text in title or description case-insensitively and literally")
+    void findSummaries_Text() {
+        assertThat(titles(text("LOGIN"))).containsExactly("Fix login");
+        assertThat(titles(text("reference"))).containsExactly("Write docs");
+        // LIKE wildcards in the search text match only themselves
+        assertThat(titles(text("100%"))).containsExactly("Fix login");
+        assertThat(titles(text("i_v"))).containsExactly("Write docs");
+        assertThat(titles(text("%"))).containsExactly("Fix login");
+        assertThat(titles(text("_"))).containsExactly("Write docs");
+    }
+
+    // H2 has no column collations; its default already compares strings like the "C" collation
+    @TestConfiguration
+    static class H2Schema {
+
+        @Bean
+        HibernatePropertiesCustomizer withoutCollations() {
+            Integrator integrator = new Integrator() {
+                @Override
+                public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                                      SessionFactoryImplementor sessionFactory) {
+                    for (Table table : metadata.collectTableMappings()) {
+                        for (Column column : table.getColumns()) {
+                            // setSqlType refuses to replace a type that is already set
+                            if (column.getSqlType() != null) {
+                                ReflectionTestUtils.setField(column, "sqlTypeName",
+                                        column.getSqlType().replace(" collate \"C\"", ""));
+                            }
+                        }
+                    }
+                }
+
+                @Override
+                public void disintegrate(SessionFactoryImplementor sessionFactory,
+                                         SessionFactoryServiceRegistry serviceRegistry) {
+                }
+            };
+            return properties -> properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(integrator));
+        }
+    }
+
+    private List<String> titles(TaskFilter filter) {
+        return taskRepository.findSummaries(project.getId(), filter, Sort.by("title")).stream()
+                .map(TaskSummaryResponse::getTitle)
+                .toList();
+    }
+
+    private static TaskFilter text(String text) {
+        return new TaskFilter(null, null, null, null, null, text);
+    }
+
+    private void task(Project project, String title, boolean completed, TaskPriority priority, LocalDate dueDate,
+                      String description) {
+        entityManager.persist(Task.builder()
+                .title(title)
+                .description(description)
+                .completed(completed)
+                .priority(priority)
+                .dueDate(dueDate)
+                .project(project)
+                .build());
+    }
+}
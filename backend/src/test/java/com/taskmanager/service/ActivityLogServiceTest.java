@@ -0,0 +1,125 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.TaskResponse;
+import com.taskmanager.entity.Role;
+import com.taskmanager.entity.TaskPriority;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.ActivityEntry;
+import com.taskmanager.repository.ActivityLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ActivityLogServiceTest {
+
+    private final ActivityLogRepository repository = mock(ActivityLogRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final User actor = User.builder().id(7L).email("a@test.com").role(Role.USER).build();
+    private ActivityLogService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should report only the changed fields of a task, in a fixed order")
+    void diff_ChangedFieldsOnly() {
+        TaskResponse before = task("Write report", TaskPriority.MEDIUM, List.of("docs"), null);
+        TaskResponse after = task("Write final report", TaskPriority.MEDIUM, List.of("docs", "urgent"), LocalDate.of(2026, 3, 1));
+
+        List<ActivityLogService.FieldChange> changes = ActivityLogService.diff(before, after);
+
+        assertThat(changes).containsExactly(
+                new ActivityLogService.FieldChange("title", "Write report", "Write final report"),
+                new ActivityLogService.FieldChange("dueDate", null, "2026-03-01"),
+                new ActivityLogService.FieldChange("labels", "docs", "docs,urgent"));
+        assertThat(ActivityLogService.diff(before, before)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should write buffered entries in batches of at most the batch size")
+    void flush_WritesInBatches() {
+        service = service(100, 2);
+        for (long id = 1; id <= 5; id++) {
+            service.taskCreated(actor, task("Task " + id, TaskPriority.LOW, List.of(), null));
+        }
+        service.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ActivityEntry>> batches = ArgumentCaptor.forClass(List.class);
+        verify(repository, atLeastOnce()).insertBatch(batches.capture());
+        assertThat(batches.getAllValues()).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(2));
+        assertThat(batches.getAllValues().stream().mapToInt(List::size).sum()).isEqualTo(5);
+        assertThat(meterRegistry.counter("activity.entries", "outcome", "written").count()).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("Should keep a batch that failed to write and retry it on the next flush")
+    void flush_RetriesFailedBatch() {
+        service = service(100, 10);
+        doThrow(new IllegalStateException("database down")).doNothing().when(repository).insertBatch(anyList());
+        service.taskCompletionChanged(actor, completed(task("Task", TaskPriority.LOW, List.of(), null)), false);
+
+        service.flush();
+        assertThat(meterRegistry.counter("activity.entries", "outcome", "written").count()).isZero();
+
+        service.flush();
+        assertThat(meterRegistry.counter("activity.entries", "outcome", "written").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("activity.entries", "outcome", "dropped").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop entries instead of blocking when the buffer is full")
+    void record_DropsWhenBufferFull() {
+        service = service(2, 10);
+        doNothing().when(repository).insertBatch(anyList());
+        for (int i = 0; i < 3; i++) {
+            service.taskCreated(actor, task("Task " + i, TaskPriority.LOW, List.of(), null));
+        }
+
+        service.flush();
+
+        assertThat(meterRegistry.counter("activity.entries", "outcome", "written").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.counter("activity.entries", "outcome", "dropped").count()).isEqualTo(1.0);
+    }
+
+    private ActivityLogService service(int bufferCapacity, int batchSize) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        return new ActivityLogService(repository, mock(ShardDirectory.class), transactionTemplate, meterRegistry,
+                bufferCapacity, batchSize, 12, 2);
+    }
+
+    private static TaskResponse task(String title, TaskPriority priority, List<String> labels, LocalDate dueDate) {
+        return TaskResponse.builder()
+                .id(1L)
+                .projectId(3L)
+                .title(title)
+                .priority(priority)
+                .labels(labels)
+                .dueDate(dueDate)
+                .build();
+    }
+
+    private static TaskResponse completed(TaskResponse task) {
+        task.setCompleted(true);
+        return task;
+    }
+}
@@ -0,0 +1,83 @@
+package com.taskmanager.service;
+
+import com.taskmanager.security.JwtService;
+import com.taskmanager.security.TokenRevocationService;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @InjectMocks
+    private AuthService authService;
+
+    @Test
+    @DisplayName("Should revoke both tokens on logout")
+    void logout_RevokesBoth() {
+        when(jwtService.extractClaim(eq("access"), any())).thenReturn(Jwts.claims()
+                .id("jti-1")
+                .expiration(Date.from(Instant.now().plusSeconds(600)))
+                .build());
+
+        authService.logout("access", "refresh");
+
+        verify(refreshTokenService).revoke("refresh");
+        verify(tokenRevocationService).revoke(eq("jti-1"), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should still revoke the refresh token when the access token is expired or malformed")
+    void logout_UnusableAccessToken() {
+        when(jwtService.extractClaim(eq("expired"), any()))
+                .thenThrow(new ExpiredJwtException(null, null, "JWT expired"));
+        when(jwtService.extractClaim(eq("garbage"), any())).thenThrow(new MalformedJwtException("Malformed"));
+
+        authService.logout("expired", "refresh");
+        authService.logout("garbage", "refresh");
+
+        verify(tokenRevocationService, never()).revoke(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should fail the logout when the revocation cannot be written")
+    void logout_RevocationFails() {
+        when(jwtService.extractClaim(eq("access"), any())).thenReturn(Jwts.claims()
+                .id("jti-1")
+                .expiration(Date.from(Instant.now().plusSeconds(600)))
+                .build());
+        doThrow(new DataIntegrityViolationException("down")).when(tokenRevocationService).revoke(anyString(), any());
+
+        assertThatThrownBy(() -> authService.logout("access", "refresh"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
@@ -0,0 +1,31 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.TaskPriority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectExportServiceTest {
+
+    @Test
+    @DisplayName("Should prefix text that a spreadsheet would run as a formula")
+    void csv_FormulaPrefixed() {
+        assertThat(ProjectExportService.csv("=HYPERLINK(\"http://x\")")).isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\"");
+        assertThat(ProjectExportService.csv("+1")).isEqualTo("'+1");
+        assertThat(ProjectExportService.csv("-2")).isEqualTo("'-2");
+        assertThat(ProjectExportService.csv("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(ProjectExportService.csv("\tcmd")).isEqualTo("'\tcmd");
+        assertThat(ProjectExportService.csv("\rcmd")).isEqualTo("\"'\rcmd\"");
+    }
+
+    @Test
+    @DisplayName("Should leave plain text and non-text values unchanged")
+    void csv_PlainValuesUnchanged() {
+        assertThat(ProjectExportService.csv("Write report")).isEqualTo("Write report");
+        assertThat(ProjectExportService.csv("a, b")).isEqualTo("\"a, b\"");
+        assertThat(ProjectExportService.csv(-5L)).isEqualTo("-5");
+        assertThat(ProjectExportService.csv(TaskPriority.HIGH)).isEqualTo("HIGH");
+        assertThat(ProjectExportService.csv(null)).isEmpty();
+    }
+}
@@ -1,12 +1,20 @@
 package com.taskmanager.service;
 
 import com.taskmanager.dto.request.ProjectRequest;
+import com.taskmanager.dto.response.ProjectDeletionResponse;
+import com.taskmanager.dto.response.ProjectProgressBatchResponse;
 import com.taskmanager.dto.response.ProjectResponse;
+import com.taskmanager.entity.DeletionStatus;
 import com.taskmanager.entity.Project;
+import com.taskmanager.entity.ProjectDeletionJob;
 import com.taskmanager.entity.Role;
 import com.taskmanager.entity.User;
+import com.taskmanager.exception.BadRequestException;
 import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.repository.ProjectDeletionJobRepository;
 import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.ProjectTaskCounts;
+import com.taskmanager.repository.TaskRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,6 +22,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -23,6 +33,9 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +44,24 @@ class ProjectServiceTest {
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectDeletionJobRepository deletionJobRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RequestCoalescer requestCoalescer;
+
+    @Mock
+    private ActivityLogService activityLogService;
+
+    @Mock
+    private TaskSnapshotService taskSnapshotService;
+
     @InjectMocks
     private ProjectService projectService;
 
@@ -62,6 +93,10 @@ class ProjectServiceTest {
                 .title("Test Project")
                 .description("Test Description")
                 .build();
+
+        ReflectionTestUtils.setField(projectService, "asyncDeletionThreshold", 5000L);
+        ReflectionTestUtils.setField(projectService, "deletionChunkSize", 1000);
+        ReflectionTestUtils.setField(projectService, "maxProgressBatchSize", 3);
     }
 
     @Test
@@ -142,14 +177,91 @@ class ProjectServiceTest {
     }
 
     @Test
-    @DisplayName("Should delete project successfully")
+    @DisplayName("Should delete small project with set-based statements")
     void deleteProject_Success() {
         when(projectRepository.findByIdAndOwner(1L, testUser))
                 .thenReturn(Optional.of(testProject));
-        doNothing().when(projectRepository).delete(testProject);
+        when(taskRepository.countByProjectId(1L)).thenReturn(3L);
+        when(taskRepository.deleteChunkByProjectId(1L, 1000)).thenReturn(3);
+
+        ProjectDeletionResponse response = projectService.deleteProject(1L, testUser);
+
+        assertThat(response.getStatus()).isEqualTo(DeletionStatus.COMPLETED);
+        verify(taskRepository, times(1)).deleteChunkByProjectId(1L, 1000);
+        verify(projectRepository, times(1)).deleteProjectById(1L);
+        verify(projectRepository, never()).delete(any(Project.class));
+    }
+
+    @Test
+    @DisplayName("Should schedule asynchronous deletion for large project")
+    void deleteProject_LargeProjectScheduled() {
+        when(projectRepository.findByIdAndOwner(1L, testUser))
+                .thenReturn(Optional.of(testProject));
+        when(taskRepository.countByProjectId(1L)).thenReturn(200_000L);
+        when(deletionJobRepository.save(any(ProjectDeletionJob.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ProjectDeletionResponse response = projectService.deleteProject(1L, testUser);
+
+        assertThat(response.getStatus()).isEqualTo(DeletionStatus.PENDING);
+        assertThat(response.getTotalTasks()).isEqualTo(200_000L);
+        verify(projectRepository, times(1)).markDeleting(1L);
+        verify(taskSnapshotService, times(1)).invalidate(1L);
+        verify(taskRepository, never()).deleteChunkByProjectId(anyLong(), anyInt());
+        verify(projectRepository, never()).deleteProjectById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should return batched progress and report unowned ids")
+    void getProjectProgressBatch_PartialResults() {
+        when(projectRepository.findTaskCountsByOwnerAndIds(eq(testUser), anyCollection()))
+                .thenReturn(List.of(counts(2L, "Second", 4, 1, 0), counts(1L, "First", 3, 1, 1)));
+
+        ProjectProgressBatchResponse response = projectService.getProjectProgressBatch(List.of(1L, 2L, 9L, 1L), testUser);
+
+        assertThat(response.getProgress()).extracting("projectId").containsExactly(1L, 2L);
+        assertThat(response.getProgress().get(0).getTotalTasks()).isEqualTo(4);
+        assertThat(response.getProgress().get(0).getCompletedTasks()).isEqualTo(2);
+        assertThat(response.getProgress().get(0).getStatus()).isEqualTo("IN_PROGRESS");
+        assertThat(response.getProgress().get(1).getStatus()).isEqualTo("STARTED");
+        assertThat(response.getNotFound()).containsExactly(9L);
+        verify(projectRepository, times(1)).findTaskCountsByOwnerAndIds(eq(testUser), anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should reject progress batches above the cap")
+    void getProjectProgressBatch_TooManyIds() {
+        assertThatThrownBy(() -> projectService.getProjectProgressBatch(List.of(1L, 2L, 3L, 4L), testUser))
+                .isInstanceOf(BadRequestException.class);
+        verify(projectRepository, never()).findTaskCountsByOwnerAndIds(any(), anyCollection());
+    }
+
+    private ProjectTaskCounts counts(Long id, String title, long total, long completed, int archived) {
+        return new ProjectTaskCounts() {
+            @Override
+            public Long getProjectId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public long getTotalTasks() {
+                return total;
+            }
 
-        projectService.deleteProject(1L, testUser);
+            @Override
+            public long getCompletedTasks() {
+                return completed;
+            }
 
-        verify(projectRepository, times(1)).delete(testProject);
+            @Override
+            public int getArchivedTasks() {
+                return archived;
+            }
+        };
     }
 }
@@ -0,0 +1,72 @@
+package com.taskmanager.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RankKeysTest {
+
+    @Test
+    @DisplayName("Should place keys strictly between their bounds")
+    void betweenBounds() {
+        assertThat(RankKeys.between(null, null)).isEqualTo("V");
+        assertThat(RankKeys.between("A", "C")).isEqualTo("B");
+        assertBetween("A", "B");
+        assertBetween("Az", "B");
+        assertBetween("V0001V", "V0002V");
+        assertBetween(null, "V0001V");
+        assertBetween("V0099V", null);
+        assertBetween("", "01");
+    }
+
+    @Test
+    @DisplayName("Should keep keys short when tasks are repeatedly added at the top")
+    void repeatedTopInsertsGrowSlowly() {
+        String first = "V";
+        for (int i = 0; i < 500; i++) {
+            String key = RankKeys.between(null, first);
+            assertThat(key).isLessThan(first);
+            assertThat(key).doesNotEndWith("0");
+            first = key;
+        }
+        assertThat(first.length()).isLessThanOrEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should preserve order across random moves")
+    void randomMovesStayOrdered() {
+        Random random = new Random(42);
+        List<String> keys = new ArrayList<>(List.of("V"));
+        for (int i = 0; i < 2_000; i++) {
+            int position = random.nextInt(keys.size() + 1);
+            String lower = position > 0 ? keys.get(position - 1) : null;
+            String upper = position < keys.size() ? keys.get(position) : null;
+            keys.add(position, RankKeys.between(lower, upper));
+        }
+        assertThat(keys).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should reject bounds that are not in order")
+    void rejectsUnorderedBounds() {
+        assertThatThrownBy(() -> RankKeys.between("B", "A")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RankKeys.between("B", "B")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void assertBetween(String lower, String upper) {
+        String key = RankKeys.between(lower, upper);
+        if (lower != null) {
+            assertThat(key).isGreaterThan(lower);
+        }
+        if (upper != null) {
+            assertThat(key).isLessThan(upper);
+        }
+        assertThat(key).doesNotEndWith("0");
+    }
+}
@@ -0,0 +1,69 @@
+package com.taskmanager.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceRuleTest {
+
+    @Test
+    @DisplayName("Should normalize rule specs")
+    void parseNormalizes() {
+        assertThat(RecurrenceRule.parse(" daily ").spec()).isEqualTo("DAILY");
+        assertThat(RecurrenceRule.parse("weekly/2").spec()).isEqualTo("WEEKLY/2");
+        assertThat(RecurrenceRule.parse("Monthly/1").spec()).isEqualTo("MONTHLY");
+        assertThat(RecurrenceRule.parse("cron  *  * mon-fri").spec()).isEqualTo("CRON * * MON-FRI");
+    }
+
+    @Test
+    @DisplayName("Should reject malformed rules")
+    void parseRejects() {
+        assertThatThrownBy(() -> RecurrenceRule.parse("hourly")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("DAILY/0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("WEEKLY/x")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("CRON * *")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("CRON 32 * *")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse(" ")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should count monthly occurrences from the anchor without drifting")
+    void monthlyClampsWithoutDrift() {
+        RecurrenceRule rule = RecurrenceRule.parse("MONTHLY");
+        LocalDate anchor = LocalDate.of(2024, 1, 31);
+
+        assertThat(rule.occurrences(anchor, anchor, LocalDate.of(2024, 4, 30), 10))
+                .containsExactly(LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 31), LocalDate.of(2024, 4, 30));
+    }
+
+    @Test
+    @DisplayName("Should skip missed occurrences but keep the series' phase")
+    void catchUpKeepsPhase() {
+        RecurrenceRule rule = RecurrenceRule.parse("WEEKLY/2");
+        LocalDate anchor = LocalDate.of(2020, 1, 6);
+
+        LocalDate next = rule.firstOnOrAfter(anchor, LocalDate.of(2024, 6, 1));
+
+        assertThat(next).isAfterOrEqualTo(LocalDate.of(2024, 6, 1)).isBefore(LocalDate.of(2024, 6, 15));
+        assertThat(next.getDayOfWeek()).isEqualTo(DayOfWeek.MONDAY);
+        assertThat(ChronoUnit.WEEKS.between(anchor, next) % 2).isZero();
+        assertThat(rule.firstOnOrAfter(anchor, anchor)).isEqualTo(LocalDate.of(2020, 1, 20));
+    }
+
+    @Test
+    @DisplayName("Should expand cron rules to matching dates only")
+    void cronOccurrences() {
+        RecurrenceRule rule = RecurrenceRule.parse("CRON * * MON-FRI");
+        LocalDate friday = LocalDate.of(2024, 6, 7);
+
+        assertThat(rule.occurrences(friday, friday, LocalDate.of(2024, 6, 12), 10))
+                .containsExactly(LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 11), LocalDate.of(2024, 6, 12));
+        assertThat(RecurrenceRule.parse("CRON L * *").firstOnOrAfter(friday, friday)).isEqualTo(LocalDate.of(2024, 6, 30));
+    }
+}
@@ -0,0 +1,82 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.RefreshToken;
+import com.taskmanager.entity.Role;
+import com.taskmanager.entity.User;
+import com.taskmanager.exception.UnauthorizedException;
+import com.taskmanager.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private User user;
+    private RefreshToken token;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(1L).email("test@test.com").role(Role.USER).build();
+        token = RefreshToken.builder()
+                .tokenHash("hash")
+                .user(user)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should consume an active token with a conditional update")
+    void rotate_Success() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(token));
+        when(refreshTokenRepository.revokeIfActive(anyString())).thenReturn(1);
+
+        assertThat(refreshTokenService.rotate("raw")).isSameAs(user);
+        verify(refreshTokenRepository, never()).revokeAllByUser(any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should treat losing a concurrent rotation as reuse")
+    void rotate_ConcurrentReuse() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(token));
+        when(refreshTokenRepository.revokeIfActive(anyString())).thenReturn(0);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw"))
+                .isInstanceOf(UnauthorizedException.class);
+        verify(refreshTokenRepository).revokeAllByUser(user);
+    }
+
+    @Test
+    @DisplayName("Should revoke all tokens of the user when a rotated token is presented")
+    void rotate_RevokedToken() {
+        token.setRevoked(true);
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(token));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw"))
+                .isInstanceOf(UnauthorizedException.class);
+        verify(refreshTokenRepository).revokeAllByUser(user);
+        verify(refreshTokenRepository, never()).revokeIfActive(anyString());
+    }
+}
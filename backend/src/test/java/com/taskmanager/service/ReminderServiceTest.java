@@ -0,0 +1,82 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.Project;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskReminder;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.TaskReminderRepository;
+import com.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReminderServiceTest {
+
+    private final TaskReminderRepository reminderRepository = mock(TaskReminderRepository.class);
+    private final ReminderNotifier notifier = mock(ReminderNotifier.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should notify only for the reminders this instance deleted")
+    void deliver_SendsOnlyClaimedReminders() {
+        ReminderService service = service();
+        User owner = User.builder().id(1L).email("owner@test.com").firstName("Olive").lastName("Owner").build();
+        Project project = Project.builder().id(2L).title("Website").owner(owner).build();
+        LocalDate due = LocalDate.of(2026, 3, 2);
+        TaskReminder mine = reminder(10L, Task.builder().id(5L).title("Mine").project(project).dueDate(due).build());
+        TaskReminder taken = reminder(11L, Task.builder().id(6L).title("Taken").project(project).dueDate(due).build());
+        when(reminderRepository.findWithTaskByIdIn(anyCollection())).thenReturn(List.of(mine, taken));
+        // Reminder 11 was deleted by another instance between the read and the delete
+        when(reminderRepository.claimByIdIn(anyCollection())).thenReturn(List.of(10L));
+
+        ReflectionTestUtils.invokeMethod(service, "deliver", 0, List.of(10L, 11L));
+
+        ArgumentCaptor<ReminderNotification> sent = ArgumentCaptor.forClass(ReminderNotification.class);
+        verify(notifier, times(1)).send(sent.capture());
+        assertThat(sent.getValue().taskId()).isEqualTo(5L);
+        assertThat(meterRegistry.counter("reminders.deliveries", "outcome", "sent").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should send nothing when every reminder was claimed elsewhere")
+    void deliver_NothingClaimed() {
+        ReminderService service = service();
+        User owner = User.builder().id(1L).email("owner@test.com").firstName("Olive").lastName("Owner").build();
+        Project project = Project.builder().id(2L).title("Website").owner(owner).build();
+        Task task = Task.builder().id(5L).title("Task").project(project).dueDate(LocalDate.of(2026, 3, 2)).build();
+        when(reminderRepository.findWithTaskByIdIn(anyCollection())).thenReturn(List.of(reminder(10L, task)));
+        when(reminderRepository.claimByIdIn(anyCollection())).thenReturn(List.of());
+
+        ReflectionTestUtils.invokeMethod(service, "deliver", 0, List.of(10L));
+
+        verify(notifier, never()).send(any());
+    }
+
+    private ReminderService service() {
+        ShardDirectory shardDirectory = mock(ShardDirectory.class);
+        when(shardDirectory.shardCount()).thenReturn(1);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        return new ReminderService(reminderRepository, mock(TaskRepository.class), notifier, transactionTemplate,
+                shardDirectory, meterRegistry, "1d,1h", "09:00", 1000, 64, 3, 3_600_000, 200);
+    }
+
+    private static TaskReminder reminder(Long id, Task task) {
+        return TaskReminder.builder().id(id).task(task).fireAt(task.getDueDate().minusDays(1).atTime(9, 0)).build();
+    }
+}
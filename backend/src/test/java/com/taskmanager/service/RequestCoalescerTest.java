@@ -0,0 +1,94 @@
+package com.taskmanager.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should run one load for identical concurrent calls and share its result")
+    void execute_SharesInFlightLoad() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true, RequestCoalescer.Scope.USER, 5_000);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> leader = executor.submit(() -> coalescer.execute("op", 1L, 7L, () -> {
+                loads.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "result";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<String> follower = executor.submit(() -> coalescer.execute("op", 1L, 7L, () -> {
+                loads.incrementAndGet();
+                return "own";
+            }));
+            // A different user never joins another user's load
+            String otherUser = coalescer.execute("op", 2L, 7L, () -> {
+                loads.incrementAndGet();
+                return "other";
+            });
+
+            Thread.sleep(200);
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+            assertThat(otherUser).isEqualTo("other");
+            assertThat(loads.get()).isEqualTo(2);
+            assertThat(meterRegistry.counter("coalescing.calls", "operation", "op", "role", "shared").count())
+                    .isEqualTo(1.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load independently when the shared call exceeds the timeout")
+    void execute_TimesOut() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true, RequestCoalescer.Scope.USER, 50);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> coalescer.execute("op", 1L, 7L, () -> {
+                started.countDown();
+                await(release);
+                return "slow";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(coalescer.execute("op", 1L, 7L, () -> "own")).isEqualTo("own");
+            assertThat(meterRegistry.counter("coalescing.calls", "operation", "op", "role", "timeout").count())
+                    .isEqualTo(1.0);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.taskmanager.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardDirectoryTest {
+
+    @Test
+    @DisplayName("Should keep every user on shard 0 without further shards")
+    void singleShard() {
+        for (long id = 1; id <= 1000; id++) {
+            assertThat(ShardDirectory.placement(id, 1)).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Should spread sequential ids evenly")
+    void sequentialIds() {
+        assertEvenlySpread(1, 1, 4);
+        assertEvenlySpread(1, 1, 3);
+    }
+
+    @Test
+    @DisplayName("Should spread ids interleaved across shards evenly")
+    void interleavedIds() {
+        // Every id of shard 0 is a multiple of the stride; plain modulo would put them all on shard 0
+        assertEvenlySpread(1_000_000, 64, 4);
+        assertEvenlySpread(1_000_001, 64, 8);
+    }
+
+    @Test
+    @DisplayName("Should place an id on the same shard every time")
+    void stablePlacement() {
+        assertThat(ShardDirectory.placement(123_456_789L, 5)).isEqualTo(ShardDirectory.placement(123_456_789L, 5));
+        assertThat(ShardDirectory.placement(Long.MAX_VALUE, 5)).isBetween(0, 4);
+    }
+
+    private static void assertEvenlySpread(long firstId, long step, int shards) {
+        int users = 40_000;
+        int[] counts = new int[shards];
+        for (int i = 0; i < users; i++) {
+            int shard = ShardDirectory.placement(firstId + i * step, shards);
+            assertThat(shard).isBetween(0, shards - 1);
+            counts[shard]++;
+        }
+        for (int count : counts) {
+            assertThat(count).isBetween(users / shards * 9 / 10, users / shards * 11 / 10);
+        }
+    }
+}
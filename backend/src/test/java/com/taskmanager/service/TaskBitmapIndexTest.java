@@ -0,0 +1,68 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.TaskPriority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskBitmapIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 10);
+
+    private TaskBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskBitmapIndex();
+        index.put(1L, TaskPriority.HIGH, false, TODAY.minusDays(1), List.of("bug", "backend"));
+        index.put(2L, TaskPriority.URGENT, true, TODAY.minusDays(3), List.of("bug"));
+        index.put(3L, TaskPriority.LOW, false, TODAY.plusDays(2), List.of("frontend"));
+        index.put(4L, TaskPriority.HIGH, false, null, List.of());
+    }
+
+    @Test
+    @DisplayName("Should combine labels, priorities and status with AND, OR and NOT")
+    void query_CombinesTerms() {
+        assertThat(ids("label:bug AND NOT completed")).containsExactly(1L);
+        assertThat(ids("label:bug (priority:high OR priority:URGENT)")).containsExactly(2L, 1L);
+        assertThat(ids("priority:HIGH OR label:frontend")).containsExactly(4L, 3L, 1L);
+        assertThat(ids("open AND NOT (label:bug OR label:frontend)")).containsExactly(4L);
+        assertThat(ids("overdue")).containsExactly(1L);
+        assertThat(ids("label:missing")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reflect updates and removals and page newest first")
+    void putAndRemove_KeepIndexCurrent() {
+        index.put(1L, TaskPriority.LOW, true, null, List.of("backend"));
+        index.remove(3L);
+
+        assertThat(ids("label:bug")).containsExactly(2L);
+        assertThat(ids("completed")).containsExactly(2L, 1L);
+        assertThat(ids("label:frontend")).isEmpty();
+
+        TaskBitmapIndex.Matches page = index.query(TaskFilterExpression.parse("open OR completed"), TODAY, 1, 1);
+        assertThat(page.ids()).containsExactly(2L);
+        assertThat(page.total()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed filter expressions")
+    void parse_RejectsMalformedInput() {
+        assertThatThrownBy(() -> TaskFilterExpression.parse("label:bug AND")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaskFilterExpression.parse("(open")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaskFilterExpression.parse("priority:critical")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaskFilterExpression.parse("owner:me")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaskFilterExpression.parse(" ")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Long> ids(String expression) {
+        return index.query(TaskFilterExpression.parse(expression), TODAY, 0, 100).ids();
+    }
+}
@@ -0,0 +1,77 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.TaskResponse;
+import com.taskmanager.event.TaskEvent;
+import com.taskmanager.event.TaskEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskEventStreamServiceTest {
+
+    @Test
+    @DisplayName("Should replay only when every event after the last id is still logged")
+    void replayLog_ReplayableAfter() {
+        TaskEventStreamService.ReplayLog replay = new TaskEventStreamService.ReplayLog(100);
+        TaskEventSubscriber subscriber = subscriber(null);
+        for (long id = 101; id <= 104; id++) {
+            replay.append(entry(id, 1L), 3);
+        }
+
+        // 101 was evicted, so a client that saw 100 missed it
+        assertThat(replay.entriesAfter(100, subscriber)).isNull();
+        assertThat(replay.entriesAfter(101, subscriber))
+                .extracting(TaskEventStreamService.StreamEntry::id)
+                .containsExactly(102L, 103L, 104L);
+        assertThat(replay.entriesAfter(104, subscriber)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not replay events from before a new log was started")
+    void replayLog_NewLog() {
+        TaskEventStreamService.ReplayLog replay = new TaskEventStreamService.ReplayLog(5000);
+        replay.append(entry(5001, 1L), 16);
+
+        assertThat(replay.entriesAfter(4000, subscriber(null))).isNull();
+        assertThat(replay.entriesAfter(5000, subscriber(null))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should replay only the subscribed project's events")
+    void replayLog_ProjectScoped() {
+        TaskEventStreamService.ReplayLog replay = new TaskEventStreamService.ReplayLog(0);
+        replay.append(entry(1, 1L), 16);
+        replay.append(entry(2, 2L), 16);
+
+        List<TaskEventStreamService.StreamEntry> missed = replay.entriesAfter(0, subscriber(2L));
+
+        assertThat(missed).extracting(TaskEventStreamService.StreamEntry::id).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should skip entries already queued for the subscriber")
+    void subscriber_SkipsQueued() {
+        TaskEventSubscriber subscriber = subscriber(null);
+
+        assertThat(subscriber.offer(entry(1, 1L))).isTrue();
+        assertThat(subscriber.offer(entry(2, 1L))).isTrue();
+        // Duplicates and older entries are accepted but not queued again
+        assertThat(subscriber.offer(entry(2, 1L))).isTrue();
+        assertThat(subscriber.offer(entry(1, 1L))).isTrue();
+        // The buffer holds two entries, so a third new one would overflow it
+        assertThat(subscriber.offer(entry(3, 1L))).isFalse();
+    }
+
+    private static TaskEventSubscriber subscriber(Long projectId) {
+        return new TaskEventSubscriber(new SseEmitter(), 1L, projectId, 2);
+    }
+
+    private static TaskEventStreamService.StreamEntry entry(long id, Long projectId) {
+        TaskResponse task = TaskResponse.builder().id(id).projectId(projectId).title("Task " + id).build();
+        return new TaskEventStreamService.StreamEntry(id, TaskEvent.of(TaskEventType.UPDATED, task, 1L));
+    }
+}
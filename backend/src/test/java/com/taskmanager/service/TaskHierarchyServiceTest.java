@@ -0,0 +1,164 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.Project;
+import com.taskmanager.entity.Task;
+import com.taskmanager.exception.BadRequestException;
+import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskRollup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskHierarchyServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @InjectMocks
+    private TaskHierarchyService taskHierarchyService;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        project = Project.builder().id(1L).title("Board").build();
+        lenient().when(projectRepository.lockTaskTree(1L)).thenReturn(Optional.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should place a new subtask under its parent and count it in every ancestor")
+    void placeNewTask_UnderNestedParent() {
+        Task parent = task(45L, "/12/", 0, 0);
+        when(taskRepository.findByIdAndProjectId(45L, 1L)).thenReturn(Optional.of(parent));
+        Task child = Task.builder().title("Child").project(project).build();
+
+        taskHierarchyService.placeNewTask(child, 1L, 45L);
+
+        assertThat(child.getPath()).isEqualTo("/12/45/");
+        assertThat(child.getParent()).isSameAs(parent);
+        verify(taskRepository).adjustDescendantCounts(List.of(12L, 45L), 1, 0);
+    }
+
+    @Test
+    @DisplayName("Should leave top-level tasks alone without taking the lock")
+    void placeNewTask_TopLevel() {
+        Task task = Task.builder().title("Top").project(project).build();
+
+        taskHierarchyService.placeNewTask(task, 1L, null);
+
+        assertThat(task.getPath()).isEqualTo(Task.ROOT_PATH);
+        verifyNoInteractions(taskRepository);
+        verify(projectRepository, never()).lockTaskTree(1L);
+    }
+
+    @Test
+    @DisplayName("Should move subtree counts and paths when a task gets a new parent")
+    void reparent_MovesCountsAndPaths() {
+        Task oldParent = task(12L, "/", 3, 1);
+        Task moved = task(45L, "/12/", 2, 1);
+        moved.setParent(oldParent);
+        moved.setCompleted(true);
+        Task newParent = task(70L, "/", 0, 0);
+        when(taskRepository.findRollupById(45L)).thenReturn(Optional.of(rollup(45L, "/12/", true, 2, 1)));
+        when(taskRepository.findByIdAndProjectId(70L, 1L)).thenReturn(Optional.of(newParent));
+        when(taskRepository.findMaxPathLengthUnder(1L, "/12/45/")).thenReturn(10);
+
+        taskHierarchyService.reparent(moved, 1L, 70L);
+
+        verify(taskRepository).adjustDescendantCounts(List.of(12L), -3, -2);
+        verify(taskRepository).adjustDescendantCounts(List.of(70L), 3, 2);
+        verify(taskRepository).movePaths(1L, "/12/45/", 7, "/70/45/");
+        assertThat(moved.getPath()).isEqualTo("/70/");
+        assertThat(moved.getParent()).isSameAs(newParent);
+    }
+
+    @Test
+    @DisplayName("Should reject moving a task under one of its own subtasks")
+    void reparent_RejectsCycle() {
+        Task moved = task(12L, "/", 1, 0);
+        Task descendant = task(45L, "/12/", 0, 0);
+        when(taskRepository.findRollupById(12L)).thenReturn(Optional.of(rollup(12L, "/", false, 1, 0)));
+        when(taskRepository.findByIdAndProjectId(45L, 1L)).thenReturn(Optional.of(descendant));
+
+        assertThatThrownBy(() -> taskHierarchyService.reparent(moved, 1L, 45L))
+                .isInstanceOf(BadRequestException.class);
+        verify(taskRepository, never()).adjustDescendantCounts(anyCollection(), anyInt(), anyInt());
+        verify(taskRepository, never()).movePaths(anyLong(), anyString(), anyInt(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should update ancestor completion counters when a subtask is toggled")
+    void completionChanged_UpdatesAncestors() {
+        Task task = task(45L, "/12/30/", 0, 0);
+        task.setCompleted(false);
+        when(taskRepository.findRollupById(45L)).thenReturn(Optional.of(rollup(45L, "/12/30/", false, 0, 0)));
+
+        taskHierarchyService.completionChanged(task, 1L, true);
+
+        verify(taskRepository).adjustDescendantCounts(List.of(12L, 30L), 0, -1);
+    }
+
+    private Task task(Long id, String path, int descendants, int completedDescendants) {
+        return Task.builder()
+                .id(id)
+                .title("Task " + id)
+                .project(project)
+                .path(path)
+                .descendantCount(descendants)
+                .completedDescendantCount(completedDescendants)
+                .build();
+    }
+
+    private TaskRollup rollup(Long id, String path, boolean completed, int descendants, int completedDescendants) {
+        return new TaskRollup() {
+            @Override
+            public Long getTaskId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return "Task " + id;
+            }
+
+            @Override
+            public String getPath() {
+                return path;
+            }
+
+            @Override
+            public Boolean getCompleted() {
+                return completed;
+            }
+
+            @Override
+            public int getDescendantCount() {
+                return descendants;
+            }
+
+            @Override
+            public int getCompletedDescendantCount() {
+                return completedDescendants;
+            }
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.request.MoveTaskRequest;
+import com.taskmanager.dto.response.TaskResponse;
+import com.taskmanager.entity.Project;
+import com.taskmanager.entity.Role;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.User;
+import com.taskmanager.exception.BadRequestException;
+import com.taskmanager.repository.TaskFilter;
+import com.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectService projectService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskEventStreamService taskEventStreamService;
+
+    @Mock
+    private RequestCoalescer requestCoalescer;
+
+    @Mock
+    private TaskRankingService taskRankingService;
+
+    @Mock
+    private TaskHierarchyService taskHierarchyService;
+
+    @Mock
+    private TaskRecurrenceService taskRecurrenceService;
+
+    @Mock
+    private ActivityLogService activityLogService;
+
+    @Mock
+    private TaskSnapshotService taskSnapshotService;
+
+    @InjectMocks
+    private TaskService taskService;
+
+    private User testUser;
+    private Project testProject;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder().id(1L).email("test@test.com").role(Role.USER).build();
+        testProject = Project.builder().id(10L).title("Website").owner(testUser).build();
+    }
+
+    @Test
+    @DisplayName("Should load the moved task only after ranking, which may clear the persistence context")
+    void moveTask_LoadsTaskAfterRanking() {
+        Task task = Task.builder().id(100L).title("Fix login").rank("V0002V").project(testProject).build();
+        MoveTaskRequest request = new MoveTaskRequest();
+        request.setPreviousTaskId(101L);
+        when(projectService.getProjectEntity(10L, testUser)).thenReturn(testProject);
+        when(taskRankingService.rankBetween(10L, 101L, null)).thenReturn("V0003I");
+        when(taskRepository.findByIdAndProject(100L, testProject)).thenReturn(Optional.of(task));
+        when(taskRepository.save(task)).thenReturn(task);
+
+        TaskResponse response = taskService.moveTask(10L, 100L, request, testUser);
+
+        assertThat(response.getRank()).isEqualTo("V0003I");
+        InOrder inOrder = inOrder(taskRankingService, taskRepository);
+        inOrder.verify(taskRankingService).rankBetween(10L, 101L, null);
+        inOrder.verify(taskRepository).findByIdAndProject(100L, testProject);
+        inOrder.verify(taskRepository).save(task);
+    }
+
+    @Test
+    @DisplayName("Should pass sorts by task columns to the projection query")
+    void getTaskProjections_SortableFields() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("dueDate").and(Sort.by(Sort.Direction.DESC, "priority")));
+        when(projectService.getProjectEntity(10L, testUser)).thenReturn(testProject);
+        when(taskRepository.findSummaries(10L, TaskFilter.all(), pageable)).thenReturn(Page.empty(pageable));
+
+        taskService.getTaskProjections(10L, TaskFilter.all(), "summary", null, testUser, pageable);
+
+        verify(taskRepository).findSummaries(10L, TaskFilter.all(), pageable);
+    }
+
+    @Test
+    @DisplayName("Should reject sorts by unknown, derived or joined properties")
+    void getTaskProjections_UnknownSort() {
+        when(projectService.getProjectEntity(10L, testUser)).thenReturn(testProject);
+
+        for (String property : new String[]{"project.owner.password", "overdue", "projectTitle", "nope"}) {
+            Pageable pageable = PageRequest.of(0, 20, Sort.by(property));
+
+            assertThatThrownBy(() -> taskService.getTaskProjections(10L, TaskFilter.all(), null, "id,title",
+                    testUser, pageable))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessageContaining(property);
+        }
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown sorts of the paginated task list")
+    void getTasksPaginated_UnknownSort() {
+        when(projectService.getProjectEntity(10L, testUser)).thenReturn(testProject);
+
+        assertThatThrownBy(() -> taskService.getTasksPaginated(10L, testUser, PageRequest.of(0, 20, Sort.by("x"))))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(taskRepository);
+    }
+}
@@ -0,0 +1,225 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.ProjectResponse;
+import com.taskmanager.dto.response.TaskResponse;
+import com.taskmanager.dto.response.TaskSummaryResponse;
+import com.taskmanager.entity.Role;
+import com.taskmanager.entity.TaskPriority;
+import com.taskmanager.entity.User;
+import com.taskmanager.event.ProjectEvent;
+import com.taskmanager.event.ProjectEventType;
+import com.taskmanager.event.TaskEvent;
+import com.taskmanager.event.TaskEventType;
+import com.taskmanager.exception.ResourceNotFoundException;
+import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.ProjectTaskCounts;
+import com.taskmanager.repository.TaskFilter;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskSnapshotRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSnapshotServiceTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 6, 1, 9, 0);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    private TaskSnapshotService taskSnapshotService;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        taskSnapshotService = new TaskSnapshotService(taskRepository, projectRepository, true, 1L << 20);
+        owner = User.builder().id(1L).email("test@test.com").role(Role.USER).build();
+    }
+
+    @Test
+    @DisplayName("Should load a snapshot once and serve progress only after it is loaded")
+    void getSummaries_LoadsOnce() {
+        stubProject(10L, "Website");
+
+        assertThat(taskSnapshotService.findProgress(10L, owner)).isEmpty();
+        taskSnapshotService.getSummaries(10L, TaskFilter.all(), owner);
+        List<TaskSummaryResponse> summaries = taskSnapshotService.getSummaries(10L, TaskFilter.all(), owner);
+
+        assertThat(summaries).extracting(TaskSummaryResponse::getTitle).containsExactly("Fix login");
+        assertThat(taskSnapshotService.findProgress(10L, owner)).get()
+                .satisfies(progress -> assertThat(progress.getTotalTasks()).isEqualTo(1));
+        verify(taskRepository, times(1)).findSnapshotRowsByProjectId(10L);
+    }
+
+    @Test
+    @DisplayName("Should serve but not keep a snapshot loaded while a task write committed")
+    void getSummaries_WriteDuringLoad() {
+        stubCounts(10L, "Website");
+        List<TaskSnapshotRow> before = List.of(row(1L, "Fix login"));
+        List<TaskSnapshotRow> after = List.of(row(1L, "Fix login"), row(2L, "Ship release"));
+        when(taskRepository.findSnapshotRowsByProjectId(10L)).thenAnswer(invocation -> {
+            // The write commits after the rows were read
+            taskSnapshotService.onTaskEvent(taskEvent(TaskEventType.CREATED, 2L, "Ship release"));
+            return before;
+        }).thenReturn(after);
+
+        assertThat(taskSnapshotService.getSummaries(10L, TaskFilter.all(), owner)).hasSize(1);
+        assertThat(taskSnapshotService.findProgress(10L, owner)).isEmpty();
+        assertThat(taskSnapshotService.getSummaries(10L, TaskFilter.all(), owner)).hasSize(2);
+        assertThat(taskSnapshotService.getSummaries(10L, TaskFilter.all(), owner)).hasSize(2);
+
+        verify(taskRepository, times(2)).findSnapshotRowsByProjectId(10L);
+    }
+
+    @Test
+    @DisplayName("Should not keep a snapshot loaded while all snapshots were invalidated")
+    void getSummaries_InvalidateAllDuringLoad() {
+        stubCounts(10L, "Website");
+        List<TaskSnapshotRow> rows = List.of(row(1L, "Fix login"));
+        when(taskRepository.findSnapshotRowsByProjectId(10L)).thenAnswer(invocation -> {
+            taskSnapshotService.invalidateAll();
+            return rows;
+        });
+
+        taskSnapshotService.getSummaries(10L, TaskFilter.all(), owner);
+
+        assertThat(taskSnapshotService.findProgress(10L, owner)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should apply committed task events to a loaded snapshot")
+    void onTaskEvent_UpdatesSnapshot() {
+        stubProject(10L, "Website");
+        taskSnapshotService.getSummaries(10L, TaskFilter.all(), owner);
+
+        taskSnapshotService.onTaskEvent(taskEvent(TaskEventType.CREATED, 2L, "Ship release"));
+        taskSnapshotService.onTaskEvent(taskEvent(TaskEventType.DELETED, 1L, "Fix login"));
+
+        assertThat(taskSnapshotService.getSummaries(10L, TaskFilter.all(), owner))
+                .extracting(TaskSummaryResponse::getTitle)
+                .containsExactly("Ship release");
+        verify(taskRepository, times(1)).findSnapshotRowsByProjectId(10L);
+    }
+
+    @Test
+    @DisplayName("Should drop a snapshot only once the invalidating transaction completed")
+    void invalidate_AfterCompletion() {
+        stubProject(10L, "Website");
+        taskSnapshotService.getSummaries(10L, TaskFilter.all(), owner);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            taskSnapshotService.invalidate(10L);
+            assertThat(taskSnapshotService.findProgress(10L, owner)).isPresent();
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(taskSnapshotService.findProgress(10L, owner)).isEmpty();
+        taskSnapshotService.getSummaries(10L, TaskFilter.all(), owner);
+        verify(taskRepository, times(2)).findSnapshotRowsByProjectId(10L);
+    }
+
+    @Test
+    @DisplayName("Should drop deleted projects and follow title changes")
+    void onProjectEvent_DeletedAndUpdated() {
+        stubProject(10L, "Website");
+        stubProject(20L, "Mobile app");
+        taskSnapshotService.getSummaries(10L, TaskFilter.all(), owner);
+        taskSnapshotService.getSummaries(20L, TaskFilter.all(), owner);
+
+        ProjectResponse renamed = ProjectResponse.builder().id(20L).title("Mobile relaunch").build();
+        taskSnapshotService.onProjectEvent(ProjectEvent.of(ProjectEventType.UPDATED, renamed, 1L));
+        taskSnapshotService.onProjectEvent(ProjectEvent.deleted(10L, 1L));
+
+        assertThat(taskSnapshotService.findProgress(10L, owner)).isEmpty();
+        assertThat(taskSnapshotService.findProgress(20L, owner)).get()
+                .satisfies(progress -> assertThat(progress.getProjectTitle()).isEqualTo("Mobile relaunch"));
+    }
+
+    @Test
+    @DisplayName("Should not serve another user's project")
+    void getSummaries_OtherOwner() {
+        stubProject(10L, "Website");
+        taskSnapshotService.getSummaries(10L, TaskFilter.all(), owner);
+        User other = User.builder().id(2L).email("other@test.com").role(Role.USER).build();
+
+        assertThatThrownBy(() -> taskSnapshotService.getSummaries(10L, TaskFilter.all(), other))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(taskSnapshotService.findProgress(10L, other)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should evict least recently read snapshots over the budget, but not the one being served")
+    void evictOverBudget_LeastRecentlyRead() {
+        // Every snapshot alone exceeds a one-byte budget
+        taskSnapshotService = new TaskSnapshotService(taskRepository, projectRepository, true, 1L);
+        stubProject(10L, "Website");
+        stubProject(20L, "Mobile app");
+
+        taskSnapshotService.getSummaries(10L, TaskFilter.all(), owner);
+        taskSnapshotService.getSummaries(20L, TaskFilter.all(), owner);
+
+        assertThat(taskSnapshotService.findProgress(10L, owner)).isEmpty();
+        assertThat(taskSnapshotService.findProgress(20L, owner)).isPresent();
+
+        taskSnapshotService.evictOverBudget();
+        assertThat(taskSnapshotService.findProgress(20L, owner)).isEmpty();
+    }
+
+    private void stubProject(Long projectId, String title) {
+        stubCounts(projectId, title);
+        List<TaskSnapshotRow> rows = List.of(row(1L, "Fix login"));
+        when(taskRepository.findSnapshotRowsByProjectId(projectId)).thenReturn(rows);
+    }
+
+    private void stubCounts(Long projectId, String title) {
+        ProjectTaskCounts counts = mock(ProjectTaskCounts.class);
+        when(counts.getTitle()).thenReturn(title);
+        when(projectRepository.findTaskCountsByOwnerAndIds(owner, List.of(projectId))).thenReturn(List.of(counts));
+    }
+
+    private static TaskSnapshotRow row(Long id, String title) {
+        TaskSnapshotRow row = mock(TaskSnapshotRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getTitle()).thenReturn(title);
+        when(row.getCompleted()).thenReturn(false);
+        when(row.getPriority()).thenReturn(TaskPriority.MEDIUM);
+        when(row.getCreatedAt()).thenReturn(CREATED);
+        return row;
+    }
+
+    private static TaskEvent taskEvent(TaskEventType type, Long taskId, String title) {
+        TaskResponse task = TaskResponse.builder()
+                .id(taskId)
+                .projectId(10L)
+                .title(title)
+                .priority(TaskPriority.MEDIUM)
+                .createdAt(CREATED)
+                .build();
+        return TaskEvent.of(type, task, 1L);
+    }
+}
@@ -0,0 +1,130 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.ProjectProgressResponse;
+import com.taskmanager.dto.response.TaskSummaryResponse;
+import com.taskmanager.entity.TaskPriority;
+import com.taskmanager.repository.TaskFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskSnapshotTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 10);
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 6, 1, 9, 0);
+
+    private TaskSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new TaskSnapshot(7L, "Website", 2);
+        snapshot.put(1L, "Fix login", false, TaskPriority.HIGH, TODAY.minusDays(1), "V1", CREATED);
+        snapshot.put(2L, "Ship release", true, TaskPriority.URGENT, TODAY.minusDays(3), "V3", CREATED);
+        snapshot.put(3L, "Write docs", false, TaskPriority.LOW, TODAY.plusDays(2), "V2", CREATED);
+        snapshot.put(4L, "Triage", false, null, null, null, CREATED.plusDays(1));
+        snapshot.put(5L, "Backlog", false, TaskPriority.HIGH, null, null, CREATED.plusDays(2));
+    }
+
+    @Test
+    @DisplayName("Should list by rank byte-wise, then tasks without rank newest first")
+    void summaries_ListOrder() {
+        assertThat(ids(TaskFilter.all())).containsExactly(1L, 3L, 2L, 5L, 4L);
+
+        // Lower-case letters sort after digits and upper case, as in the "C" collation
+        snapshot.put(6L, "Late", false, null, null, "a", CREATED);
+        snapshot.put(7L, "Early", false, null, null, "0", CREATED);
+        assertThat(ids(TaskFilter.all())).containsExactly(7L, 1L, 3L, 2L, 6L, 5L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should filter like the database query")
+    void summaries_Filters() {
+        assertThat(ids(TaskFilter.byCompleted(true))).containsExactly(2L);
+        assertThat(ids(TaskFilter.byPriority(TaskPriority.HIGH))).containsExactly(1L, 5L);
+        assertThat(ids(TaskFilter.overdueOn(TODAY))).containsExactly(1L);
+        assertThat(ids(new TaskFilter(false, Set.of(TaskPriority.LOW, TaskPriority.HIGH), TODAY.minusDays(1),
+                TODAY.plusDays(2), null, null))).containsExactly(1L, 3L);
+        assertThat(ids(new TaskFilter(null, null, null, null, null, " "))).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Should refuse text searches")
+    void summaries_TextSearch() {
+        assertThatThrownBy(() -> snapshot.summaries(new TaskFilter(null, null, null, null, null, "docs")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should return titles, priorities and due dates as written")
+    void summaries_Values() {
+        snapshot.put(8L, "\u00dcbersetzung pr\u00fcfen \u2713", false, TaskPriority.MEDIUM, TODAY, "V0", CREATED);
+
+        TaskSummaryResponse first = snapshot.summaries(TaskFilter.all()).get(0);
+
+        assertThat(first.getId()).isEqualTo(8L);
+        assertThat(first.getTitle()).isEqualTo("\u00dcbersetzung pr\u00fcfen \u2713");
+        assertThat(first.getPriority()).isEqualTo(TaskPriority.MEDIUM);
+        assertThat(first.getDueDate()).isEqualTo(TODAY);
+    }
+
+    @Test
+    @DisplayName("Should replace a task in place or move it when its rank changes")
+    void put_ReplacesAndMoves() {
+        snapshot.put(3L, "Write API docs", true, TaskPriority.LOW, TODAY.plusDays(2), "V2", CREATED);
+        assertThat(ids(TaskFilter.all())).containsExactly(1L, 3L, 2L, 5L, 4L);
+        assertThat(snapshot.summaries(TaskFilter.byCompleted(true)))
+                .extracting(TaskSummaryResponse::getTitle)
+                .containsExactly("Write API docs", "Ship release");
+
+        snapshot.put(1L, "Fix login", false, TaskPriority.HIGH, TODAY.minusDays(1), "V4", CREATED);
+        assertThat(ids(TaskFilter.all())).containsExactly(3L, 2L, 1L, 5L, 4L);
+        assertThat(ids(TaskFilter.byCompleted(true))).containsExactly(3L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should keep completion aligned with its task when rows shift")
+    void remove_ShiftsRows() {
+        snapshot.remove(1L);
+        snapshot.remove(99L);
+
+        assertThat(ids(TaskFilter.all())).containsExactly(3L, 2L, 5L, 4L);
+        assertThat(ids(TaskFilter.byCompleted(true))).containsExactly(2L);
+        assertThat(snapshot.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should count archived tasks as completed in progress")
+    void progress_IncludesArchived() {
+        snapshot.setProjectTitle("Website relaunch");
+
+        ProjectProgressResponse progress = snapshot.progress(11L);
+
+        assertThat(progress.getProjectTitle()).isEqualTo("Website relaunch");
+        assertThat(progress.getTotalTasks()).isEqualTo(7);
+        assertThat(progress.getCompletedTasks()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should reclaim the text of replaced titles")
+    void put_CompactsText() {
+        for (int i = 0; i < 2_000; i++) {
+            snapshot.put(1L, "Fix login, attempt " + i, false, TaskPriority.HIGH, TODAY.minusDays(1), "V1", CREATED);
+        }
+
+        assertThat(snapshot.sizeInBytes()).isLessThan(16_384);
+        assertThat(snapshot.summaries(TaskFilter.all()).get(0).getTitle()).isEqualTo("Fix login, attempt 1999");
+        assertThat(ids(TaskFilter.all())).containsExactly(1L, 3L, 2L, 5L, 4L);
+    }
+
+    private List<Long> ids(TaskFilter filter) {
+        return snapshot.summaries(filter).stream().map(TaskSummaryResponse::getId).toList();
+    }
+}
@@ -0,0 +1,125 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.TaskResponse;
+import com.taskmanager.entity.Role;
+import com.taskmanager.entity.User;
+import com.taskmanager.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskToggleCoalescerTest {
+
+    private final TaskService taskService = mock(TaskService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+    private final User owner = User.builder().id(7L).email("a@test.com").role(Role.USER).build();
+
+    @BeforeEach
+    void setUp() {
+        when(taskService.getTaskById(3L, 1L, owner))
+                .thenReturn(TaskResponse.builder().id(1L).projectId(3L).title("Task").completed(false).build());
+        when(taskService.setCompletion(anyLong(), anyLong(), anyBoolean(), any(User.class))).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should toggle through TaskService when coalescing is disabled")
+    void toggle_DelegatesWhenDisabled() {
+        TaskToggleCoalescer coalescer = new TaskToggleCoalescer(taskService, transactionTemplate, meterRegistry, false, 500, 100);
+
+        coalescer.toggle(3L, 1L, owner);
+
+        verify(taskService).toggleTaskCompletion(3L, 1L, owner);
+        assertThat(coalescer.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should acknowledge each toggle and write only the final state once due")
+    void toggle_WritesFinalStateOnce() {
+        TaskToggleCoalescer coalescer = new TaskToggleCoalescer(taskService, transactionTemplate, meterRegistry, true, 0, 100);
+
+        assertThat(coalescer.toggle(3L, 1L, owner).isCompleted()).isTrue();
+        assertThat(coalescer.toggle(3L, 1L, owner).isCompleted()).isFalse();
+        TaskResponse last = coalescer.toggle(3L, 1L, owner);
+        assertThat(last.isCompleted()).isTrue();
+        assertThat(last.getCompletedAt()).isNotNull();
+
+        coalescer.flushDue();
+
+        verify(taskService, times(1)).getTaskById(3L, 1L, owner);
+        verify(taskService, times(1)).setCompletion(3L, 1L, true, owner);
+        verify(taskService, never()).toggleTaskCompletion(anyLong(), anyLong(), any(User.class));
+        assertThat(coalescer.pendingCount()).isZero();
+        assertThat(meterRegistry.counter("tasks.toggles", "outcome", "acknowledged").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should write nothing when the toggles cancel out")
+    void toggle_CancelledTogglesAreNotWritten() {
+        TaskToggleCoalescer coalescer = new TaskToggleCoalescer(taskService, transactionTemplate, meterRegistry, true, 0, 100);
+
+        coalescer.toggle(3L, 1L, owner);
+        coalescer.toggle(3L, 1L, owner);
+        coalescer.flushDue();
+
+        verify(taskService, never()).setCompletion(anyLong(), anyLong(), anyBoolean(), any(User.class));
+        assertThat(meterRegistry.counter("tasks.toggles", "outcome", "cancelled").count()).isEqualTo(1.0);
+        assertThat(coalescer.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep toggles pending until the window passes, unless the user makes another request")
+    void flush_WritesBeforeWindowForReadYourWrites() {
+        TaskToggleCoalescer coalescer = new TaskToggleCoalescer(taskService, transactionTemplate, meterRegistry, true, 60_000, 100);
+
+        coalescer.toggle(3L, 1L, owner);
+        coalescer.flushDue();
+        verify(taskService, never()).setCompletion(anyLong(), anyLong(), anyBoolean(), any(User.class));
+
+        coalescer.flush(owner.getId());
+
+        verify(taskService).setCompletion(3L, 1L, true, owner);
+        assertThat(coalescer.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep a pending state whose write failed and retry it")
+    void flushDue_RetriesFailedWrite() {
+        TaskToggleCoalescer coalescer = new TaskToggleCoalescer(taskService, transactionTemplate, meterRegistry, true, 0, 100);
+        when(taskService.setCompletion(3L, 1L, true, owner))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(true);
+
+        coalescer.toggle(3L, 1L, owner);
+        coalescer.flushDue();
+        assertThat(coalescer.pendingCount()).isEqualTo(1);
+
+        coalescer.flushDue();
+        assertThat(coalescer.pendingCount()).isZero();
+        verify(taskService, times(2)).setCompletion(3L, 1L, true, owner);
+    }
+
+    @Test
+    @DisplayName("Should reject a toggle of a pending task through another project")
+    void toggle_RejectsOtherProject() {
+        TaskToggleCoalescer coalescer = new TaskToggleCoalescer(taskService, transactionTemplate, meterRegistry, true, 60_000, 100);
+        coalescer.toggle(3L, 1L, owner);
+
+        assertThatThrownBy(() -> coalescer.toggle(4L, 1L, owner))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.taskmanager.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("Should expire entries at their deadline, across all levels")
+    void expiresAtDeadline() {
+        TimingWheel wheel = new TimingWheel(1000, 8, 3, 0);
+        wheel.schedule(1, 3_000);
+        wheel.schedule(2, 70_000);
+        wheel.schedule(3, 300_000);
+
+        assertThat(advance(wheel, 2_999)).isEmpty();
+        assertThat(advance(wheel, 3_000)).containsExactly(1L);
+        assertThat(advance(wheel, 69_999)).isEmpty();
+        assertThat(advance(wheel, 70_000)).containsExactly(2L);
+        assertThat(advance(wheel, 299_999)).isEmpty();
+        assertThat(advance(wheel, 300_000)).containsExactly(3L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should cancel and reschedule entries by id")
+    void cancelAndReschedule() {
+        TimingWheel wheel = new TimingWheel(1000, 8, 3, 0);
+        wheel.schedule(1, 5_000);
+        wheel.schedule(2, 5_000);
+        wheel.schedule(2, 9_000);
+
+        assertThat(wheel.cancel(1)).isTrue();
+        assertThat(wheel.cancel(1)).isFalse();
+        assertThat(advance(wheel, 8_000)).isEmpty();
+        assertThat(advance(wheel, 9_000)).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should expire past deadlines on the next tick and refuse deadlines beyond the horizon")
+    void pastAndBeyondHorizon() {
+        TimingWheel wheel = new TimingWheel(1000, 8, 2, 10_000);
+
+        assertThat(wheel.schedule(1, 0)).isTrue();
+        assertThat(wheel.schedule(2, 10_000 + wheel.horizonMillis())).isTrue();
+        assertThat(wheel.schedule(3, 10_000 + wheel.horizonMillis() + 1000)).isFalse();
+        assertThat(advance(wheel, 11_000)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should match a brute-force schedule under random operations")
+    void randomizedAgainstReference() {
+        Random random = new Random(42);
+        long now = 123_456;
+        TimingWheel wheel = new TimingWheel(10, 4, 3, now);
+        Map<Long, Long> reference = new HashMap<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            int operation = random.nextInt(10);
+            long id = random.nextInt(500);
+            if (operation < 5) {
+                long deadline = now + random.nextInt((int) wheel.horizonMillis()) - 20;
+                assertThat(wheel.schedule(id, deadline)).isTrue();
+                reference.put(id, Math.max(deadline / 10, now / 10 + 1));
+            } else if (operation < 7) {
+                assertThat(wheel.cancel(id)).isEqualTo(reference.remove(id) != null);
+            } else {
+                now += random.nextInt(200);
+                long tick = now / 10;
+                List<Long> expected = new ArrayList<>();
+                reference.forEach((key, deadline) -> {
+                    if (deadline <= tick) {
+                        expected.add(key);
+                    }
+                });
+                expected.forEach(reference::remove);
+
+                assertThat(advance(wheel, now)).containsExactlyInAnyOrderElementsOf(expected);
+            }
+            assertThat(wheel.size()).isEqualTo(reference.size());
+        }
+    }
+
+    private static List<Long> advance(TimingWheel wheel, long nowMillis) {
+        List<Long> expired = new ArrayList<>();
+        wheel.advance(nowMillis, expired::add);
+        return expired;
+    }
+}
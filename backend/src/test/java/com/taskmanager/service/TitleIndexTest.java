@@ -0,0 +1,56 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.AutocompleteSuggestion;
+import com.taskmanager.dto.response.AutocompleteSuggestion.Type;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TitleIndexTest {
+
+    @Test
+    @DisplayName("Should match any word start once per entry, case-insensitively")
+    void search_MatchesWordStarts() {
+        TitleIndex index = new TitleIndex();
+        index.put(suggestion(Type.PROJECT, 1L, 1L, "Website Redesign"));
+        index.put(suggestion(Type.TASK, 10L, 1L, "Fix login bug"));
+        index.put(suggestion(Type.TASK, 11L, 1L, "Login  login page"));
+
+        List<AutocompleteSuggestion> results = index.search("LOG", 10);
+
+        assertThat(results).extracting(AutocompleteSuggestion::getId).containsExactlyInAnyOrder(10L, 11L);
+        assertThat(index.search("redes", 10)).extracting(AutocompleteSuggestion::getId).containsExactly(1L);
+        assertThat(index.search("ogin", 10)).isEmpty();
+        assertThat(index.search("l", 1)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should drop old keys on rename and remove a project with its tasks")
+    void putAndRemove_KeepIndexCurrent() {
+        TitleIndex index = new TitleIndex();
+        index.put(suggestion(Type.PROJECT, 1L, 1L, "Alpha"));
+        index.put(suggestion(Type.TASK, 10L, 1L, "Draft plan"));
+        index.put(suggestion(Type.TASK, 20L, 2L, "Draft budget"));
+
+        index.put(suggestion(Type.TASK, 10L, 1L, "Review plan"));
+        assertThat(index.search("draft", 10)).extracting(AutocompleteSuggestion::getId).containsExactly(20L);
+        assertThat(index.search("review", 10)).extracting(AutocompleteSuggestion::getId).containsExactly(10L);
+
+        index.removeProject(1L);
+        assertThat(index.search("alpha", 10)).isEmpty();
+        assertThat(index.search("plan", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    private AutocompleteSuggestion suggestion(Type type, Long id, Long projectId, String title) {
+        return AutocompleteSuggestion.builder()
+                .type(type)
+                .id(id)
+                .projectId(projectId)
+                .title(title)
+                .build();
+    }
+}
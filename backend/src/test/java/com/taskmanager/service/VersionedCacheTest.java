@@ -0,0 +1,80 @@
+package com.taskmanager.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionedCacheTest {
+
+    @Test
+    @DisplayName("Should load a missing value once and keep it")
+    void getOrLoad_KeepsLoadedValue() {
+        VersionedCache<Long, Entry> cache = new VersionedCache<>("entry");
+        AtomicInteger loads = new AtomicInteger();
+
+        Entry first = cache.getOrLoad(1L, key -> new Entry(loads.incrementAndGet(), 0));
+        Entry second = cache.getOrLoad(1L, key -> new Entry(loads.incrementAndGet(), 0));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should serve but not keep a value loaded while a write to its key committed")
+    void getOrLoad_WriteDuringLoad() {
+        VersionedCache<Long, Entry> cache = new VersionedCache<>("entry");
+
+        Entry loaded = cache.getOrLoad(1L, key -> {
+            cache.changed(key);
+            return new Entry(10, 0);
+        });
+
+        assertThat(loaded).isNotNull();
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not keep a value loaded while the cache was cleared")
+    void getOrLoad_ClearDuringLoad() {
+        VersionedCache<Long, Entry> cache = new VersionedCache<>("entry");
+
+        cache.getOrLoad(1L, key -> {
+            cache.clear();
+            return new Entry(10, 0);
+        });
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used values over the budget but keep the one just loaded")
+    void getOrLoad_EvictsOverBudget() {
+        VersionedCache<Long, Entry> cache = new VersionedCache<>("entry", 250, Entry::size, Entry::lastAccess);
+
+        cache.getOrLoad(1L, key -> new Entry(100, 2));
+        cache.getOrLoad(2L, key -> new Entry(100, 1));
+        cache.getOrLoad(3L, key -> new Entry(300, 3));
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.get(3L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should return the loaded value to update on a write, and null once removed")
+    void changed_ReturnsLoadedValue() {
+        VersionedCache<Long, Entry> cache = new VersionedCache<>("entry");
+        Entry entry = cache.getOrLoad(1L, key -> new Entry(10, 0));
+
+        assertThat(cache.changed(1L)).isSameAs(entry);
+        assertThat(cache.remove(1L)).isTrue();
+        assertThat(cache.changed(1L)).isNull();
+        assertThat(cache.remove(1L)).isFalse();
+    }
+
+    private record Entry(long size, long lastAccess) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.taskmanager.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WebhookClientTest {
+
+    private HttpServer server;
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+    private final AtomicReference<String> receivedSignature = new AtomicReference<>();
+    private final AtomicReference<String> receivedHost = new AtomicReference<>();
+
+    private WebhookClient webhookClient;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hook", exchange -> {
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            receivedSignature.set(exchange.getRequestHeaders().getFirst(WebhookClient.SIGNATURE_HEADER));
+            receivedHost.set(exchange.getRequestHeaders().getFirst("Host"));
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/hook";
+        // The test endpoint listens on loopback
+        webhookClient = new WebhookClient(1000, 2000, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should post signed payload to webhook endpoint")
+    void send_Success() throws Exception {
+        String payload = "{\"type\":\"task.created\"}";
+
+        webhookClient.send(url, "secret", "task.created", 1L, payload);
+
+        assertThat(receivedBody.get()).isEqualTo(payload);
+        assertThat(receivedSignature.get()).isEqualTo("sha256=" + WebhookClient.sign("secret", payload));
+    }
+
+    @Test
+    @DisplayName("Should connect to the checked addresses and send the URL's host")
+    void post_PinnedAddress() throws Exception {
+        int port = server.getAddress().getPort();
+        // .invalid never resolves, so the request can only have gone to the pinned address
+        WebhookClient.Destination destination = new WebhookClient.Destination(
+                URI.create("http://hooks.example.invalid:" + port + "/hook?team=1"), "hooks.example.invalid", port, false,
+                List.of(InetAddress.getLoopbackAddress()));
+
+        int status = webhookClient.post(destination, Map.of("Content-Type", "application/json"),
+                "{}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(status).isEqualTo(200);
+        assertThat(receivedHost.get()).isEqualTo("hooks.example.invalid:" + port);
+        assertThat(receivedBody.get()).isEqualTo("{}");
+    }
+
+    @Test
+    @DisplayName("Should fail when endpoint returns non-2xx status")
+    void send_ServerError() {
+        status.set(500);
+
+        assertThatThrownBy(() -> webhookClient.send(url, "secret", "task.created", 1L, "{}"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("500");
+    }
+
+    @Test
+    @DisplayName("Should refuse to send to a non-public address")
+    void send_PrivateAddress() {
+        WebhookClient guarded = new WebhookClient(1000, 2000, false);
+
+        assertThatThrownBy(() -> guarded.send(url, "secret", "task.created", 1L, "{}"))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("non-public");
+        assertThat(receivedBody.get()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject loopback, link-local, private, wildcard and multicast destinations")
+    void requirePublicDestination_RejectsInternal() {
+        WebhookClient guarded = new WebhookClient(1000, 2000, false);
+
+        for (String internal : List.of("http://169.254.169.254/latest/meta-data", "http://localhost:8080/actuator",
+                "http://127.0.0.1/", "http://10.0.0.5/hook", "http://172.16.3.4/", "http://192.168.1.1/",
+                "http://0.0.0.0/", "http://224.0.0.1/", "http://[::1]/", "http://[fd00::1]/", "http://[fe80::1]/",
+                "http://[::ffff:127.0.0.1]/")) {
+            assertThatThrownBy(() -> guarded.requirePublicDestination(internal))
+                    .as(internal)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThatThrownBy(() -> guarded.requirePublicDestination("file:///etc/passwd"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should accept public destinations")
+    void requirePublicDestination_AcceptsPublic() throws Exception {
+        WebhookClient guarded = new WebhookClient(1000, 2000, false);
+
+        guarded.requirePublicDestination("https://93.184.216.34/hook");
+        guarded.requirePublicDestination("http://[2606:4700:4700::1111]:8443/hook");
+    }
+
+    @Test
+    @DisplayName("Should open circuit after consecutive failures and allow one trial after cool-down")
+    void circuitBreaker_OpensAndHalfOpens() {
+        EndpointCircuitBreaker breaker = new EndpointCircuitBreaker(3, 1000);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.tryAcquire(0)).isTrue();
+            breaker.recordFailure(0);
+        }
+
+        assertThat(breaker.tryAcquire(500)).isFalse();
+        assertThat(breaker.tryAcquire(1500)).isTrue();
+        assertThat(breaker.tryAcquire(1500)).isFalse();
+
+        breaker.recordSuccess();
+        assertThat(breaker.tryAcquire(1600)).isTrue();
+    }
+}
@@ -0,0 +1,65 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.request.WebhookRequest;
+import com.taskmanager.dto.response.WebhookResponse;
+import com.taskmanager.entity.Role;
+import com.taskmanager.entity.User;
+import com.taskmanager.entity.Webhook;
+import com.taskmanager.exception.BadRequestException;
+import com.taskmanager.repository.WebhookDeliveryRepository;
+import com.taskmanager.repository.WebhookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WebhookServiceTest {
+
+    private WebhookRepository webhookRepository;
+    private WebhookService webhookService;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        webhookRepository = mock(WebhookRepository.class);
+        AtomicLong ids = new AtomicLong();
+        when(webhookRepository.save(any(Webhook.class))).thenAnswer(invocation -> {
+            Webhook webhook = invocation.getArgument(0);
+            webhook.setId(ids.incrementAndGet());
+            return webhook;
+        });
+        webhookService = new WebhookService(webhookRepository, mock(WebhookDeliveryRepository.class),
+                new WebhookClient(1000, 2000, false));
+        owner = User.builder().id(1L).email("test@test.com").role(Role.USER).build();
+    }
+
+    @Test
+    @DisplayName("Should reject webhooks targeting internal addresses")
+    void createWebhook_InternalAddress() {
+        for (String url : new String[] {"http://169.254.169.254/latest", "http://localhost:8080/actuator/env",
+                "http://10.1.2.3/hook"}) {
+            assertThatThrownBy(() -> webhookService.createWebhook(new WebhookRequest(url), owner))
+                    .as(url)
+                    .isInstanceOf(BadRequestException.class);
+        }
+        verify(webhookRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should register webhooks targeting public addresses")
+    void createWebhook_PublicAddress() {
+        WebhookResponse response = webhookService.createWebhook(new WebhookRequest("https://93.184.216.34/hook"), owner);
+
+        assertThat(response.getUrl()).isEqualTo("https://93.184.216.34/hook");
+        assertThat(response.getSecret()).isNotBlank();
+    }
+}
@@ -0,0 +1,144 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.response.TaskResponse;
+import com.taskmanager.dto.response.WorkspaceSummaryResponse;
+import com.taskmanager.entity.Role;
+import com.taskmanager.entity.TaskPriority;
+import com.taskmanager.entity.User;
+import com.taskmanager.event.ProjectEvent;
+import com.taskmanager.event.TaskEvent;
+import com.taskmanager.event.TaskEventType;
+import com.taskmanager.repository.ProjectRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskSummaryCounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WorkspaceSummaryServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @InjectMocks
+    private WorkspaceSummaryService workspaceSummaryService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(1L).email("test@test.com").role(Role.USER).build();
+
+        ReflectionTestUtils.setField(workspaceSummaryService, "ttl", 300_000L);
+        ReflectionTestUtils.setField(workspaceSummaryService, "maxEntries", 100);
+    }
+
+    @Test
+    @DisplayName("Should add archived tasks to the totals and count per priority")
+    void getSummary_Aggregates() {
+        TaskSummaryCounts high = counts(TaskPriority.HIGH, 4, 1, 2);
+        TaskSummaryCounts low = counts(TaskPriority.LOW, 2, 2, 0);
+        when(taskRepository.summarizeByUser(eq(1L), any(), any())).thenReturn(List.of(high, low));
+        when(projectRepository.sumArchivedTaskCountByOwnerId(1L)).thenReturn(5L);
+
+        WorkspaceSummaryResponse summary = workspaceSummaryService.getSummary(user);
+
+        assertThat(summary.getTotalTasks()).isEqualTo(11);
+        assertThat(summary.getOpenTasks()).isEqualTo(3);
+        assertThat(summary.getCompletedTasks()).isEqualTo(8);
+        assertThat(summary.getArchivedTasks()).isEqualTo(5);
+        assertThat(summary.getOverdueTasks()).isEqualTo(2);
+        assertThat(summary.getByPriority().get(TaskPriority.HIGH).getOpen()).isEqualTo(3);
+        assertThat(summary.getByPriority().get(TaskPriority.URGENT).getTotal()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated requests from the cache")
+    void getSummary_Cached() {
+        when(taskRepository.summarizeByUser(eq(1L), any(), any())).thenReturn(List.of());
+
+        WorkspaceSummaryResponse first = workspaceSummaryService.getSummary(user);
+        WorkspaceSummaryResponse second = workspaceSummaryService.getSummary(user);
+
+        assertThat(second).isSameAs(first);
+        verify(taskRepository, times(1)).summarizeByUser(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should recompute after a committed task or project write of the user")
+    void getSummary_InvalidatedByEvents() {
+        when(taskRepository.summarizeByUser(eq(1L), any(), any())).thenReturn(List.of());
+
+        workspaceSummaryService.getSummary(user);
+        workspaceSummaryService.onTaskEvent(taskEvent(1L));
+        workspaceSummaryService.getSummary(user);
+        workspaceSummaryService.onProjectEvent(ProjectEvent.deleted(10L, 1L));
+        workspaceSummaryService.getSummary(user);
+
+        verify(taskRepository, times(3)).summarizeByUser(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep the cache when another user writes")
+    void getSummary_OtherUsersEvents() {
+        when(taskRepository.summarizeByUser(eq(1L), any(), any())).thenReturn(List.of());
+
+        workspaceSummaryService.getSummary(user);
+        workspaceSummaryService.onTaskEvent(taskEvent(2L));
+        workspaceSummaryService.onProjectEvent(ProjectEvent.deleted(20L, 2L));
+        workspaceSummaryService.getSummary(user);
+
+        verify(taskRepository, times(1)).summarizeByUser(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not cache a summary loaded while a write committed")
+    void getSummary_WriteDuringLoad() {
+        when(taskRepository.summarizeByUser(eq(1L), any(), any())).thenAnswer(invocation -> {
+            // The write commits after the counts were read
+            workspaceSummaryService.onTaskEvent(taskEvent(1L));
+            return List.of();
+        }).thenReturn(List.of());
+
+        workspaceSummaryService.getSummary(user);
+        workspaceSummaryService.getSummary(user);
+        workspaceSummaryService.getSummary(user);
+
+        // The first load raced the write; the second is cached and serves the third request
+        verify(taskRepository, times(2)).summarizeByUser(anyLong(), any(), any());
+    }
+
+    private static TaskEvent taskEvent(Long ownerId) {
+        TaskResponse task = TaskResponse.builder().id(100L).projectId(10L).title("Task").build();
+        return TaskEvent.of(TaskEventType.UPDATED, task, ownerId);
+    }
+
+    private static TaskSummaryCounts counts(TaskPriority priority, long total, long completed, long overdue) {
+        TaskSummaryCounts counts = mock(TaskSummaryCounts.class);
+        when(counts.getPriority()).thenReturn(priority);
+        when(counts.getTotal()).thenReturn(total);
+        when(counts.getCompleted()).thenReturn(completed);
+        when(counts.getOverdue()).thenReturn(overdue);
+        return counts;
+    }
+}
@@ -0,0 +1,41 @@
+package com.taskmanager.workload;
+
+import com.taskmanager.exception.WorkloadRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest {
+
+    @Test
+    @DisplayName("Should reject callers once permits are taken and the queue wait expires")
+    void acquire_RejectsWhenSaturated() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Bulkhead bulkhead = new Bulkhead(WorkloadClass.HEAVY, 2, 1, 20, meterRegistry);
+
+        bulkhead.acquire();
+        bulkhead.acquire();
+        assertThat(bulkhead.getActive()).isEqualTo(2);
+
+        assertThatThrownBy(bulkhead::acquire).isInstanceOf(WorkloadRejectedException.class);
+        assertThat(meterRegistry.counter("workload.rejected", "class", "heavy").count()).isEqualTo(1.0);
+
+        bulkhead.release();
+        bulkhead.acquire();
+        assertThat(bulkhead.getActive()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject immediately when the wait queue is full")
+    void acquire_RejectsWhenQueueFull() {
+        Bulkhead bulkhead = new Bulkhead(WorkloadClass.INTERACTIVE, 1, 0, 5_000, new SimpleMeterRegistry());
+        bulkhead.acquire();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(bulkhead::acquire).isInstanceOf(WorkloadRejectedException.class);
+        assertThat(System.nanoTime() - start).isLessThan(1_000_000_000L);
+    }
+}